@@ -0,0 +1,107 @@
+package com.example.movedistance.IMU;
+
+import java.util.Arrays;
+
+/**
+ * FFT 기반(Wiener–Khinchin) 자기상관 엔진.
+ * <p>
+ * 길이 n 의 행을 2n-1 이상인 2의 거듭제곱 길이로 0-패딩한 뒤
+ * IFFT(|FFT(x)|²) 로 모든 lag 의 합을 한 번에 구하고, lag 별 표본 수(n - lag)로 나눈다.
+ * 기존 이중 루프(O(n²))와 같은 값을 O(n log n) 에 계산하며, 한 번의 계산으로 최대값과 그 위치를 함께 제공한다.
+ * lag 합의 FFT 반올림 오차는 Σx² 의 {@link #TIE_TOLERANCE} 배 이내이며, 이 범위 안의 동률은 가장 작은 lag 를 최대 위치로 본다
+ * (상수 행처럼 정확히 같은 값이 여러 lag 에 있으면 이중 루프의 첫 번째 최대 위치와 같은 0).
+ * <p>
+ * 작업 버퍼는 인스턴스 안에서 재사용되므로 인스턴스는 스레드 간에 공유하면 안 된다.
+ */
+public final class IMUAutocorrelation {
+    /** lag 합(나누기 전)의 허용 오차, Σx² 대비 */
+    public static final double TIE_TOLERANCE = 1e-12;
+
+    private double[] re = new double[0];
+    private double[] im = new double[0];
+    private double[] lags = new double[0];
+    private int length;
+    private double max;
+    private int argMax;
+
+    /**
+     * data[offset, offset + length) 의 자기상관 계산
+     * <pre>
+     *   r[lag] = Σ x[i] * x[i + lag] / (n - lag),  lag = 0 .. n-1
+     * </pre>
+     */
+    public void compute(double[] data, int offset, int length) {
+        this.length = length;
+        if (length == 0) {
+            max = 0;
+            argMax = 0;
+            return;
+        }
+
+        IMUFFT fft = IMUFFT.forSize(IMUFFT.nextPowerOfTwo(2 * length - 1));
+        int n = fft.size();
+        if (re.length < n) {
+            re = new double[n];
+            im = new double[n];
+        }
+        if (lags.length < length) {
+            lags = new double[length];
+        }
+
+        System.arraycopy(data, offset, re, 0, length);
+        Arrays.fill(re, length, n, 0.0);
+        Arrays.fill(im, 0, n, 0.0);
+
+        fft.forward(re, im);
+        for (int k = 0; k < n; k++) {
+            re[k] = re[k] * re[k] + im[k] * im[k];
+            im[k] = 0.0;
+        }
+        fft.inverse(re, im);
+
+        max = Double.NEGATIVE_INFINITY;
+        int top = 0;
+        for (int lag = 0; lag < length; lag++) {
+            double value = re[lag] / (length - lag);
+            lags[lag] = value;
+            if (value > max || (Double.isNaN(value) && !Double.isNaN(max))) {
+                max = value;
+                top = lag;
+            }
+        }
+
+        // 반올림 오차 이내의 동률이면 가장 작은 lag
+        argMax = top;
+        if (Double.isNaN(max)) {
+            return;
+        }
+        double tolerance = TIE_TOLERANCE * re[0];
+        double topError = tolerance / (length - top);
+        for (int lag = 0; lag < top; lag++) {
+            if (lags[lag] >= max - topError - tolerance / (length - lag)) {
+                argMax = lag;
+                break;
+            }
+        }
+    }
+
+    /** 마지막으로 계산한 자기상관 벡터 (앞의 {@link #length()} 개만 유효) */
+    public double[] lags() {
+        return lags;
+    }
+
+    /** 마지막으로 계산한 행의 길이 */
+    public int length() {
+        return length;
+    }
+
+    /** 자기상관 최대값 */
+    public double max() {
+        return max;
+    }
+
+    /** 자기상관 최대값의 lag 위치 (반올림 오차 이내 동률이면 가장 작은 lag) */
+    public int argMax() {
+        return argMax;
+    }
+}
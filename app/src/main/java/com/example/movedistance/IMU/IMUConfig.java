@@ -1,11 +1,18 @@
 package com.example.movedistance.IMU;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class IMUConfig {
+    // ✅ 특징 추출 순서 (preImu 실행 순서)
+    private static final List<String> ENABLED_SENSORS = Collections.unmodifiableList(Arrays.asList(
+            "gyro", "accel", "linear_accel", "accel_h", "accel_v", "jerk_h", "jerk_v", "mag", "gravity", "pressure"));
+
     private static final Map<String, Integer> SENSOR_CHANNELS = new HashMap<>();
     private static final Map<String, Boolean> SENSOR_ENABLED = new HashMap<>();
     private static final Map<String, String> SENSOR_PROCESS_TYPE = new HashMap<>();
@@ -14,6 +21,8 @@ public class IMUConfig {
     private static final Map<String, Boolean> SENSOR_SPECTRAL_FEATURES = new HashMap<>();
     private static final Map<String, Boolean> SENSOR_CALCULATE_JERK = new HashMap<>();
     private static final Map<String, String> SENSOR_USING_DATA = new HashMap<>(); 
+    private static final Map<IMUFeatureProfile, IMUExecutionPlan> PLANS = new EnumMap<>(IMUFeatureProfile.class);
+    private static final Map<IMUFeatureProfile, IMUFeatureSchema> SCHEMAS = new EnumMap<>(IMUFeatureProfile.class);
 
     static {
         // ✅ 센서 채널 개수 설정
@@ -26,9 +35,7 @@ public class IMUConfig {
         SENSOR_CHANNELS.put("pressure", 1);
 
         // ✅ IMU 센서 활성화 설정
-        List<String> enabledSensors = Arrays.asList("gyro", "accel", "linear_accel", "accel_h", "accel_v", "jerk_h",
-                "jerk_v", "mag", "gravity", "pressure");
-        for (String sensor : enabledSensors) {
+        for (String sensor : ENABLED_SENSORS) {
             SENSOR_ENABLED.put(sensor, true);
         }
 
@@ -85,6 +92,53 @@ public class IMUConfig {
             "pressure", 
             false,
                 null);
+
+        // ✅ 설정을 프로파일별 실행 계획으로 한 번만 컴파일
+        for (IMUFeatureProfile profile : IMUFeatureProfile.values()) {
+            IMUExecutionPlan plan = compilePlan(profile);
+            PLANS.put(profile, plan);
+            SCHEMAS.put(profile, IMUFeatureSchema.DEFAULT.retain(plan.featureKeys()));
+        }
+    }
+
+    private static IMUExecutionPlan compilePlan(IMUFeatureProfile profile) {
+        List<IMUExecutionPlan.SensorConfig> sensors = new ArrayList<>();
+        for (String sensor : ENABLED_SENSORS) {
+            if (!SENSOR_ENABLED.getOrDefault(sensor, false)) {
+                continue;
+            }
+            String source = getUsingSensorData(sensor);
+            sensors.add(new IMUExecutionPlan.SensorConfig(
+                    sensor,
+                    source != null ? source : sensor,
+                    getSensorChannels(sensor),
+                    IMUProcessType.fromConfigName(getProcessType(sensor)),
+                    isProcessEachAxis(sensor) && profile.processEachAxis(),
+                    isStatFeaturesEnabled(sensor),
+                    isSpectralFeaturesEnabled(sensor) && profile.spectralFeatures(),
+                    isCalculateJerkEnabled(sensor)));
+        }
+        return IMUExecutionPlan.compile(SENSOR_CHANNELS, sensors);
+    }
+
+    /** FULL 프로파일의 컴파일된 실행 계획 (불변, 클래스 로드 시 한 번 생성) */
+    public static IMUExecutionPlan getExecutionPlan() {
+        return PLANS.get(IMUFeatureProfile.FULL);
+    }
+
+    /** 프로파일의 컴파일된 실행 계획 */
+    public static IMUExecutionPlan getExecutionPlan(IMUFeatureProfile profile) {
+        return PLANS.get(profile);
+    }
+
+    /** 프로파일의 모델 입력 특징 순서 ({@link IMUFeatureSchema#DEFAULT} 중 계획이 기록하는 특징) */
+    public static IMUFeatureSchema getFeatureSchema(IMUFeatureProfile profile) {
+        return SCHEMAS.get(profile);
+    }
+
+    /** 특징을 추출할 센서 이름 (실행 순서) */
+    public static List<String> getEnabledSensors() {
+        return ENABLED_SENSORS;
     }
 
     private static void setSensorConfig(String sensor, String usingsensordata, boolean processEachAxis, String processType) {
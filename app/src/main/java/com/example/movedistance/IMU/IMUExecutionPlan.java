@@ -0,0 +1,287 @@
+package com.example.movedistance.IMU;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * IMUConfig 를 한 번 컴파일한 불변 실행 계획.
+ * <p>
+ * preImu 는 이 계획을 의존 순서대로 실행한다.
+ * <ol>
+ *   <li>{@link #sources()}: CSV 프레임에서 잘라낼 원본 센서 버퍼 (사용하는 센서가 있는 것만)</li>
+ *   <li>{@link #frames()}: horizontal / vertical 센서가 공유하는 중력 좌표계 분해 (입력이 같으면 한 번만)</li>
+ *   <li>{@link #sensors()}: 특징을 추출하는 센서 (설정 순서)</li>
+ * </ol>
+ * 센서와 프레임은 원본 버퍼를 이름 대신 인덱스로 참조하므로 실행 중에는 문자열 조회가 없다.
+ */
+public final class IMUExecutionPlan {
+    private static final String ROTATION_SOURCE = "rot";
+    private static final String GRAVITY_SOURCE = "gravity";
+
+    private final List<Source> sources;
+    private final List<Frame> frames;
+    private final List<Sensor> sensors;
+    private final int rotationSource;
+    private final int gravitySource;
+
+    private IMUExecutionPlan(List<Source> sources, List<Frame> frames, List<Sensor> sensors,
+                             int rotationSource, int gravitySource) {
+        this.sources = Collections.unmodifiableList(sources);
+        this.frames = Collections.unmodifiableList(frames);
+        this.sensors = Collections.unmodifiableList(sensors);
+        this.rotationSource = rotationSource;
+        this.gravitySource = gravitySource;
+    }
+
+    /** 원본 센서 버퍼 (이름순) */
+    public List<Source> sources() {
+        return sources;
+    }
+
+    /** 중력 좌표계 분해 목록 */
+    public List<Frame> frames() {
+        return frames;
+    }
+
+    /** 특징 추출 센서 (설정 순서) */
+    public List<Sensor> sensors() {
+        return sensors;
+    }
+
+    /** 회전 벡터 버퍼의 sources() 인덱스 (사용하는 센서가 없으면 -1) */
+    public int rotationSource() {
+        return rotationSource;
+    }
+
+    /** 중력 버퍼의 sources() 인덱스 (사용하는 센서가 없으면 -1) */
+    public int gravitySource() {
+        return gravitySource;
+    }
+
+    /**
+     * 이 계획이 기록하는 특징 이름 (센서 순서)
+     */
+    public Set<String> featureKeys() {
+        Set<String> keys = new LinkedHashSet<>();
+        for (Sensor sensor : sensors) {
+            String[] axes = sensor.processEachAxis && sensor.channels > 1
+                    ? new String[]{"M", "X", "Y", "Z"} : new String[]{"M"};
+            for (String axis : axes) {
+                if (sensor.statFeatures) {
+                    for (String suffix : IMUFeatureExtractor.STAT_SUFFIXES) {
+                        keys.add(sensor.name + axis + suffix);
+                    }
+                }
+                if (sensor.spectralFeatures) {
+                    for (String suffix : IMUFeatureExtractor.SPECTRAL_SUFFIXES) {
+                        keys.add(sensor.name + axis + suffix);
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 실행 계획 컴파일
+     * @param rawChannels 원본 센서 이름 → CSV 채널 수
+     * @param sensors 특징을 추출할 센서 설정 (실행 순서)
+     * @throws IllegalStateException 센서가 없는 원본 데이터를 참조하는 경우
+     */
+    static IMUExecutionPlan compile(Map<String, Integer> rawChannels, List<SensorConfig> sensors) {
+        // ✅ 사용하는 원본 센서만 표시 (특징을 만들지 않는 센서의 입력은 잘라내지 않음)
+        Map<String, Integer> used = new TreeMap<>();
+        for (SensorConfig config : sensors) {
+            if (!config.producesFeatures()) {
+                continue;
+            }
+            require(rawChannels, config.source, config.name);
+            used.put(config.source, rawChannels.get(config.source));
+            if (config.processType.usesRotation()) {
+                require(rawChannels, ROTATION_SOURCE, config.name);
+                used.put(ROTATION_SOURCE, rawChannels.get(ROTATION_SOURCE));
+            }
+            if (config.processType.usesGravityFrame()) {
+                require(rawChannels, GRAVITY_SOURCE, config.name);
+                used.put(GRAVITY_SOURCE, rawChannels.get(GRAVITY_SOURCE));
+            }
+        }
+
+        List<Source> sourceList = new ArrayList<>();
+        List<String> sourceNames = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : used.entrySet()) {
+            sourceNames.add(entry.getKey());
+            sourceList.add(new Source(entry.getKey(), entry.getValue()));
+        }
+
+        // ✅ 같은 (입력, 채널 수) 의 중력 좌표계 분해는 하나로 공유
+        List<Frame> frameList = new ArrayList<>();
+        List<Sensor> sensorList = new ArrayList<>();
+        for (SensorConfig config : sensors) {
+            if (!config.producesFeatures()) {
+                continue;
+            }
+            int source = sourceNames.indexOf(config.source);
+            int frame = -1;
+            if (config.processType.usesGravityFrame()) {
+                for (int f = 0; f < frameList.size(); f++) {
+                    Frame candidate = frameList.get(f);
+                    if (candidate.source == source && candidate.channels == config.channels) {
+                        frame = f;
+                        break;
+                    }
+                }
+                if (frame < 0) {
+                    frame = frameList.size();
+                    frameList.add(new Frame(source, config.channels));
+                }
+            }
+            sensorList.add(new Sensor(config, source, frame));
+        }
+
+        return new IMUExecutionPlan(sourceList, frameList, sensorList,
+                sourceNames.indexOf(ROTATION_SOURCE), sourceNames.indexOf(GRAVITY_SOURCE));
+    }
+
+    private static void require(Map<String, Integer> rawChannels, String source, String sensor) {
+        if (!rawChannels.containsKey(source)) {
+            throw new IllegalStateException("⚠ " + sensor + " 센서가 알 수 없는 데이터를 사용합니다: " + source);
+        }
+    }
+
+    /** CSV 프레임에서 잘라낼 원본 센서 ("name.x", "name.y", ... 열) */
+    public static final class Source {
+        private final String name;
+        private final int channels;
+
+        Source(String name, int channels) {
+            this.name = name;
+            this.channels = channels;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public int channels() {
+            return channels;
+        }
+    }
+
+    /** 중력 좌표계 분해 입력 (원본 버퍼 인덱스, 사용할 채널 수) */
+    public static final class Frame {
+        private final int source;
+        private final int channels;
+
+        Frame(int source, int channels) {
+            this.source = source;
+            this.channels = channels;
+        }
+
+        public int source() {
+            return source;
+        }
+
+        public int channels() {
+            return channels;
+        }
+    }
+
+    /** IMUConfig 의 센서 하나 설정 (컴파일 입력) */
+    static final class SensorConfig {
+        final String name;
+        final String source;
+        final int channels;
+        final IMUProcessType processType;
+        final boolean processEachAxis;
+        final boolean statFeatures;
+        final boolean spectralFeatures;
+        final boolean calculateJerk;
+
+        SensorConfig(String name, String source, int channels, IMUProcessType processType, boolean processEachAxis,
+                     boolean statFeatures, boolean spectralFeatures, boolean calculateJerk) {
+            this.name = name;
+            this.source = source;
+            this.channels = channels;
+            this.processType = processType;
+            this.processEachAxis = processEachAxis;
+            this.statFeatures = statFeatures;
+            this.spectralFeatures = spectralFeatures;
+            this.calculateJerk = calculateJerk;
+        }
+
+        /** 특징 블록에 들어갈 값이 있는지 (Jerk 결과는 특징 블록에 들어가지 않음) */
+        boolean producesFeatures() {
+            return statFeatures || spectralFeatures;
+        }
+    }
+
+    /** 특징을 추출하는 센서 (채널 수는 IMUConfig 설정값, 파생 센서는 0 이면 x 축만 사용) */
+    public static final class Sensor {
+        private final String name;
+        private final int source;
+        private final int channels;
+        private final IMUProcessType processType;
+        private final boolean processEachAxis;
+        private final boolean statFeatures;
+        private final boolean spectralFeatures;
+        private final boolean calculateJerk;
+        private final int frame;
+
+        Sensor(SensorConfig config, int source, int frame) {
+            this.name = config.name;
+            this.source = source;
+            this.channels = config.channels;
+            this.processType = config.processType;
+            this.processEachAxis = config.processEachAxis;
+            this.statFeatures = config.statFeatures;
+            this.spectralFeatures = config.spectralFeatures;
+            this.calculateJerk = config.calculateJerk;
+            this.frame = frame;
+        }
+
+        /** 센서 이름 (특징 키 접두사) */
+        public String name() {
+            return name;
+        }
+
+        /** 입력 원본 버퍼의 sources() 인덱스 */
+        public int source() {
+            return source;
+        }
+
+        public int channels() {
+            return channels;
+        }
+
+        public IMUProcessType processType() {
+            return processType;
+        }
+
+        public boolean processEachAxis() {
+            return processEachAxis;
+        }
+
+        public boolean statFeatures() {
+            return statFeatures;
+        }
+
+        public boolean spectralFeatures() {
+            return spectralFeatures;
+        }
+
+        public boolean calculateJerk() {
+            return calculateJerk;
+        }
+
+        /** 사용하는 frames() 인덱스 (horizontal / vertical 이 아니면 -1) */
+        public int frame() {
+            return frame;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.movedistance.IMU;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * IMU 특징 추출에 쓰는 스레드 풀 관리.
+ * <p>
+ * 행 단위 병렬 처리용 {@link ForkJoinPool} 은 병렬도({@link #setParallelism})로 크기가 제한되며,
+ * 센서 단위 병렬 처리용 {@link ExecutorService} 도 같은 병렬도를 따른다.
+ * 병렬도가 바뀌면 다음 요청 시 새 풀을 만들고 이전 풀은 종료한다.
+ */
+public final class IMUExecutors {
+    private static final int DEFAULT_PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors());
+    /** 이 행 수 미만이면 병렬화하지 않음 */
+    private static final int DEFAULT_ROW_THRESHOLD = 16;
+
+    private static volatile int parallelism = DEFAULT_PARALLELISM;
+    private static volatile int rowThreshold = DEFAULT_ROW_THRESHOLD;
+    private static ForkJoinPool rowPool;
+    private static ExecutorService sensorExecutor;
+
+    private IMUExecutors() {
+    }
+
+    /**
+     * 병렬도 설정 (1 이면 항상 순차 처리)
+     */
+    public static synchronized void setParallelism(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("⚠ 병렬도는 1 이상이어야 합니다: " + threads);
+        }
+        if (threads == parallelism) {
+            return;
+        }
+        parallelism = threads;
+        if (rowPool != null) {
+            rowPool.shutdown();
+            rowPool = null;
+        }
+        if (sensorExecutor != null) {
+            sensorExecutor.shutdown();
+            sensorExecutor = null;
+        }
+    }
+
+    public static int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * 행 수가 이 값보다 적으면 순차 처리
+     */
+    public static void setRowThreshold(int rows) {
+        if (rows < 1) {
+            throw new IllegalArgumentException("⚠ 임계값은 1 이상이어야 합니다: " + rows);
+        }
+        rowThreshold = rows;
+    }
+
+    public static int getRowThreshold() {
+        return rowThreshold;
+    }
+
+    /** rows 개 행을 병렬로 처리할지 여부 */
+    static boolean shouldParallelize(int rows) {
+        return parallelism > 1 && rows >= rowThreshold;
+    }
+
+    /** 행 단위 병렬 처리용 풀 */
+    static synchronized ForkJoinPool rowPool() {
+        if (rowPool == null) {
+            rowPool = new ForkJoinPool(parallelism);
+        }
+        return rowPool;
+    }
+
+    /** 센서 단위 병렬 처리 여부 */
+    static boolean shouldParallelizeSensors() {
+        return parallelism > 1;
+    }
+
+    /** 센서 단위 병렬 처리용 스레드 풀 (데몬 스레드) */
+    static synchronized ExecutorService sensorExecutor() {
+        if (sensorExecutor == null) {
+            AtomicInteger counter = new AtomicInteger();
+            sensorExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "imu-sensor-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return sensorExecutor;
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.movedistance.IMU;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 2의 거듭제곱 길이용 radix-2 복소 FFT.
+ * <p>
+ * 비트 반전 순서와 회전인자(twiddle) 테이블을 길이별로 한 번만 만들어 캐시하고,
+ * 변환은 호출자가 넘긴 실수부/허수부 배열 위에서 제자리(in-place)로 수행한다.
+ * 부호 규약은 commons-math {@code DftNormalization.STANDARD} 와 같다 (순방향 e^{-i}, 역방향은 1/N 정규화).
+ * 실수 입력은 길이 N/2 복소 FFT 하나로 변환하는 {@link #realPowerSpectrum} 을 제공한다.
+ * 테이블은 불변이므로 인스턴스는 여러 스레드에서 공유해도 된다.
+ */
+public final class IMUFFT {
+    private static final ConcurrentMap<Integer, IMUFFT> CACHE = new ConcurrentHashMap<>();
+
+    private final int size;
+    private final int[] bitReverse;
+    private final double[] cos;
+    private final double[] sin;
+    /** 실수 FFT 에 쓰는 길이 N/2 테이블 (최초 사용 시 조회) */
+    private volatile IMUFFT half;
+
+    private IMUFFT(int size) {
+        this.size = size;
+        this.bitReverse = new int[size];
+        this.cos = new double[size / 2];
+        this.sin = new double[size / 2];
+
+        int bits = Integer.numberOfTrailingZeros(size);
+        for (int i = 0; i < size; i++) {
+            bitReverse[i] = bits == 0 ? 0 : Integer.reverse(i) >>> (32 - bits);
+        }
+        for (int k = 0; k < size / 2; k++) {
+            double angle = 2 * Math.PI * k / size;
+            cos[k] = Math.cos(angle);
+            sin[k] = Math.sin(angle);
+        }
+    }
+
+    /**
+     * 길이 n 의 FFT 테이블 (캐시됨)
+     * @param n 2의 거듭제곱
+     */
+    public static IMUFFT forSize(int n) {
+        if (n <= 0 || Integer.bitCount(n) != 1) {
+            throw new IllegalArgumentException("⚠ FFT 길이는 2의 거듭제곱이어야 합니다: " + n);
+        }
+        return CACHE.computeIfAbsent(n, IMUFFT::new);
+    }
+
+    /** num 이상인 가장 작은 2의 거듭제곱 */
+    public static int nextPowerOfTwo(int num) {
+        int power = 1;
+        while (power < num) {
+            power *= 2;
+        }
+        return power;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** 순방향 FFT (제자리) */
+    public void forward(double[] re, double[] im) {
+        transform(re, im, false);
+    }
+
+    /** 역방향 FFT (제자리, 1/N 정규화 포함) */
+    public void inverse(double[] re, double[] im) {
+        transform(re, im, true);
+        double scale = 1.0 / size;
+        for (int i = 0; i < size; i++) {
+            re[i] *= scale;
+            im[i] *= scale;
+        }
+    }
+
+    /**
+     * 실수 입력 x[0, N) 의 파워 스펙트럼 |X_k|² 을 out[0, bins) 에 기록 (bins &lt;= N/2 + 1)
+     * <p>
+     * 짝수/홀수 샘플을 실수부/허수부로 묶어 길이 N/2 복소 FFT 를 한 번 수행한 뒤 분리한다.
+     * <pre>
+     *   z[m] = x[2m] + i·x[2m+1],  Z = FFT_{N/2}(z)
+     *   E_k = (Z_k + conj(Z_{N/2-k})) / 2,  O_k = (Z_k - conj(Z_{N/2-k})) / 2i
+     *   X_k = E_k + e^{-2πik/N}·O_k
+     * </pre>
+     * @param x 실수 입력 (길이 N)
+     * @param re 작업 버퍼 (길이 N/2 이상)
+     * @param im 작업 버퍼 (길이 N/2 이상)
+     * @param out 파워 스펙트럼 출력
+     * @param bins 기록할 주파수 bin 수
+     */
+    public void realPowerSpectrum(double[] x, double[] re, double[] im, double[] out, int bins) {
+        if (size == 1) {
+            out[0] = x[0] * x[0];
+            return;
+        }
+        int m = size / 2;
+        for (int k = 0; k < m; k++) {
+            re[k] = x[2 * k];
+            im[k] = x[2 * k + 1];
+        }
+        halfSize().forward(re, im);
+
+        for (int k = 0; k < bins; k++) {
+            int a = k % m;
+            int b = (m - k) % m;
+            double zr = re[a];
+            double zi = im[a];
+            double cr = re[b];
+            double ci = -im[b];
+
+            double er = 0.5 * (zr + cr);
+            double ei = 0.5 * (zi + ci);
+            // (Z - conj(Z')) / 2i
+            double or = 0.5 * (zi - ci);
+            double oi = -0.5 * (zr - cr);
+
+            double wr;
+            double wi;
+            if (k < m) {
+                wr = cos[k];
+                wi = -sin[k];
+            } else {
+                // k == N/2 : e^{-iπ} = -1
+                wr = -1.0;
+                wi = 0.0;
+            }
+            double xr = er + (or * wr - oi * wi);
+            double xi = ei + (or * wi + oi * wr);
+            out[k] = xr * xr + xi * xi;
+        }
+    }
+
+    /**
+     * 두 실수 입력 a[0, N), b[0, N) 의 파워 스펙트럼을 길이 N 복소 FFT 한 번으로 계산
+     * <pre>
+     *   z = a + i·b,  Z = FFT_N(z)
+     *   A_k = (Z_k + conj(Z_{N-k})) / 2,  B_k = (Z_k - conj(Z_{N-k})) / 2i
+     * </pre>
+     * @param re 작업 버퍼 (길이 N 이상)
+     * @param im 작업 버퍼 (길이 N 이상)
+     * @param outA a 의 파워 스펙트럼 출력
+     * @param outB b 의 파워 스펙트럼 출력
+     * @param bins 기록할 주파수 bin 수 (&lt;= N/2 + 1)
+     */
+    public void realPowerSpectrumPair(double[] a, double[] b, double[] re, double[] im,
+                                      double[] outA, double[] outB, int bins) {
+        int n = size;
+        System.arraycopy(a, 0, re, 0, n);
+        System.arraycopy(b, 0, im, 0, n);
+        forward(re, im);
+
+        for (int k = 0; k < bins; k++) {
+            int j = (n - k) % n;
+            double zr = re[k];
+            double zi = im[k];
+            double cr = re[j];
+            double ci = -im[j];
+
+            double ar = 0.5 * (zr + cr);
+            double ai = 0.5 * (zi + ci);
+            double br = 0.5 * (zi - ci);
+            double bi = -0.5 * (zr - cr);
+            outA[k] = ar * ar + ai * ai;
+            outB[k] = br * br + bi * bi;
+        }
+    }
+
+    private IMUFFT halfSize() {
+        IMUFFT h = half;
+        if (h == null) {
+            h = forSize(size / 2);
+            half = h;
+        }
+        return h;
+    }
+
+    private void transform(double[] re, double[] im, boolean inverse) {
+        int n = size;
+
+        // 비트 반전 순서로 재배열
+        for (int i = 0; i < n; i++) {
+            int j = bitReverse[i];
+            if (j > i) {
+                double t = re[i];
+                re[i] = re[j];
+                re[j] = t;
+                t = im[i];
+                im[i] = im[j];
+                im[j] = t;
+            }
+        }
+
+        double sign = inverse ? 1.0 : -1.0;
+        for (int len = 2; len <= n; len <<= 1) {
+            int half = len >> 1;
+            int stride = n / len;
+            for (int start = 0; start < n; start += len) {
+                for (int k = 0; k < half; k++) {
+                    double wr = cos[k * stride];
+                    double wi = sign * sin[k * stride];
+                    int a = start + k;
+                    int b = a + half;
+                    double tr = re[b] * wr - im[b] * wi;
+                    double ti = re[b] * wi + im[b] * wr;
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+    }
+}
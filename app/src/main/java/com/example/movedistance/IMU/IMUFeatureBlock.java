@@ -0,0 +1,82 @@
+package com.example.movedistance.IMU;
+
+/**
+ * 모델 입력용 float 블록에 IMU 특징을 바로 기록하는 대상.
+ * <p>
+ * 행 r(시간 단계)의 특징 i 는 {@code data[r * rowStride + columnOffset + i]} 에 기록된다 (i 는 {@link IMUFeatureSchema} 인덱스).
+ * 블록 앞부분(columnOffset 이전 열)은 AP/BTS/GPS 특징 등 호출자가 채우는 영역으로 건드리지 않는다.
+ * 계산되지 않은 특징 열은 원래 값(보통 0)을 유지한다.
+ */
+public final class IMUFeatureBlock implements IMUFeatureSink {
+    private final float[] data;
+    private final int rows;
+    private final int rowStride;
+    private final int columnOffset;
+    private final IMUFeatureSchema schema;
+
+    public IMUFeatureBlock(float[] data, int rows, int rowStride, int columnOffset, IMUFeatureSchema schema) {
+        if (columnOffset + schema.size() > rowStride) {
+            throw new IllegalArgumentException("⚠ 행 폭이 부족합니다: " + rowStride + " < " + (columnOffset + schema.size()));
+        }
+        if ((long) rows * rowStride > data.length) {
+            throw new IllegalArgumentException("⚠ 블록 크기가 부족합니다: " + data.length + " < " + (long) rows * rowStride);
+        }
+        this.data = data;
+        this.rows = rows;
+        this.rowStride = rowStride;
+        this.columnOffset = columnOffset;
+        this.schema = schema;
+    }
+
+    /** IMU 특징만 담는 [rows × schema.size()] 블록 생성 */
+    public static IMUFeatureBlock allocate(int rows, IMUFeatureSchema schema) {
+        return new IMUFeatureBlock(new float[rows * schema.size()], rows, schema.size(), 0, schema);
+    }
+
+    public float[] data() {
+        return data;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    public int rowStride() {
+        return rowStride;
+    }
+
+    public int columnOffset() {
+        return columnOffset;
+    }
+
+    public IMUFeatureSchema schema() {
+        return schema;
+    }
+
+    @Override
+    public int columnOf(String key) {
+        int i = schema.indexOf(key);
+        return i < 0 ? -1 : columnOffset + i;
+    }
+
+    @Override
+    public void put(int row, int column, double value) {
+        data[row * rowStride + column] = (float) value;
+    }
+
+    /** 특징 값 읽기 (i 는 스키마 인덱스) */
+    public float get(int row, int feature) {
+        return data[row * rowStride + columnOffset + feature];
+    }
+
+    /**
+     * [from, rows) 행의 IMU 특징 영역을 source 행으로 채움 (데이터가 부족한 시간 단계를 마지막 행으로 채울 때)
+     */
+    public void fillRowsFrom(int source, int from) {
+        int start = source * rowStride + columnOffset;
+        for (int r = from; r < rows; r++) {
+            System.arraycopy(data, start, data, r * rowStride + columnOffset, schema.size());
+        }
+    }
+}
@@ -1,17 +1,8 @@
 package com.example.movedistance.IMU;
 
-import org.apache.commons.math3.stat.StatUtils;
-import org.apache.commons.math3.stat.descriptive.moment.StandardDeviation;
-import org.apache.commons.math3.stat.descriptive.rank.Max;
-import org.apache.commons.math3.stat.descriptive.rank.Min;
-import org.apache.commons.math3.complex.Complex;
-import org.apache.commons.math3.transform.DftNormalization;
-import org.apache.commons.math3.transform.FastFourierTransformer;
-import org.apache.commons.math3.transform.TransformType;
-
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
 
 public class IMUFeatureExtractor {
 
@@ -35,239 +26,311 @@ public class IMUFeatureExtractor {
         return result;
     }
 
-
-    public static Map<String, double[][]> calculateStatFeatures(double[][] magnitude, String prefix) {
-        int rows = magnitude.length;
-        Map<String, double[][]> result = new HashMap<>();
-
-        double[][] mean = new double[rows][1];
-        double[][] std = new double[rows][1];
-        double[][] max = new double[rows][1];
-        double[][] min = new double[rows][1];
-        double[][] mad = new double[rows][1];
-        double[][] iqr = new double[rows][1];
-        double[][] maxcorr = new double[rows][1];
-        double[][] argmax_corr = new double[rows][1];
-        double[][] zcr = new double[rows][1];
-        double[][] fzc = new double[rows][1];
-
-        for (int i = 0; i < rows; i++) {
-            double[] data = magnitude[i];
-            mean[i][0] = StatUtils.mean(data);
-            std[i][0] = new StandardDeviation().evaluate(data);
-            max[i][0] = new Max().evaluate(data);
-            min[i][0] = new Min().evaluate(data);
-            mad[i][0] = medianAbsoluteDeviation(data);
-            iqr[i][0] = interquartileRange(data);
-            maxcorr[i][0] = autocorrelationMax(data);
-            argmax_corr[i][0] = argMaxAutocorrelation(data);
-            zcr[i][0] = zeroCrossingRate(data);
-            fzc[i][0] = firstZeroCrossing(data);
+    /**
+     * 1차원 버퍼용 벡터 크기 계산: out[i] = sqrt(x[i]² + y[i]² + z[i]²), i ∈ [offset, offset + length)
+     */
+    public static void magnitude(double[] x, double[] y, double[] z, int offset, int length, double[] out) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            out[i] = Math.sqrt(x[i] * x[i] + y[i] * y[i] + z[i] * z[i]);
         }
+    }
 
-        result.put(prefix + "_mean", mean);
-        result.put(prefix + "_std", std);
-        result.put(prefix + "_max", max);
-        result.put(prefix + "_min", min);
-        result.put(prefix + "_mad", mad);
-        result.put(prefix + "_iqr", iqr);
-        result.put(prefix + "_max.corr", maxcorr);
-        result.put(prefix + "_idx.max.corr", argmax_corr);
-        result.put(prefix + "_zcr", zcr);
-        result.put(prefix + "_fzc", fzc);
 
-        return result;
+    public static Map<String, double[][]> calculateStatFeatures(double[][] magnitude, String prefix) {
+        return calculateFeatures(new double[][][]{magnitude}, new String[]{prefix}, true, false);
     }
 
-    /** 중앙절대편차 (MAD) 계산 */
-    private static double medianAbsoluteDeviation(double[] data) {
-        double median = StatUtils.percentile(data, 50);
-        double[] deviations = Arrays.stream(data).map(d -> Math.abs(d - median)).toArray();
-        return StatUtils.percentile(deviations, 50);
+    /** 주파수 특징 계산 (Welch PSD, 엔트로피, 중심주파수 등) */
+    public static Map<String, double[][]> calculateSpectralFeatures(double[][] magnitude, String prefix) {
+        return calculateFeatures(new double[][][]{magnitude}, new String[]{prefix}, false, true);
     }
 
-    /** 사분위 범위 (IQR) 계산 */
-    private static double interquartileRange(double[] data) {
-        double q1 = StatUtils.percentile(data, 25);
-        double q3 = StatUtils.percentile(data, 75);
-        return q3 - q1;
+    /**
+     * 여러 신호의 주파수 특징을 한 번에 계산 (배치 모드)
+     * <p>
+     * 같은 행의 신호를 두 개씩 묶어 복소 FFT 한 번으로 두 PSD 를 구한다.
+     * 예) {M, X, Y, Z} 4개 축이면 행마다 FFT 4회 → 2회.
+     * 결과 키는 신호별로 {@link #calculateSpectralFeatures(double[][], String)} 를 호출한 것과 같다.
+     * @param signals 신호별 [rows][cols] 데이터 (행 수가 모두 같아야 함)
+     * @param prefixes 신호별 키 접두사
+     */
+    public static Map<String, double[][]> calculateSpectralFeatures(double[][][] signals, String[] prefixes) {
+        return calculateFeatures(signals, prefixes, false, true);
     }
 
-    /** 최대 자기상관계수 계산 */
-    private static double autocorrelationMax(double[] data) {
-        double[] autocorr = computeAutocorrelation(data);
-        return Arrays.stream(autocorr).max().orElse(0);
+    /**
+     * 통계/주파수 특징을 행 단위 분석 컨텍스트({@link IMURowContext})로 함께 계산
+     * <p>
+     * [rows][cols] 행렬 입력을 {@link IMUWindowBuffer} 로 복사한 뒤
+     * {@link #calculateFeatures(IMUWindowBuffer, String[], boolean, boolean)} 를 호출한다.
+     * @param signals 신호별 [rows][cols] 데이터 (행 수가 모두 같아야 함)
+     * @param prefixes 신호별 키 접두사
+     * @param statFeatures 통계 특징 계산 여부
+     * @param spectralFeatures 주파수 특징 계산 여부
+     */
+    public static Map<String, double[][]> calculateFeatures(double[][][] signals, String[] prefixes,
+                                                           boolean statFeatures, boolean spectralFeatures) {
+        int rows = signals[0].length;
+        int cols = rows == 0 ? 0 : signals[0][0].length;
+        IMUWindowBuffer buffer = IMUWindowBuffer.allocate(rows, cols, signals.length);
+        for (int s = 0; s < signals.length; s++) {
+            double[] channel = buffer.channel(s);
+            for (int i = 0; i < rows; i++) {
+                System.arraycopy(signals[s][i], 0, channel, buffer.offset(i), cols);
+            }
+        }
+        return calculateFeatures(buffer, prefixes, statFeatures, spectralFeatures);
     }
 
-    /** 자기상관 최대값 위치 계산 */
-    private static double argMaxAutocorrelation(double[] data) {
-        double[] autocorr = computeAutocorrelation(data);
-        return Arrays.stream(autocorr).max().orElse(0);
+    /**
+     * 통계/주파수 특징을 행 단위 분석 컨텍스트({@link IMURowContext})로 함께 계산
+     * <p>
+     * 버퍼의 채널 하나가 신호 하나이며, 윈도우 하나가 결과의 한 행이 된다.
+     * 결과 키는 calculateStatFeatures / calculateSpectralFeatures 를 신호별로 호출한 것과 같다.
+     * @param signals 신호 버퍼 (채널 수 = 신호 수)
+     * @param prefixes 채널별 키 접두사
+     * @param statFeatures 통계 특징 계산 여부
+     * @param spectralFeatures 주파수 특징 계산 여부
+     */
+    public static Map<String, double[][]> calculateFeatures(IMUWindowBuffer signals, String[] prefixes,
+                                                           boolean statFeatures, boolean spectralFeatures) {
+        IMUFeatureMap sink = new IMUFeatureMap(signals.windows());
+        calculateFeatures(signals, prefixes, statFeatures, spectralFeatures, sink);
+        return sink.toMap();
     }
 
-    /** 자기상관 함수 계산 */
-    private static double[] computeAutocorrelation(double[] x) {
-        int n = x.length;
-        double[] result = new double[n];
-        for (int lag = 0; lag < n; lag++) {
-            double sum = 0;
-            for (int i = 0; i < n - lag; i++) {
-                sum += x[i] * x[i + lag];
+    /**
+     * 특징을 계산하여 sink 에 정수 열 인덱스로 바로 기록
+     * <p>
+     * 특징 이름은 시작할 때 한 번만 열 인덱스로 바꾸며, sink 가 받지 않는 특징(-1)은 계산하지 않는다.
+     * 한 행의 정렬본, 자기상관, PSD 등 중간 결과는 컨텍스트에서 한 번만 계산되어
+     * 통계 특징과 주파수 특징이 공유한다. 주파수 특징은 신호를 두 개씩 묶어 PSD 를 구한다.
+     * 행 수가 {@link IMUExecutors#getRowThreshold()} 이상이면 행을 나누어 병렬로 처리한다.
+     */
+    static void calculateFeatures(IMUWindowBuffer signals, String[] prefixes, boolean statFeatures,
+                                  boolean spectralFeatures, IMUFeatureSink sink) {
+        int count = signals.channelCount();
+        int rows = Math.min(signals.windows(), sink.rows());
+
+        int[][] statColumns = new int[count][];
+        int[][] spectralColumns = new int[count][];
+        for (int s = 0; s < count; s++) {
+            statColumns[s] = statFeatures ? resolveColumns(sink, prefixes[s], STAT_SUFFIXES) : null;
+            spectralColumns[s] = spectralFeatures ? resolveColumns(sink, prefixes[s], SPECTRAL_SUFFIXES) : null;
+        }
+        FeatureColumns columns = new FeatureColumns(statColumns, spectralColumns, sink);
+
+        if (IMUExecutors.shouldParallelize(rows)) {
+            // ✅ 행은 서로 독립이므로 ForkJoinPool 로 나눠 처리 (결과는 행 인덱스 위치에 기록되어 순서 보장)
+            int leafSize = Math.max(1, (rows + IMUExecutors.getParallelism() * 2 - 1) / (IMUExecutors.getParallelism() * 2));
+            try {
+                IMUExecutors.rowPool().invoke(new RowTask(signals, columns, 0, rows, leafSize));
+            } catch (RejectedExecutionException e) {
+                // 병렬도 변경으로 풀이 종료된 경우 순차 처리
+                processRows(signals, columns, 0, rows);
             }
-            result[lag] = sum / (n - lag);
+        } else {
+            processRows(signals, columns, 0, rows);
         }
-        return result;
     }
 
-    /** Zero Crossing Rate (ZCR) 계산 */
-    private static double zeroCrossingRate(double[] data) {
-        int count = 0;
-        for (int i = 1; i < data.length; i++) {
-            if (Math.signum(data[i]) != Math.signum(data[i - 1])) {
-                count++;
-            }
+    /** prefix + 접미사별 열 인덱스 (모두 -1 이면 null) */
+    private static int[] resolveColumns(IMUFeatureSink sink, String prefix, String[] suffixes) {
+        int[] columns = new int[suffixes.length];
+        boolean any = false;
+        for (int k = 0; k < suffixes.length; k++) {
+            columns[k] = sink.columnOf(prefix + suffixes[k]);
+            any |= columns[k] >= 0;
         }
-        return (double) count / data.length;
+        return any ? columns : null;
     }
 
-    /** First Zero Crossing (FZC) 계산 */
-    private static int firstZeroCrossing(double[] data) {
-        for (int i = 1; i < data.length; i++) {
-            if (Math.signum(data[i]) != Math.signum(data[i - 1])) {
-                return i;
+    /**
+     * [from, to) 범위의 행을 처리하여 sink 에 기록
+     * 컨텍스트는 호출마다 풀에서 빌려 범위 안의 행들에 재사용한다.
+     */
+    private static void processRows(IMUWindowBuffer signals, FeatureColumns columns, int from, int to) {
+        int count = signals.channelCount();
+        int windowSize = signals.windowSize();
+        int[] spectralSignals = columns.spectralSignals;
+        IMURowContext[] contexts = new IMURowContext[count];
+        for (int s = 0; s < count; s++) {
+            contexts[s] = IMURowContext.acquire();
+        }
+
+        try {
+            for (int i = from; i < to; i++) {
+                for (int s = 0; s < count; s++) {
+                    contexts[s].reset(signals.channel(s), signals.offset(i), windowSize);
+                }
+                // ✅ 주파수 특징이 필요한 신호끼리 두 개씩 묶어 PSD 계산 (FFT 횟수 절반)
+                for (int k = 0; k + 1 < spectralSignals.length; k += 2) {
+                    IMURowContext.computePsdPair(contexts[spectralSignals[k]], contexts[spectralSignals[k + 1]]);
+                }
+                for (int s = 0; s < count; s++) {
+                    columns.storeStat(i, s, contexts[s]);
+                    columns.storeSpectral(i, s, contexts[s]);
+                }
+            }
+        } finally {
+            for (IMURowContext context : contexts) {
+                context.release();
             }
         }
-        return 0;
     }
 
-    /** 주파수 특징 계산 (Welch PSD, 엔트로피, 중심주파수 등) */
-    public static Map<String, double[][]> calculateSpectralFeatures(double[][] magnitude, String prefix) {
-        int rows = magnitude.length;
-        int fs = 100;
-        Map<String, double[][]> result = new HashMap<>();
-
-        double[][] maxPSD = new double[rows][1];
-        double[][] entropy = new double[rows][1];
-        double[][] frequencyCenter = new double[rows][1];
-        double[][] kurtosis = new double[rows][1];
-        double[][] skewness = new double[rows][1];
-
-        for (int i = 0; i < rows; i++) {
-            double[] data = magnitude[i];
-
-            // Compute Welch PSD
-            double[] psd = computeWelchPSD(data, fs, data.length);
-
-            // Calculate features
-            maxPSD[i][0] = Arrays.stream(psd).max().orElse(0);  // Max PSD value
-            entropy[i][0] = calculateEntropy(psd);              // Frequency entropy
-            frequencyCenter[i][0] = calculateFrequencyCenter(psd, fs, data.length); // Frequency center
-            kurtosis[i][0] = calculateKurtosis(psd);            // Kurtosis
-            skewness[i][0] = calculateSkewness(psd);            // Skewness
+    /** 행 범위를 반씩 나누어 병렬 처리하는 작업 */
+    private static final class RowTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IMUWindowBuffer signals;
+        private final FeatureColumns columns;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        RowTask(IMUWindowBuffer signals, FeatureColumns columns, int from, int to, int leafSize) {
+            this.signals = signals;
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
         }
 
-        // Store results in the map with appropriate keys
-        result.put(prefix + "_max.psd", maxPSD);
-        result.put(prefix + "_entropy", entropy);
-        result.put(prefix + "_fc", frequencyCenter);
-        result.put(prefix + "_kurt", kurtosis);
-        result.put(prefix + "_skew", skewness);
-
-        return result;
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                processRows(signals, columns, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RowTask(signals, columns, from, mid, leafSize),
+                    new RowTask(signals, columns, mid, to, leafSize));
+        }
     }
 
-    public static double[] computeWelchPSD(double[] data, int fs, int nperseg) {
-        int n = data.length;
-        int step = nperseg / 2;  // 50% 오버랩 적용
-        int numSegments = (n - nperseg) / step + 1;
-
-        // 패딩된 데이터 길이 계산 (2의 거듭제곱)
-        int paddedLength = getNextPowerOfTwo(nperseg);
-        double[] psd = new double[paddedLength / 2];
-
-        for (int i = 0; i < numSegments; i++) {
-            int start = i * step;
-            double[] segment = Arrays.copyOfRange(data, start, start + nperseg);
-
-            // Hanning Window 적용
-            for (int j = 0; j < segment.length; j++) {
-                segment[j] *= 0.5 * (1 - Math.cos(2 * Math.PI * j / (segment.length - 1)));
+    static final String[] STAT_SUFFIXES = {
+            "_mean", "_std", "_max", "_min", "_mad", "_iqr", "_max.corr", "_idx.max.corr", "_zcr", "_fzc"
+    };
+    private static final int STAT_MEAN = 0;
+    private static final int STAT_STD = 1;
+    private static final int STAT_MAX = 2;
+    private static final int STAT_MIN = 3;
+    private static final int STAT_MAD = 4;
+    private static final int STAT_IQR = 5;
+    private static final int STAT_MAX_CORR = 6;
+    private static final int STAT_IDX_MAX_CORR = 7;
+    private static final int STAT_ZCR = 8;
+    private static final int STAT_FZC = 9;
+
+    /** 접미사 순서는 {@link IMUSpectralMoments} 인덱스와 같음 */
+    static final String[] SPECTRAL_SUFFIXES = {"_max.psd", "_entropy", "_fc", "_kurt", "_skew"};
+
+    /** 신호별 특징 열 인덱스 (-1 이면 계산하지 않음) */
+    private static final class FeatureColumns {
+        final int[][] stat;
+        final int[][] spectral;
+        final int[] spectralSignals;
+        final IMUFeatureSink sink;
+
+        FeatureColumns(int[][] stat, int[][] spectral, IMUFeatureSink sink) {
+            this.stat = stat;
+            this.spectral = spectral;
+            this.sink = sink;
+            int n = 0;
+            for (int[] columns : spectral) {
+                if (columns != null) {
+                    n++;
+                }
             }
+            spectralSignals = new int[n];
+            n = 0;
+            for (int s = 0; s < spectral.length; s++) {
+                if (spectral[s] != null) {
+                    spectralSignals[n++] = s;
+                }
+            }
+        }
 
-            // 패딩 추가
-            double[] paddedSegment = new double[paddedLength];
-            System.arraycopy(segment, 0, paddedSegment, 0, segment.length);
-
-            // FFT 수행 using Apache Commons Math
-            FastFourierTransformer fft = new FastFourierTransformer(DftNormalization.STANDARD);
-            Complex[] fftResult = fft.transform(paddedSegment, TransformType.FORWARD);
-
-            // PSD 계산 (실수부² + 허수부²)
-            for (int j = 0; j < psd.length; j++) {
-                double real = fftResult[j].getReal();
-                double imag = fftResult[j].getImaginary();
-                psd[j] += (real * real + imag * imag) / numSegments;  // 평균을 내서 Welch PSD 완성
+        void storeStat(int i, int s, IMURowContext context) {
+            int[] columns = stat[s];
+            if (columns == null) {
+                return;
+            }
+            if (columns[STAT_MEAN] >= 0 || columns[STAT_STD] >= 0 || columns[STAT_MAX] >= 0
+                    || columns[STAT_MIN] >= 0 || columns[STAT_ZCR] >= 0 || columns[STAT_FZC] >= 0) {
+                double[] stats = context.stats();
+                put(i, columns[STAT_MEAN], stats[IMUStatKernel.MEAN]);
+                put(i, columns[STAT_STD], stats[IMUStatKernel.STD]);
+                put(i, columns[STAT_MAX], stats[IMUStatKernel.MAX]);
+                put(i, columns[STAT_MIN], stats[IMUStatKernel.MIN]);
+                put(i, columns[STAT_ZCR], stats[IMUStatKernel.ZCR]);
+                put(i, columns[STAT_FZC], stats[IMUStatKernel.FZC]);
+            }
+            if (columns[STAT_MAD] >= 0 || columns[STAT_IQR] >= 0) {
+                IMUQuantiles quantiles = context.quantiles();
+                if (columns[STAT_MAD] >= 0) {
+                    put(i, columns[STAT_MAD], quantiles.medianAbsoluteDeviation());
+                }
+                if (columns[STAT_IQR] >= 0) {
+                    put(i, columns[STAT_IQR], quantiles.interquartileRange());
+                }
+            }
+            if (columns[STAT_MAX_CORR] >= 0 || columns[STAT_IDX_MAX_CORR] >= 0) {
+                IMUAutocorrelation autocorrelation = context.autocorrelation();
+                put(i, columns[STAT_MAX_CORR], autocorrelation.max());
+                put(i, columns[STAT_IDX_MAX_CORR], autocorrelation.argMax());
             }
         }
 
-        // Scale the PSD by the sampling frequency and segment length
-        for (int i = 0; i < psd.length; i++) {
-            psd[i] *= 2.0 / (fs * nperseg);
+        void storeSpectral(int i, int s, IMURowContext context) {
+            int[] columns = spectral[s];
+            if (columns == null) {
+                return;
+            }
+            double[] moments = context.spectralMoments();
+            for (int k = 0; k < columns.length; k++) {
+                put(i, columns[k], moments[k]);
+            }
         }
 
-        return psd;
+        private void put(int row, int column, double value) {
+            if (column >= 0) {
+                sink.put(row, column, value);
+            }
+        }
     }
 
-    private static int getNextPowerOfTwo(int num) {
-        int power = 1;
-        while (power < num) {
-            power *= 2;
-        }
-        return power;
+    public static double[] computeWelchPSD(double[] data, int fs, int nperseg) {
+        double[] psd = new double[IMUWelch.psdLength(nperseg)];
+        new IMUWelch().compute(data, 0, data.length, fs, nperseg, psd);
+        return psd;
     }
 
     /** 주파수 엔트로피 계산 */
     public static double calculateEntropy(double[] psd) {
-        double sum = Arrays.stream(psd).sum();
-        if (sum == 0) return 0;
-
-        return Arrays.stream(psd)
-                .map(p -> p / sum)
-                .filter(p -> p > 0)
-                .map(p -> -p * Math.log(p))
-                .sum();
+        return spectralMoment(psd, 1, 1, IMUSpectralMoments.ENTROPY);
     }
 
     /** 주파수 중심(Frequency Center) 계산 */
     public static double calculateFrequencyCenter(double[] psd, int fs, int nperseg) {
-        double sumPsd = Arrays.stream(psd).sum();
-        if (sumPsd == 0) return 0;
-
-        double weightedSum = 0;
-        for (int i = 0; i < psd.length; i++) {
-            double freq = i * (fs / (double) nperseg);
-            weightedSum += freq * psd[i];
-        }
-        return weightedSum / sumPsd;
+        return spectralMoment(psd, fs, nperseg, IMUSpectralMoments.FC);
     }
 
-    /** 첨도(Kurtosis) 계산 */
+    /** 첨도(Kurtosis) 계산 (분산이 0 이면 0) */
     public static double calculateKurtosis(double[] psd) {
-        double mean = Arrays.stream(psd).average().orElse(0);
-        double std = Math.sqrt(Arrays.stream(psd).map(d -> Math.pow(d - mean, 2)).average().orElse(0));
-        return Arrays.stream(psd)
-                .map(d -> Math.pow((d - mean) / std, 4))
-                .average()
-                .orElse(0);
+        return spectralMoment(psd, 1, 1, IMUSpectralMoments.KURT);
     }
 
-    /** 왜도(Skewness) 계산 */
+    /** 왜도(Skewness) 계산 (분산이 0 이면 0) */
     public static double calculateSkewness(double[] psd) {
-        double mean = Arrays.stream(psd).average().orElse(0);
-        double std = Math.sqrt(Arrays.stream(psd).map(d -> Math.pow(d - mean, 2)).average().orElse(0));
-        return Arrays.stream(psd)
-                .map(d -> Math.pow((d - mean) / std, 3))
-                .average()
-                .orElse(0);
+        return spectralMoment(psd, 1, 1, IMUSpectralMoments.SKEW);
+    }
+
+    private static double spectralMoment(double[] psd, int fs, int nperseg, int index) {
+        double[] moments = new double[IMUSpectralMoments.SIZE];
+        IMUSpectralMoments.compute(psd, psd.length, fs, nperseg, moments);
+        return moments[index];
     }
 }
@@ -0,0 +1,59 @@
+package com.example.movedistance.IMU;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 특징 이름 → [rows][1] 배열 맵으로 결과를 모으는 대상 (기존 Map 반환 API 호환용).
+ * 처음 보는 특징 이름은 {@link #columnOf} 호출 시 새 열로 등록된다.
+ */
+final class IMUFeatureMap implements IMUFeatureSink {
+    private final int rows;
+    private final Map<String, Integer> index = new HashMap<>();
+    private volatile String[] keys = new String[0];
+    private volatile double[][][] columns = new double[0][][];
+
+    IMUFeatureMap(int rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public synchronized int columnOf(String key) {
+        Integer existing = index.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int column = keys.length;
+        String[] newKeys = Arrays.copyOf(keys, column + 1);
+        double[][][] newColumns = Arrays.copyOf(columns, column + 1);
+        newKeys[column] = key;
+        newColumns[column] = new double[rows][1];
+        index.put(key, column);
+        // 배열을 새로 만들어 교체하므로 다른 스레드의 put 은 항상 완성된 배열을 본다
+        keys = newKeys;
+        columns = newColumns;
+        return column;
+    }
+
+    @Override
+    public void put(int row, int column, double value) {
+        columns[column][row][0] = value;
+    }
+
+    /** 등록된 특징 이름 → [rows][1] 배열 */
+    Map<String, double[][]> toMap() {
+        String[] currentKeys = keys;
+        double[][][] currentColumns = columns;
+        Map<String, double[][]> result = new HashMap<>();
+        for (int c = 0; c < currentKeys.length; c++) {
+            result.put(currentKeys[c], currentColumns[c]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.movedistance.IMU;
+
+/**
+ * 특징 추출 프로파일과 짝을 이루는 모델 파일.
+ * <p>
+ * FULL 은 기존 330 개 IMU 특징을 모두 계산한다.
+ * LIGHT 는 주파수 특징과 축별(X/Y/Z) 처리를 끄고 센서별 크기(M) 통계 특징만 계산하여
+ * 분당 CPU 사용량을 크게 줄인다 (FFT / Welch PSD 와 축별 통계가 빠짐).
+ * 프로파일마다 입력 특징 수가 다르므로 같은 특징 순서로 학습한 모델 파일을 함께 사용해야 한다.
+ */
+public enum IMUFeatureProfile {
+    FULL("model.pt", true, true),
+    LIGHT("model_light.pt", false, false);
+
+    private final String modelFile;
+    private final boolean spectralFeatures;
+    private final boolean processEachAxis;
+
+    IMUFeatureProfile(String modelFile, boolean spectralFeatures, boolean processEachAxis) {
+        this.modelFile = modelFile;
+        this.spectralFeatures = spectralFeatures;
+        this.processEachAxis = processEachAxis;
+    }
+
+    /** assets 의 모델 파일 이름 */
+    public String modelFile() {
+        return modelFile;
+    }
+
+    /** 주파수 특징 허용 여부 (IMUConfig 설정과 AND) */
+    public boolean spectralFeatures() {
+        return spectralFeatures;
+    }
+
+    /** 축별 처리 허용 여부 (IMUConfig 설정과 AND) */
+    public boolean processEachAxis() {
+        return processEachAxis;
+    }
+
+    /** 이 프로파일의 실행 계획 */
+    public IMUExecutionPlan plan() {
+        return IMUConfig.getExecutionPlan(this);
+    }
+
+    /** 이 프로파일의 모델 입력 특징 순서 */
+    public IMUFeatureSchema schema() {
+        return IMUConfig.getFeatureSchema(this);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.movedistance.IMU;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * IMU 특징 이름 → 고정 열 인덱스 대응표.
+ * <p>
+ * 모델 입력의 IMU 특징 순서(기존 predefinedHeaders 에서 timestamp 를 뺀 330 개)를 한 번만 인덱싱해 두고,
+ * 특징 커널이 이름 대신 정수 열 인덱스로 {@link IMUFeatureBlock} 에 바로 기록하게 한다.
+ */
+public final class IMUFeatureSchema {
+    private static final List<String> FEATURE_HEADERS = Arrays.asList(
+            // ✅ 가속도계 (Accelerometer) 기본 통계
+            "accelM_mean", "accelM_std", "accelM_max", "accelM_min", "accelM_mad", "accelM_iqr",
+            "accelM_max.corr", "accelM_idx.max.corr", "accelM_zcr", "accelM_fzc",
+            "accelX_mean", "accelX_std", "accelX_max", "accelX_min", "accelX_mad", "accelX_iqr",
+            "accelX_max.corr", "accelX_idx.max.corr", "accelX_zcr", "accelX_fzc",
+            "accelY_mean", "accelY_std", "accelY_max", "accelY_min", "accelY_mad", "accelY_iqr",
+            "accelY_max.corr", "accelY_idx.max.corr", "accelY_zcr", "accelY_fzc",
+            "accelZ_mean", "accelZ_std", "accelZ_max", "accelZ_min", "accelZ_mad", "accelZ_iqr",
+            "accelZ_max.corr", "accelZ_idx.max.corr", "accelZ_zcr", "accelZ_fzc",
+            "accelM_max.psd", "accelM_entropy", "accelM_fc", "accelM_kurt", "accelM_skew",
+            // ✅ 가속도계 (Accelerometer) per-axis PSD 및 통계
+            "accelX_max.psd", "accelX_entropy", "accelX_fc", "accelX_kurt", "accelX_skew",
+            "accelY_max.psd", "accelY_entropy", "accelY_fc", "accelY_kurt", "accelY_skew",
+            "accelZ_max.psd", "accelZ_entropy", "accelZ_fc", "accelZ_kurt", "accelZ_skew",
+            // ✅ 가속도계 수평/수직 (Horizontal/Vertical)
+            "accel_hM_mean", "accel_hM_std", "accel_hM_max", "accel_hM_min", "accel_hM_mad", "accel_hM_iqr",
+            "accel_hM_max.corr", "accel_hM_idx.max.corr", "accel_hM_zcr", "accel_hM_fzc",
+            "accel_hM_max.psd", "accel_hM_entropy", "accel_hM_fc", "accel_hM_kurt", "accel_hM_skew",
+            "accel_vM_mean", "accel_vM_std", "accel_vM_max", "accel_vM_min", "accel_vM_mad", "accel_vM_iqr",
+            "accel_vM_max.corr", "accel_vM_idx.max.corr", "accel_vM_zcr", "accel_vM_fzc",
+            "accel_vM_max.psd", "accel_vM_entropy", "accel_vM_fc", "accel_vM_kurt", "accel_vM_skew",
+            // ✅ 중력 센서 (Gravity)
+            "gravityM_mean", "gravityM_std", "gravityM_max", "gravityM_min", "gravityM_mad", "gravityM_iqr",
+            "gravityM_max.corr", "gravityM_idx.max.corr", "gravityM_zcr", "gravityM_fzc",
+            "gravityX_mean", "gravityX_std", "gravityX_max", "gravityX_min", "gravityX_mad", "gravityX_iqr",
+            "gravityX_max.corr", "gravityX_idx.max.corr", "gravityX_zcr", "gravityX_fzc",
+            "gravityY_mean", "gravityY_std", "gravityY_max", "gravityY_min", "gravityY_mad", "gravityY_iqr",
+            "gravityY_max.corr", "gravityY_idx.max.corr", "gravityY_zcr", "gravityY_fzc",
+            "gravityZ_mean", "gravityZ_std", "gravityZ_max", "gravityZ_min", "gravityZ_mad", "gravityZ_iqr",
+            "gravityZ_max.corr", "gravityZ_idx.max.corr", "gravityZ_zcr", "gravityZ_fzc",
+            "gravityM_max.psd", "gravityM_entropy", "gravityM_fc", "gravityM_kurt", "gravityM_skew",
+            "gravityX_max.psd", "gravityX_entropy", "gravityX_fc", "gravityX_kurt", "gravityX_skew",
+            "gravityY_max.psd", "gravityY_entropy", "gravityY_fc", "gravityY_kurt", "gravityY_skew",
+            "gravityZ_max.psd", "gravityZ_entropy", "gravityZ_fc", "gravityZ_kurt", "gravityZ_skew",
+            // ✅ 자이로스코프 (Gyroscope)
+            "gyroM_mean", "gyroM_std", "gyroM_max", "gyroM_min", "gyroM_mad", "gyroM_iqr",
+            "gyroM_max.corr", "gyroM_idx.max.corr", "gyroM_zcr", "gyroM_fzc",
+            "gyroX_mean", "gyroX_std", "gyroX_max", "gyroX_min", "gyroX_mad", "gyroX_iqr",
+            "gyroX_max.corr", "gyroX_idx.max.corr", "gyroX_zcr", "gyroX_fzc",
+            "gyroY_mean", "gyroY_std", "gyroY_max", "gyroY_min", "gyroY_mad", "gyroY_iqr",
+            "gyroY_max.corr", "gyroY_idx.max.corr", "gyroY_zcr", "gyroY_fzc",
+            "gyroZ_mean", "gyroZ_std", "gyroZ_max", "gyroZ_min", "gyroZ_mad", "gyroZ_iqr",
+            "gyroZ_max.corr", "gyroZ_idx.max.corr", "gyroZ_zcr", "gyroZ_fzc",
+            "gyroM_max.psd", "gyroM_entropy", "gyroM_fc", "gyroM_kurt", "gyroM_skew",
+            "gyroX_max.psd", "gyroX_entropy", "gyroX_fc", "gyroX_kurt", "gyroX_skew",
+            "gyroY_max.psd", "gyroY_entropy", "gyroY_fc", "gyroY_kurt", "gyroY_skew",
+            "gyroZ_max.psd", "gyroZ_entropy", "gyroZ_fc", "gyroZ_kurt", "gyroZ_skew",
+            // ✅ 저크 센서 (Jerk) - 수평 및 수직
+            "jerk_hM_mean", "jerk_hM_std", "jerk_hM_max", "jerk_hM_min", "jerk_hM_mad", "jerk_hM_iqr",
+            "jerk_hM_max.corr", "jerk_hM_idx.max.corr", "jerk_hM_zcr", "jerk_hM_fzc",
+            "jerk_hM_max.psd", "jerk_hM_entropy", "jerk_hM_fc", "jerk_hM_kurt", "jerk_hM_skew",
+            "jerk_vM_mean", "jerk_vM_std", "jerk_vM_max", "jerk_vM_min", "jerk_vM_mad", "jerk_vM_iqr",
+            "jerk_vM_max.corr", "jerk_vM_idx.max.corr", "jerk_vM_zcr", "jerk_vM_fzc",
+            "jerk_vM_max.psd", "jerk_vM_entropy", "jerk_vM_fc", "jerk_vM_kurt", "jerk_vM_skew",
+            // ✅ 선형 가속도 센서 (Linear Acceleration)
+            "linear_accelM_mean", "linear_accelM_std", "linear_accelM_max", "linear_accelM_min", "linear_accelM_mad", "linear_accelM_iqr",
+            "linear_accelM_max.corr", "linear_accelM_idx.max.corr", "linear_accelM_zcr", "linear_accelM_fzc",
+            "linear_accelM_max.psd", "linear_accelM_entropy", "linear_accelM_fc", "linear_accelM_kurt", "linear_accelM_skew",
+            // ✅ 자기장 센서 (Magnetometer)
+            "magM_mean", "magM_std", "magM_max", "magM_min", "magM_mad", "magM_iqr",
+            "magM_max.corr", "magM_idx.max.corr", "magM_zcr", "magM_fzc",
+            "magX_mean", "magX_std", "magX_max", "magX_min", "magX_mad", "magX_iqr",
+            "magX_max.corr", "magX_idx.max.corr", "magX_zcr", "magX_fzc",
+            "magY_mean", "magY_std", "magY_max", "magY_min", "magY_mad", "magY_iqr",
+            "magY_max.corr", "magY_idx.max.corr", "magY_zcr", "magY_fzc",
+            "magZ_mean", "magZ_std", "magZ_max", "magZ_min", "magZ_mad", "magZ_iqr",
+            "magZ_max.corr", "magZ_idx.max.corr", "magZ_zcr", "magZ_fzc",
+            "magM_max.psd", "magM_entropy", "magM_fc", "magM_kurt", "magM_skew",
+            "magX_max.psd", "magX_entropy", "magX_fc", "magX_kurt", "magX_skew",
+            "magY_max.psd", "magY_entropy", "magY_fc", "magY_kurt", "magY_skew",
+            "magZ_max.psd", "magZ_entropy", "magZ_fc", "magZ_kurt", "magZ_skew",
+            // ✅ 압력 센서 (Pressure)
+            "pressureM_mean", "pressureM_std", "pressureM_max", "pressureM_min", "pressureM_mad", "pressureM_iqr",
+            "pressureM_max.corr", "pressureM_idx.max.corr", "pressureM_zcr", "pressureM_fzc",
+            "pressureM_max.psd", "pressureM_entropy", "pressureM_fc", "pressureM_kurt", "pressureM_skew"
+    );
+
+    /** 기본 스키마 (모델 입력 순서) */
+    public static final IMUFeatureSchema DEFAULT = new IMUFeatureSchema(FEATURE_HEADERS);
+
+    private final List<String> headers;
+    private final Map<String, Integer> index;
+
+    public IMUFeatureSchema(List<String> headers) {
+        this.headers = Collections.unmodifiableList(Arrays.asList(headers.toArray(new String[0])));
+        this.index = new HashMap<>(headers.size() * 2);
+        for (int i = 0; i < headers.size(); i++) {
+            if (index.put(headers.get(i), i) != null) {
+                throw new IllegalArgumentException("⚠ 중복된 특징 이름: " + headers.get(i));
+            }
+        }
+    }
+
+    /** 특징 수 */
+    public int size() {
+        return headers.size();
+    }
+
+    /** 특징 이름의 열 인덱스 (스키마에 없으면 -1) */
+    public int indexOf(String header) {
+        Integer i = index.get(header);
+        return i != null ? i : -1;
+    }
+
+    /**
+     * keys 에 포함된 특징만 이 스키마의 순서대로 남긴 스키마
+     */
+    public IMUFeatureSchema retain(Set<String> keys) {
+        List<String> retained = new ArrayList<>();
+        for (String header : headers) {
+            if (keys.contains(header)) {
+                retained.add(header);
+            }
+        }
+        return new IMUFeatureSchema(retained);
+    }
+
+    public String header(int column) {
+        return headers.get(column);
+    }
+
+    /** 열 순서대로의 특징 이름 (수정 불가) */
+    public List<String> headers() {
+        return headers;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.movedistance.IMU;
+
+/**
+ * 특징 값을 기록할 대상.
+ * 특징 이름은 계산 전에 {@link #columnOf} 로 한 번만 열 인덱스로 바꾸고, 행마다는 정수 인덱스로 기록한다.
+ * 서로 다른 (row, column) 에 대한 {@link #put} 은 여러 스레드에서 동시에 호출될 수 있다.
+ */
+interface IMUFeatureSink {
+    /** 기록할 최대 행 수 (이후 윈도우는 계산하지 않음) */
+    int rows();
+
+    /** 특징 이름의 열 인덱스 (기록하지 않는 특징이면 -1) */
+    int columnOf(String key);
+
+    void put(int row, int column, double value);
+}
@@ -0,0 +1,287 @@
+package com.example.movedistance.IMU;
+
+import com.example.movedistance.Storage.CsvCursor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 열(column) 단위 IMU 데이터 프레임.
+ * <p>
+ * CSV 헤더에서 열 인덱스를 한 번만 찾고, 각 열을 기본형 배열에 바로 디코딩한다 ({@link CsvCursor}).
+ * 타임스탬프는 long[], 나머지 열은 double[] (CSV 값은 float 로 파싱한 뒤 넓혀 저장하므로
+ * 기존 Map&lt;String, Object&gt; 경로의 Float 값과 동일) 이다.
+ * 센서 채널은 {@link #column(String)} 로 배열을 그대로 꺼내 쓰므로 행마다 문자열 조합이나 Map 조회가 없다.
+ */
+public final class IMUFrame {
+    public static final String TIMESTAMP = "timestamp";
+
+    private final String[] columns;
+    private final Map<String, Integer> index;
+    private final long[] timestamps;
+    private final double[][] values;
+    private final int size;
+
+    private IMUFrame(String[] columns, long[] timestamps, double[][] values, int size) {
+        this.columns = columns;
+        this.timestamps = timestamps;
+        this.values = values;
+        this.size = size;
+        this.index = new HashMap<>();
+        for (int c = 0; c < columns.length; c++) {
+            index.put(columns[c], c);
+        }
+    }
+
+    /**
+     * 기존 행 목록(List&lt;Map&gt;)을 프레임으로 변환 (열 목록은 모든 행의 키 합집합, 없는 값은 0)
+     */
+    public static IMUFrame fromRows(List<Map<String, Object>> rows) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (Map<String, Object> row : rows) {
+            keys.addAll(row.keySet());
+        }
+        keys.remove(TIMESTAMP);
+        String[] columns = keys.toArray(new String[0]);
+
+        int size = rows.size();
+        long[] timestamps = new long[size];
+        double[][] values = new double[columns.length][size];
+        int r = 0;
+        for (Map<String, Object> row : rows) {
+            timestamps[r] = toLong(row.get(TIMESTAMP));
+            for (int c = 0; c < columns.length; c++) {
+                values[c][r] = toDouble(row.get(columns[c]));
+            }
+            r++;
+        }
+        return new IMUFrame(columns, timestamps, values, size);
+    }
+
+    /**
+     * 이미 열 단위로 디코딩된 배열로 프레임 생성 (배열은 복사하지 않음)
+     * @param columns 타임스탬프를 제외한 열 이름 (values 순서)
+     * @param size 유효한 행 수 (각 배열 길이는 size 이상)
+     */
+    public static IMUFrame fromColumns(String[] columns, long[] timestamps, double[][] values, int size) {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("⚠ 열 수 불일치: " + values.length + " != " + columns.length);
+        }
+        return new IMUFrame(columns.clone(), timestamps, values, size);
+    }
+
+    /** 행 수 */
+    public int size() {
+        return size;
+    }
+
+    /** 타임스탬프 열 (길이는 size() 이상, 수정 금지) */
+    public long[] timestamps() {
+        return timestamps;
+    }
+
+    public boolean hasColumn(String name) {
+        return index.containsKey(name);
+    }
+
+    /** 열 배열 (길이는 size() 이상, 수정 금지). 없는 열이면 null */
+    public double[] column(String name) {
+        Integer c = index.get(name);
+        return c != null ? values[c] : null;
+    }
+
+    /** 타임스탬프를 제외한 열 이름 */
+    public String[] columns() {
+        return columns.clone();
+    }
+
+    /**
+     * [from, to) 행만 남긴 프레임 (배열 복사)
+     */
+    public IMUFrame slice(int from, int to) {
+        double[][] sliced = new double[values.length][];
+        for (int c = 0; c < values.length; c++) {
+            sliced[c] = Arrays.copyOfRange(values[c], from, to);
+        }
+        return new IMUFrame(columns, Arrays.copyOfRange(timestamps, from, to), sliced, to - from);
+    }
+
+    /**
+     * 가장 이른 타임스탬프부터 durationMs 이내(경계 포함)의 행만 남긴 프레임
+     * (기존 filterOneMinuteData 와 같은 조건, 행 순서 유지)
+     */
+    public IMUFrame filterFromEarliest(long durationMs) {
+        if (size == 0) {
+            return this;
+        }
+        long earliest = Long.MAX_VALUE;
+        for (int r = 0; r < size; r++) {
+            earliest = Math.min(earliest, timestamps[r]);
+        }
+        long limit = earliest + durationMs;
+
+        int kept = 0;
+        for (int r = 0; r < size; r++) {
+            if (timestamps[r] <= limit) {
+                kept++;
+            }
+        }
+        if (kept == size) {
+            return this;
+        }
+
+        long[] keptTimestamps = new long[kept];
+        double[][] keptValues = new double[values.length][kept];
+        int k = 0;
+        for (int r = 0; r < size; r++) {
+            if (timestamps[r] <= limit) {
+                keptTimestamps[k] = timestamps[r];
+                for (int c = 0; c < values.length; c++) {
+                    keptValues[c][k] = values[c][r];
+                }
+                k++;
+            }
+        }
+        return new IMUFrame(columns, keptTimestamps, keptValues, kept);
+    }
+
+    private static long toLong(Object obj) {
+        if (obj instanceof List) {
+            List<?> list = (List<?>) obj;
+            if (!list.isEmpty() && list.get(0) instanceof Number) {
+                return ((Number) list.get(0)).longValue();
+            }
+        } else if (obj instanceof Number) {
+            return ((Number) obj).longValue();
+        }
+        return 0L;
+    }
+
+    private static double toDouble(Object obj) {
+        if (obj instanceof List) {
+            List<?> list = (List<?>) obj;
+            if (!list.isEmpty() && list.get(0) instanceof Number) {
+                return ((Number) list.get(0)).doubleValue();
+            }
+        } else if (obj instanceof Number) {
+            return ((Number) obj).doubleValue();
+        }
+        return 0.0;
+    }
+
+    /**
+     * CSV 헤더로 열 인덱스를 한 번 확정한 뒤 한 줄씩 열 배열에 디코딩하는 디코더
+     * <p>
+     * 값 변환 규칙은 기존 loadCSVDataForDate 와 같다.
+     * 타임스탬프는 정수(소수점이 있으면 소수부 절삭), 빈 값은 0,
+     * 숫자가 아닌 값은 0 (기존에는 문자열로 저장된 뒤 IMU 처리에서 0 으로 취급됨).
+     * 열 개수가 헤더와 다르거나 타임스탬프를 파싱할 수 없는 행은 건너뛴다.
+     */
+    public static final class Decoder {
+        private final String[] columns;
+        private final int[] target;
+        private final int timestampColumn;
+        private final int headerLength;
+        private long[] timestamps;
+        private double[][] values;
+        private int size;
+
+        public Decoder(String headerLine) {
+            this(headerLine.split(","));
+        }
+
+        public Decoder(String[] header) {
+            headerLength = header.length;
+            target = new int[header.length];
+            int timestampAt = -1;
+            int count = 0;
+            for (int i = 0; i < header.length; i++) {
+                if (TIMESTAMP.equals(header[i]) && timestampAt < 0) {
+                    timestampAt = i;
+                    target[i] = -1;
+                } else {
+                    target[i] = count++;
+                }
+            }
+            timestampColumn = timestampAt;
+            columns = new String[count];
+            for (int i = 0; i < header.length; i++) {
+                if (target[i] >= 0) {
+                    columns[target[i]] = header[i];
+                }
+            }
+            timestamps = new long[1024];
+            values = new double[count][1024];
+        }
+
+        /**
+         * 커서의 현재 행 디코딩 (문자열 분할 없이 열별로 바로 변환)
+         * @return 추가되었으면 true, 형식 오류로 건너뛰었으면 false
+         */
+        public boolean add(CsvCursor row) {
+            if (row.fieldCount() != headerLength) {
+                return false;
+            }
+            long timestamp = 0L;
+            if (timestampColumn >= 0) {
+                try {
+                    timestamp = row.getTimestamp(timestampColumn);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+
+            ensureCapacity(size + 1);
+            timestamps[size] = timestamp;
+            for (int i = 0; i < headerLength; i++) {
+                int c = target[i];
+                if (c >= 0) {
+                    values[c][size] = parseValue(row, i);
+                }
+            }
+            size++;
+            return true;
+        }
+
+        /** 지금까지 디코딩한 행 수 */
+        public int size() {
+            return size;
+        }
+
+        /** 마지막으로 추가한 행의 타임스탬프 (행이 없으면 Long.MIN_VALUE) */
+        public long lastTimestamp() {
+            return size > 0 ? timestamps[size - 1] : Long.MIN_VALUE;
+        }
+
+        /** 디코딩 결과 프레임 (이후 디코더를 더 사용하면 안 됨) */
+        public IMUFrame build() {
+            return new IMUFrame(columns, timestamps, values, size);
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= timestamps.length) {
+                return;
+            }
+            int capacity = Math.max(required, timestamps.length * 2);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            for (int c = 0; c < values.length; c++) {
+                values[c] = Arrays.copyOf(values[c], capacity);
+            }
+        }
+
+        private static double parseValue(CsvCursor row, int column) {
+            if (row.isEmpty(column)) {
+                return 0.0;
+            }
+            try {
+                return row.getFloat(column);
+            } catch (NumberFormatException e) {
+                return 0.0;
+            }
+        }
+    }
+}
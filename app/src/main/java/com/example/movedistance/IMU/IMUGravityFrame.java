@@ -0,0 +1,117 @@
+package com.example.movedistance.IMU;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 중력 좌표계 기준 수평/수직 성분 분해 결과 (accel_h, accel_v, jerk_h, jerk_v 공용).
+ * <p>
+ * 기존에는 파생 센서마다 {@link IMUUtils#calculateAngle} 로 theta = acos(g·l / |g||l|) 를 구한 뒤
+ * |l|·cos(theta), |l|·sin(theta) 를 계산했다. 여기서는 내적 투영으로 한 번에 구한다.
+ * <pre>
+ *   c = g·l / (|g||l|)  ([-1, 1] 로 클램프, 분모가 0 이면 0)
+ *   수평 = |l| · c
+ *   수직 = |l| · sqrt(1 - c²)
+ * </pre>
+ * 삼각함수 호출이 없고 1분치 데이터에 대해 한 번만 계산된다.
+ * NaN 은 기존과 같이 0 으로 취급한다. 결과 배열은 여러 센서가 공유하므로 읽기 전용으로 다뤄야 한다.
+ */
+public final class IMUGravityFrame {
+    private final IMUWindowBuffer source;
+    private final int numChannels;
+    private final IMUWindowBuffer horizontal;
+    private final IMUWindowBuffer vertical;
+    private Map<String, double[][]> horizontalJerk;
+    private Map<String, double[][]> verticalJerk;
+
+    private IMUGravityFrame(IMUWindowBuffer source, int numChannels, IMUWindowBuffer horizontal, IMUWindowBuffer vertical) {
+        this.source = source;
+        this.numChannels = numChannels;
+        this.horizontal = horizontal;
+        this.vertical = vertical;
+    }
+
+    /**
+     * 수평/수직 성분 계산
+     * @param sensor 선형 가속도 데이터
+     * @param numChannels 사용할 채널 수 (3 미만이면 x 축만 사용, processingImu 와 동일)
+     * @param gravity 중력 벡터 데이터 (3채널)
+     */
+    public static IMUGravityFrame compute(IMUWindowBuffer sensor, int numChannels, IMUWindowBuffer gravity) {
+        int length = sensor.windows() * sensor.windowSize();
+        IMUWindowBuffer horizontal = IMUWindowBuffer.allocate(sensor.windows(), sensor.windowSize(), 1);
+        IMUWindowBuffer vertical = IMUWindowBuffer.allocate(sensor.windows(), sensor.windowSize(), 1);
+        double[] h = horizontal.channel(0);
+        double[] v = vertical.channel(0);
+
+        double[] sx = sensor.channel(0);
+        double[] sy = numChannels >= 3 ? sensor.channel(1) : null;
+        double[] sz = numChannels >= 3 ? sensor.channel(2) : null;
+        double[] gxs = gravity.channel(0);
+        double[] gys = gravity.channel(1);
+        double[] gzs = gravity.channel(2);
+
+        for (int k = 0; k < length; k++) {
+            double lx = zeroIfNaN(sx[k]);
+            double ly = sy != null ? zeroIfNaN(sy[k]) : 0.0;
+            double lz = sz != null ? zeroIfNaN(sz[k]) : 0.0;
+            double gx = zeroIfNaN(gxs[k]);
+            double gy = zeroIfNaN(gys[k]);
+            double gz = zeroIfNaN(gzs[k]);
+
+            double dotProduct = gx * lx + gy * ly + gz * lz;
+            double magnitudeG = Math.sqrt(gx * gx + gy * gy + gz * gz);
+            double magnitudeL = Math.sqrt(lx * lx + ly * ly + lz * lz);
+            double denominator = magnitudeG * magnitudeL;
+
+            // 분모가 0 이면 기존 acos(0) = π/2 와 같이 c = 0
+            double c = denominator == 0 ? 0.0 : dotProduct / denominator;
+            // 반올림 오차로 |c| > 1 이 되는 경우 (기존 acos 는 NaN)
+            c = Math.max(-1.0, Math.min(1.0, c));
+
+            h[k] = magnitudeL * c;
+            v[k] = magnitudeL * Math.sqrt(1 - c * c);
+        }
+        return new IMUGravityFrame(sensor, numChannels, horizontal, vertical);
+    }
+
+    /**
+     * 같은 입력으로 계산된 frame 이면 그대로, 아니면 새로 계산
+     */
+    static IMUGravityFrame resolve(IMUGravityFrame frame, IMUWindowBuffer sensor, int numChannels, IMUWindowBuffer gravity) {
+        if (frame != null && frame.source == sensor && frame.numChannels == numChannels) {
+            return frame;
+        }
+        return compute(sensor, numChannels, gravity);
+    }
+
+    /** 수평 성분 (1채널) */
+    public IMUWindowBuffer horizontal() {
+        return horizontal;
+    }
+
+    /** 수직 성분 (1채널) */
+    public IMUWindowBuffer vertical() {
+        return vertical;
+    }
+
+    /** 수평 성분의 Jerk ({@link IMUUtils#diff} 결과, 처음 요청 시 한 번 계산) */
+    public synchronized Map<String, double[][]> horizontalJerk() {
+        if (horizontalJerk == null) {
+            horizontalJerk = Collections.unmodifiableMap(IMUUtils.diff(horizontal, 0));
+        }
+        return horizontalJerk;
+    }
+
+    /** 수직 성분의 Jerk ({@link IMUUtils#diff} 결과, 처음 요청 시 한 번 계산) */
+    public synchronized Map<String, double[][]> verticalJerk() {
+        if (verticalJerk == null) {
+            verticalJerk = Collections.unmodifiableMap(IMUUtils.diff(vertical, 0));
+        }
+        return verticalJerk;
+    }
+
+    private static double zeroIfNaN(double value) {
+        return Double.isNaN(value) ? 0.0 : value;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.movedistance.IMU;
+
+/**
+ * 센서 데이터 처리 방식 (IMUConfig 의 "rotate" / "horizontal" / "vertical" 문자열에 대응)
+ */
+public enum IMUProcessType {
+    /** 처리 없이 원본 축의 크기 사용 */
+    NONE(null),
+    /** 회전 벡터(쿼터니언)로 축 회전 후 크기 사용 */
+    ROTATE("rotate"),
+    /** 중력 방향에 수직인 성분 */
+    HORIZONTAL("horizontal"),
+    /** 중력 방향 성분 */
+    VERTICAL("vertical");
+
+    private final String configName;
+
+    IMUProcessType(String configName) {
+        this.configName = configName;
+    }
+
+    /** IMUConfig 에서 쓰는 이름 (NONE 은 null) */
+    public String configName() {
+        return configName;
+    }
+
+    /** 회전 벡터 데이터가 필요한지 */
+    public boolean usesRotation() {
+        return this == ROTATE;
+    }
+
+    /** 중력 좌표계 분해({@link IMUGravityFrame})가 필요한지 */
+    public boolean usesGravityFrame() {
+        return this == HORIZONTAL || this == VERTICAL;
+    }
+
+    /**
+     * 설정 문자열을 처리 방식으로 변환 (null 이나 알 수 없는 값은 기존과 같이 NONE)
+     */
+    public static IMUProcessType fromConfigName(String name) {
+        if (name != null) {
+            for (IMUProcessType type : values()) {
+                if (name.equals(type.configName)) {
+                    return type;
+                }
+            }
+        }
+        return NONE;
+    }
+}
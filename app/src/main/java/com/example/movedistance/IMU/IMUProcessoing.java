@@ -19,126 +19,171 @@ public class IMUProcessoing {
             double[][][] gravity, 
             String prefix) 
         {
-        //System.out.println("Starting :" + prefix);
         if (sensor == null || sensor.length == 0) {
             System.err.println("⚠ Warning: " + prefix + " 센서 데이터가 비어 있습니다.");
             return new HashMap<>();  // ✅ 빈 배열 반환
         }
+        return processingImu(
+                IMUWindowBuffer.fromCube(sensor),
+                numChannels,
+                statFeatures,
+                spectralFeatures,
+                process,
+                processEachAxis,
+                calculateJerk,
+                rotation != null ? IMUWindowBuffer.fromCube(rotation) : null,
+                gravity != null ? IMUWindowBuffer.fromCube(gravity) : null,
+                null,
+                prefix);
+    }
 
-        int rows = sensor.length;
-        int cols = sensor[0].length;
-
-        if (cols == 0) {
-            System.err.println("⚠ Warning: " + prefix + " 데이터 크기가 잘못되었습니다.");
+    /**
+     * {@link IMUWindowBuffer} 입력 버전 (채널 배열을 복사 없이 바로 사용)
+     * <p>
+     * gravityFrame 이 같은 입력으로 미리 계산되어 있으면 horizontal / vertical 처리에 재사용
+     * (없거나 입력이 다르면 이 함수 안에서 계산).
+     * rotation 버퍼의 채널 0..3 은 회전 커널에서 (w, x, y, z) 로 사용된다.
+     */
+    public static Map<String, double[][]> processingImu(
+            IMUWindowBuffer sensor,
+            int numChannels,
+            boolean statFeatures,
+            boolean spectralFeatures,
+            String process,
+            boolean processEachAxis,
+            boolean calculateJerk,
+            IMUWindowBuffer rotation,
+            IMUWindowBuffer gravity,
+            IMUGravityFrame gravityFrame,
+            String prefix)
+        {
+        if (sensor == null || sensor.windows() == 0) {
+            System.err.println("⚠ Warning: " + prefix + " 센서 데이터가 비어 있습니다.");
             return new HashMap<>();  // ✅ 빈 배열 반환
         }
-        
-        double[][] x = new double[rows][cols];
-        double[][] y = new double[rows][cols];
-        double[][] z = new double[rows][cols];
-
-        //System.out.println("Debug: processingImu() called with input size: " + rows + "x" + cols);
-
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                x[i][j] = sensor[i][j][0];
-                if (numChannels >= 3) {
-                    y[i][j] = sensor[i][j][1];
-                    z[i][j] = sensor[i][j][2];
-                }
-            }
+
+        IMUProcessType processType = IMUProcessType.fromConfigName(process);
+        if (processType.usesGravityFrame()) {
+            gravityFrame = IMUGravityFrame.resolve(gravityFrame, sensor, numChannels, gravity);
+        }
+        IMUFeatureMap sink = new IMUFeatureMap(sensor.windows());
+        processingImu(sensor, numChannels, statFeatures, spectralFeatures, processType,
+                processEachAxis, rotation, gravityFrame, prefix, sink);
+        Map<String, double[][]> features = sink.toMap();
+
+        // ✅ Jerk 데이터를 최종 피처셋에 추가 (수평/수직 처리에서만 계산됨)
+        if (calculateJerk && processType.usesGravityFrame()) {
+            Map<String, double[][]> jerk = processType == IMUProcessType.HORIZONTAL
+                    ? gravityFrame.horizontalJerk() : gravityFrame.verticalJerk();
+            features = concatenateArrays(features, jerk);
+           // System.out.println("Debug: Jerk Features Added");
+        }
+        return features;
+    }
+
+    /**
+     * 특징을 sink 의 정수 열 인덱스로 바로 기록하는 버전
+     * <p>
+     * Jerk 결과는 행마다 (윈도우 크기 - 1) 개 값을 갖는 배열이라 열 하나짜리 특징 블록에 들어가지 않으므로
+     * 여기서는 계산하지 않는다 (Map 버전에서만 병합).
+     * @param gravityFrame horizontal / vertical 처리에 사용할 중력 좌표계 분해 (sensor 와 numChannels 로 계산된 것)
+     */
+    static void processingImu(
+            IMUWindowBuffer sensor,
+            int numChannels,
+            boolean statFeatures,
+            boolean spectralFeatures,
+            IMUProcessType process,
+            boolean processEachAxis,
+            IMUWindowBuffer rotation,
+            IMUGravityFrame gravityFrame,
+            String prefix,
+            IMUFeatureSink sink)
+        {
+        //System.out.println("Starting :" + prefix);
+        if (sensor == null || sensor.windows() == 0) {
+            System.err.println("⚠ Warning: " + prefix + " 센서 데이터가 비어 있습니다.");
+            return;
         }
 
-        double[][] magnitude;
-        Map<String, double[][]> jerk = null;
+        int rows = sensor.windows();
+        int cols = sensor.windowSize();
 
-        //System.out.println("Debug: Processing type - " + process);
+        if (cols == 0) {
+            System.err.println("⚠ Warning: " + prefix + " 데이터 크기가 잘못되었습니다.");
+            return;
+        }
 
-        if ("rotate".equals(process)) {
-            //System.out.println("Debug: Applying rotation transformation...");
-            double[][][] rotated = IMUUtils.rotateAxis(x, y, z, rotation);
-            x = rotated[0];
-            y = rotated[1];
-            z = rotated[2];
-            magnitude = IMUFeatureExtractor.magnitude(x, y, z);
-        } else if ("horizontal".equals(process)) {
-            //System.out.println("Debug: Calculating horizontal component...");
-            double[][] theta = IMUUtils.calculateAngle(x, y, z, gravity);
-            magnitude = IMUFeatureExtractor.magnitude(x, y, z);
-            for (int i = 0; i < rows; i++) {
-                for (int j = 0; j < cols; j++) {
-                    magnitude[i][j] *= Math.cos(theta[i][j]);
-                }
-            }
-            if(calculateJerk){
-                //System.out.println("Debug: Calculating Jerk...");
-                jerk = IMUUtils.diff(magnitude);
-            }
-        } else if ("vertical".equals(process)) {
-            //System.out.println("Debug: Calculating vertical component...");
-            double[][] theta = IMUUtils.calculateAngle(x, y, z, gravity);
-            magnitude = IMUFeatureExtractor.magnitude(x, y, z);
-            for (int i = 0; i < rows; i++) {
-                for (int j = 0; j < cols; j++) {
-                    magnitude[i][j] *= Math.sin(theta[i][j]);
-                }
-            }
-            if(calculateJerk){
-                //System.out.println("Debug: Calculating Jerk...");
-                jerk = IMUUtils.diff(magnitude);
-            }
+        // ✅ 채널 배열을 그대로 사용 (y, z 는 3채널 이상일 때만, 아니면 0)
+        int length = rows * cols;
+        double[] x = sensor.channel(0);
+        double[] y;
+        double[] z;
+        if (numChannels >= 3) {
+            y = sensor.channel(1);
+            z = sensor.channel(2);
         } else {
-            //System.out.println("Debug: No processing applied, using raw magnitude...");
-            magnitude = IMUFeatureExtractor.magnitude(x, y, z);
+            y = new double[length];
+            z = y;
         }
 
-        //System.out.println("Debug: Magnitude computation completed.");
+        IMUWindowBuffer magnitude;
 
-        Map<String, double[][]> features ;
-        Map<String, double[][]> statFeaturesData = null;
-        Map<String, double[][]> spectralFeaturesData = null;
+        //System.out.println("Debug: Processing type - " + process);
 
-        if (statFeatures) {
-            System.out.println("Debug: Extracting statistical features...");
-            statFeaturesData = IMUFeatureExtractor.calculateStatFeatures(magnitude, prefix + "M");
-            if (processEachAxis && numChannels > 1) {
-                Map<String, double[][]> statFeaturesX = IMUFeatureExtractor.calculateStatFeatures(x, prefix + "X");
-                Map<String, double[][]> statFeaturesY = IMUFeatureExtractor.calculateStatFeatures(y, prefix + "Y");
-                Map<String, double[][]> statFeaturesZ = IMUFeatureExtractor.calculateStatFeatures(z, prefix + "Z");
-                statFeaturesData = concatenateArrays(statFeaturesData, statFeaturesX, statFeaturesY, statFeaturesZ);
+        switch (process) {
+            case ROTATE: {
+                //System.out.println("Debug: Applying rotation transformation...");
+                // ✅ 입력 버퍼는 다른 센서와 공유되므로 새 배열에 회전 결과 기록
+                double[] rx = new double[length];
+                double[] ry = new double[length];
+                double[] rz = new double[length];
+                IMUUtils.rotateAxis(rotation.channel(0), rotation.channel(1), rotation.channel(2), rotation.channel(3),
+                        x, y, z, 0, length, rx, ry, rz);
+                x = rx;
+                y = ry;
+                z = rz;
+                magnitude = IMUWindowBuffer.allocate(rows, cols, 1);
+                IMUFeatureExtractor.magnitude(x, y, z, 0, length, magnitude.channel(0));
+                break;
             }
+            case HORIZONTAL:
+                //System.out.println("Debug: Calculating horizontal component...");
+                magnitude = gravityFrame.horizontal();
+                break;
+            case VERTICAL:
+                //System.out.println("Debug: Calculating vertical component...");
+                magnitude = gravityFrame.vertical();
+                break;
+            case NONE:
+            default:
+                //System.out.println("Debug: No processing applied, using raw magnitude...");
+                magnitude = IMUWindowBuffer.allocate(rows, cols, 1);
+                IMUFeatureExtractor.magnitude(x, y, z, 0, length, magnitude.channel(0));
+                break;
         }
 
-        if (spectralFeatures) {
-            //System.out.println("Debug: Extracting spectral features...");
-            spectralFeaturesData = IMUFeatureExtractor.calculateSpectralFeatures(magnitude, prefix + "M");
+        //System.out.println("Debug: Magnitude computation completed.");
+
+        if (statFeatures || spectralFeatures) {
+            //System.out.println("Debug: Extracting features...");
+            // ✅ 행 단위 분석 컨텍스트를 공유하여 통계/주파수 특징을 한 번에 계산
             if (processEachAxis && numChannels > 1) {
-                Map<String, double[][]> spectralFeaturesX = IMUFeatureExtractor.calculateSpectralFeatures(x, prefix + "X");
-                Map<String, double[][]> spectralFeaturesY = IMUFeatureExtractor.calculateSpectralFeatures(y, prefix + "Y");
-                Map<String, double[][]> spectralFeaturesZ = IMUFeatureExtractor.calculateSpectralFeatures(z, prefix + "Z");
-                spectralFeaturesData = concatenateArrays(spectralFeaturesData, spectralFeaturesX, spectralFeaturesY, spectralFeaturesZ);
+                IMUFeatureExtractor.calculateFeatures(
+                        IMUWindowBuffer.wrap(rows, cols, magnitude.channel(0), x, y, z),
+                        new String[]{prefix + "M", prefix + "X", prefix + "Y", prefix + "Z"},
+                        statFeatures,
+                        spectralFeatures,
+                        sink);
+            } else {
+                IMUFeatureExtractor.calculateFeatures(
+                        magnitude,
+                        new String[]{prefix + "M"},
+                        statFeatures,
+                        spectralFeatures,
+                        sink);
             }
         }
-
-        if (statFeatures && spectralFeatures) {
-            features = concatenateArrays(statFeaturesData, spectralFeaturesData);
-            //System.out.println("Debug: Statistical and Spectral Features Returned");
-        } else if (statFeatures) {
-            features = statFeaturesData;
-            //System.out.println("Debug: Statistical Features Returned");
-        } else if (spectralFeatures) {
-            features = spectralFeaturesData;
-            //System.out.println("Debug: Spectral Features Returned");
-        } else {
-            features = new HashMap<>();  // ✅ 모든 데이터가 없을 경우 빈 배열 반환
-        }
-        
-        // ✅ Jerk 데이터를 최종 피처셋에 추가
-        if (calculateJerk) {
-            features = concatenateArrays(features, jerk);
-           // System.out.println("Debug: Jerk Features Added");
-        }
-        return features;
     }
 
     /**
@@ -1,406 +1,238 @@
 package com.example.movedistance.IMU;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 public class IMUProcessor {
+    private static volatile Map<String, Long> lastSensorTimings = Collections.emptyMap();
+    private static volatile IMUResampler resampler = IMUResampler.sampleAndHold();
+
     public static List<Map<String, Object>> preImu(List<Map<String, Object>> imu) {
         if (imu == null || imu.isEmpty()) {
             throw new IllegalArgumentException("⚠ IMU 데이터가 비어 있습니다! CSV 파일을 확인하세요.");
         }
+        return preImu(IMUFrame.fromRows(imu));
+    }
 
-        // ✅ 센서 목록 정렬
-        List<String> sensors = Arrays.asList("gyro", "accel", "mag", "rot", "pressure", "gravity", "linear_accel");
-
-        List<String> enabledSensors = Arrays.asList("gyro", "accel", "linear_accel", "accel_h", "accel_v", "jerk_h",
-                "jerk_v", "mag", "gravity", "pressure");
-
-        Map<String, Integer> channels = new HashMap<>();
-
-        for (String sensor : sensors) {
-            channels.put(sensor, getSensorChannelCount(sensor));
-        }
-        imu = extendIMUDataByTimestamp(imu);
-        Collections.sort(sensors);
-
-        // ✅ 센서 데이터 초기화
-        Map<String, double[][][]> dfs = new HashMap<>();
-        for (String sensor : sensors) {
-            dfs.put(sensor, null);
-        }
-
-        // ✅ 센서별 데이터 분할 및 변환
-        for (String sensor : sensors) {
-            String usingSensorData = IMUConfig.getUsingSensorData(sensor);
-            if (usingSensorData == null) {
-                usingSensorData = sensor; // 기본적으로 자신을 사용
-            }
-            double[][] cutData = cutImu(usingSensorData, channels.get(usingSensorData), imu);
-            int cols = cutData[0].length;
-            //System.out.println("Debug: " + sensor + " to "+ usingSensorData +" has " + cols + " columns");
-
-            // 3D 배열 변환 (-1, 100, cols)
-
-            double[][][] reshapedData = reshapeData(cutData, cols);
-            dfs.put(sensor, reshapedData);
-        }
-
-        // ✅ 최종 데이터 병합 준비 (타임스탬프 추가)
-        Map<String, Object> calcDfs = new HashMap<>();
-        calcDfs.putAll(getUniqueTimestamps(imu));
-
-        // ✅ `processingImu()` 호출하여 데이터 전처리 수행
-        for (String sensor : enabledSensors) {
-            int numChannels = IMUConfig.getSensorChannels(sensor);
-            boolean configStatFeatures = IMUConfig.isStatFeaturesEnabled(sensor);  // ✅ 변수명 변경
-            boolean configSpectralFeatures = IMUConfig.isSpectralFeaturesEnabled(sensor);
-            boolean configProcessEachAxis = IMUConfig.isProcessEachAxis(sensor);
-            boolean configCalculateJerk = IMUConfig.isCalculateJerkEnabled(sensor);
-            String configProcess = IMUConfig.getProcessType(sensor);
-
-            Map<String, double[][]> processed = IMUProcessoing.processingImu(
-                    dfs.get(IMUConfig.getUsingSensorData(sensor)),
-                    numChannels,
-                    configStatFeatures,
-                    configSpectralFeatures,
-                    configProcess,
-                    configProcessEachAxis,
-                    configCalculateJerk,
-                    dfs.get("rot"),
-                    dfs.get("gravity"),
-                    sensor
-            );
-            calcDfs.putAll(processed);
+    /**
+     * 열 단위 프레임 입력 버전 (CSV 를 {@link IMUFrame.Decoder} 로 바로 읽은 경우)
+     * 행마다 timestamp 다음에 {@link IMUFeatureSchema#DEFAULT} 순서로 특징이 들어간다.
+     */
+    public static List<Map<String, Object>> preImu(IMUFrame imu) {
+        if (imu == null || imu.size() == 0) {
+            throw new IllegalArgumentException("⚠ IMU 데이터가 비어 있습니다! CSV 파일을 확인하세요.");
         }
+        // ✅ 초당 100 샘플로 리샘플링 (타임스탬프 오름차순, 결정적)
+        IMUResampler.Plan plan = resampler.plan(imu.timestamps(), imu.size());
+        IMUFeatureMap features = new IMUFeatureMap(plan.windows());
+        extractFeatures(imu, plan, IMUConfig.getExecutionPlan(), features);
 
         // ✅ 최종 데이터 병합 후 반환
-        return processData(concatenateAll(calcDfs));
+        return toRows(plan.timestamps(), features.toMap());
     }
 
-    public static List<Map<String, Object>> extendIMUDataByTimestamp(List<Map<String, Object>> imuData) {
-        // 그룹화된 데이터 저장
-        Map<Long, List<Map<String, Object>>> groupedByTimestamp = new HashMap<>();
+    /**
+     * 특징을 모델 입력 블록에 바로 기록하는 버전 (Map / List 변환 없음)
+     * <p>
+     * 윈도우(초) i 의 특징은 out 의 행 i 에 {@link IMUFeatureSchema} 열 순서로 기록된다.
+     * out.rows() 를 넘는 윈도우는 계산하지 않는다.
+     * @return 기록된 행 수 (min(윈도우 수, out.rows()))
+     */
+    public static int preImu(IMUFrame imu, IMUFeatureBlock out) {
+        return preImu(imu, out, IMUFeatureProfile.FULL);
+    }
 
-        // 각 행을 timestamp 기준으로 그룹화
-        for (Map<String, Object> entry : imuData) {
-            long timestamp = getFirstValueAsLong(entry.get("timestamp"));
-            groupedByTimestamp.computeIfAbsent(timestamp, k -> new ArrayList<>()).add(entry);
+    /**
+     * 프로파일의 실행 계획으로 특징을 계산하여 out 에 기록
+     * (out 은 {@link IMUFeatureProfile#schema()} 로 만든 블록이어야 모델 입력 순서와 맞음)
+     * @return 기록된 행 수 (min(윈도우 수, out.rows()))
+     */
+    public static int preImu(IMUFrame imu, IMUFeatureBlock out, IMUFeatureProfile profile) {
+        if (imu == null || imu.size() == 0) {
+            throw new IllegalArgumentException("⚠ IMU 데이터가 비어 있습니다! CSV 파일을 확인하세요.");
         }
+        IMUResampler.Plan plan = resampler.plan(imu.timestamps(), imu.size());
+        extractFeatures(imu, plan, profile.plan(), out);
+        return Math.min(plan.windows(), out.rows());
+    }
 
-        List<Map<String, Object>> extendedData = new ArrayList<>();
-
-        // 각 그룹에 대해 100개가 될 때까지 복제
-        for (Map.Entry<Long, List<Map<String, Object>>> entry : groupedByTimestamp.entrySet()) {
-            List<Map<String, Object>> group = entry.getValue();
-            while (group.size() < 100) {
-                // 랜덤하게 복제
-                int randomIndex = new Random().nextInt(group.size());
-                Map<String, Object> clonedEntry = new HashMap<>(group.get(randomIndex));
-                group.add(clonedEntry);
+    /** 리샘플링 계획에 따라 실행 계획을 실행하여 센서별 특징을 sink 에 기록 */
+    private static void extractFeatures(IMUFrame imu, IMUResampler.Plan plan, IMUExecutionPlan execution,
+                                        IMUFeatureSink sink) {
+        // ✅ 1단계: 사용되는 원본 센서만 윈도우(100 샘플) 단위 채널 버퍼로 변환
+        List<IMUExecutionPlan.Source> sources = execution.sources();
+        IMUWindowBuffer[] dfs = new IMUWindowBuffer[sources.size()];
+        for (int i = 0; i < dfs.length; i++) {
+            IMUExecutionPlan.Source source = sources.get(i);
+            dfs[i] = cutImu(source.name(), source.channels(), imu, plan);
+        }
+        IMUWindowBuffer rotation = execution.rotationSource() >= 0 ? dfs[execution.rotationSource()] : null;
+        IMUWindowBuffer gravity = execution.gravitySource() >= 0 ? dfs[execution.gravitySource()] : null;
+
+        // ✅ 2단계: accel_h / accel_v / jerk_h / jerk_v 가 공유하는 수평/수직 성분을 한 번만 계산
+        List<IMUExecutionPlan.Frame> frameSpecs = execution.frames();
+        IMUGravityFrame[] frames = new IMUGravityFrame[frameSpecs.size()];
+        if (plan.windows() > 0) {
+            for (int f = 0; f < frames.length; f++) {
+                IMUExecutionPlan.Frame spec = frameSpecs.get(f);
+                frames[f] = IMUGravityFrame.compute(dfs[spec.source()], spec.channels(), gravity);
             }
-            extendedData.addAll(group);
         }
 
-        return extendedData;
+        // ✅ 3단계: `processingImu()` 호출하여 데이터 전처리 수행
+        // 센서별 파이프라인은 읽기 전용 버퍼만 참조하고 서로 다른 열에 기록하므로 병렬로 실행
+        List<IMUExecutionPlan.Sensor> sensors = execution.sensors();
+        Future<?>[] futures = new Future<?>[sensors.size()];
+        long[] timings = new long[sensors.size()];
+        for (int s = 0; s < futures.length; s++) {
+            IMUExecutionPlan.Sensor sensor = sensors.get(s);
+            IMUWindowBuffer data = dfs[sensor.source()];
+            IMUGravityFrame frame = sensor.frame() >= 0 ? frames[sensor.frame()] : null;
+            int index = s;
+            Runnable task = () -> {
+                long start = System.nanoTime();
+                IMUProcessoing.processingImu(
+                        data,
+                        sensor.channels(),
+                        sensor.statFeatures(),
+                        sensor.spectralFeatures(),
+                        sensor.processType(),
+                        sensor.processEachAxis(),
+                        rotation,
+                        frame,
+                        sensor.name(),
+                        sink);
+                timings[index] = System.nanoTime() - start;
+            };
+            Future<?> future = null;
+            if (IMUExecutors.shouldParallelizeSensors()) {
+                try {
+                    future = IMUExecutors.sensorExecutor().submit(task);
+                } catch (RejectedExecutionException e) {
+                    // 병렬도 변경으로 풀이 종료된 경우 현재 스레드에서 실행
+                }
+            }
+            if (future == null) {
+                FutureTask<Void> inline = new FutureTask<>(task, null);
+                inline.run();
+                future = inline;
+            }
+            futures[s] = future;
+        }
+        // Future.get() 이후에는 작업 스레드가 기록한 timings 값이 보인다
+        Map<String, Long> orderedTimings = new LinkedHashMap<>();
+        for (int s = 0; s < futures.length; s++) {
+            String name = sensors.get(s).name();
+            awaitSensor(name, futures[s]);
+            orderedTimings.put(name, timings[s]);
+        }
+        lastSensorTimings = Collections.unmodifiableMap(orderedTimings);
     }
 
-    public static List<Map<String, Object>> processData(Map<String, Object> dataMap) {
-        List<Map<String, Object>> resultList = new ArrayList<>();
-
-        int numRows = dataMap.isEmpty() ? 0 : ((double[][]) dataMap.values().iterator().next()).length;
+    /**
+     * 특징 맵을 행 목록으로 변환 (행마다 timestamp 다음 스키마 순서, 계산된 특징만 포함)
+     */
+    private static List<Map<String, Object>> toRows(long[] timestamps, Map<String, double[][]> features) {
+        IMUFeatureSchema schema = IMUFeatureSchema.DEFAULT;
+        double[][][] columns = new double[schema.size()][][];
+        for (int c = 0; c < schema.size(); c++) {
+            columns[c] = features.get(schema.header(c));
+        }
 
-        for (int rowIndex = 0; rowIndex < numRows; rowIndex++) {
+        List<Map<String, Object>> resultList = new ArrayList<>(timestamps.length);
+        for (int rowIndex = 0; rowIndex < timestamps.length; rowIndex++) {
             Map<String, Object> entry = new LinkedHashMap<>();
-
-            for (String header : predefinedHeaders) {
-                if (dataMap.containsKey(header)) {
-                    Object data = dataMap.get(header);
-
-                    if (data instanceof double[][]) {
-                        double[][] doubleData = (double[][]) data;
-                        if (rowIndex < doubleData.length && doubleData[rowIndex].length == 1) {
-                            entry.put(header, doubleData[rowIndex][0]);
-                        }
-                    } else if (data instanceof long[][]) {
-                        long[][] longData = (long[][]) data;
-                        if (rowIndex < longData.length && longData[rowIndex].length == 1) {
-                            entry.put(header, longData[rowIndex][0]);
-                        }
-                    }
+            entry.put(IMUFrame.TIMESTAMP, timestamps[rowIndex]);
+            for (int c = 0; c < columns.length; c++) {
+                if (columns[c] != null) {
+                    entry.put(schema.header(c), columns[c][rowIndex][0]);
                 }
             }
-
             resultList.add(entry);
         }
-
         return resultList;
     }
 
-
     /**
-     * 센서 데이터를 3D 배열로 변환 (-1, 100, cols)
+     * 마지막 preImu 호출의 센서별 처리 시간 (센서 → 나노초, enabledSensors 순서)
      */
-    private static double[][][] reshapeData(double[][] data, int cols) {
-        int numSegments = data.length / 100;
-        double[][][] reshaped = new double[numSegments][100][cols];
-
-        for (int i = 0; i < numSegments; i++) {
-            for (int j = 0; j < 100; j++) {
-                System.arraycopy(data[i * 100 + j], 0, reshaped[i][j], 0, cols);
-            }
-        }
-        return reshaped;
+    public static Map<String, Long> getLastSensorTimings() {
+        return lastSensorTimings;
     }
+
     /**
-     * 유니크 타임스탬프 데이터 추출
+     * preImu 가 사용할 리샘플링 방식 (기본: sample-and-hold)
      */
-    private static Map<String, long[][]> getUniqueTimestamps(List<Map<String, Object>> imu) {
-        Set<Long> timestamps = new TreeSet<>();
-
-        // imu 리스트를 순회하면서 "timestamp" 데이터를 추출
-        for (Map<String, Object> imuEntry : imu) {
-            if (imuEntry.containsKey("timestamp")) {
-                long time = getFirstValueAsLong(imuEntry.get("timestamp"));
-                timestamps.add(time);
-            }
-        }
-
-        // TreeSet을 2D 배열로 변환
-        long[][] timestampArray = new long[timestamps.size()][1];
-        int index = 0;
-        for (Long time : timestamps) {
-            timestampArray[index++][0] = time;
+    public static void setResampler(IMUResampler value) {
+        if (value == null) {
+            throw new IllegalArgumentException("⚠ resampler 가 null 입니다.");
         }
+        resampler = value;
+    }
 
-        // 고유한 타임스탬프를 결과 맵에 저장
-        Map<String, long[][]> result = new HashMap<>();
-        result.put("timestamp", timestampArray);
-
-        return result;
+    public static IMUResampler getResampler() {
+        return resampler;
     }
 
-    // getFirstValueAsLong method to handle Long values
-    private static long getFirstValueAsLong(Object obj) {
-        if (obj instanceof List) {
-            List<?> list = (List<?>) obj;
-            if (!list.isEmpty() && list.get(0) instanceof Number) {
-                return ((Number) list.get(0)).longValue();
+    /** 센서 작업 완료 대기 (실패 시 원래 예외를 그대로 전달) */
+    private static void awaitSensor(String sensor, Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("⚠ " + sensor + " 처리 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
             }
-        } else if (obj instanceof Number) {
-            return ((Number) obj).longValue();
+            throw new IllegalStateException("⚠ " + sensor + " 처리 실패", cause);
         }
-        return 0L;
     }
 
 
     /**
      * 센서 데이터를 잘라서 반환 (Python의 cut_imu() 변환)
+     * 프레임의 열 배열을 그대로 리샘플링 계획에 따라 초당 100 샘플 버퍼로 채운다.
+     * 없는 축 열은 건너뛰고 다음 축을 앞 채널에 채운다 (기존 행 단위 처리와 동일, W 축은 마지막 채널).
      */
-    private static double[][] cutImu(String sensor, int numChannels, List<Map<String, Object>> imu) {
-        // 데이터를 저장할 리스트
-        List<double[]> dataList = new ArrayList<>();
+    private static IMUWindowBuffer cutImu(String sensor, int numChannels, IMUFrame imu, IMUResampler.Plan plan) {
+        IMUWindowBuffer buffer = IMUWindowBuffer.allocate(plan.windows(), IMUWindowBuffer.WINDOW_SIZE, numChannels);
+        int col = 0;
 
-        // imu 리스트를 순회하며 데이터를 추출
-        for (Map<String, Object> imuEntry : imu) {
-            double[] row = new double[numChannels];
-            int col = 0;
-
-            // X축 데이터
-            if (imuEntry.containsKey(sensor + ".x")) {
-                row[col++] = getFirstValue(imuEntry.get(sensor + ".x"));
-            }
-
-            // Y축 데이터 (필요한 경우)
-            if (numChannels > 1 && imuEntry.containsKey(sensor + ".y")) {
-                row[col++] = getFirstValue(imuEntry.get(sensor + ".y"));
-            }
-
-            // Z축 데이터 (필요한 경우)
-            if (numChannels > 2 && imuEntry.containsKey(sensor + ".z")) {
-                row[col++] = getFirstValue(imuEntry.get(sensor + ".z"));
-            }
-
-            // W축 데이터 (필요한 경우)
-            if (numChannels > 3 && imuEntry.containsKey(sensor + ".w")) {
-                row[col] = getFirstValue(imuEntry.get(sensor + ".w"));
-            }
-
-            // 리스트에 추가
-            dataList.add(row);
+        // X축 데이터
+        double[] x = imu.column(sensor + ".x");
+        if (x != null) {
+            plan.apply(x, buffer.channel(col++));
         }
 
-        // 리스트를 2D 배열로 변환
-        return dataList.toArray(new double[0][]);
-    }
-
-    private static double getFirstValue(Object obj) {
-        if (obj instanceof List) {
-            List<?> list = (List<?>) obj;
-            if (!list.isEmpty() && list.get(0) instanceof Number) {
-                return ((Number) list.get(0)).doubleValue();
-            }
-        } else if (obj instanceof Number) {
-            return ((Number) obj).doubleValue();
-        }
-        return 0.0;
-    }
-
-
-
-    /**
-     * ✅ IMU 데이터를 병합하여 하나의 2D 배열로 반환 (row 크기 자동 조정)
-     */
-    private static Map<String, Object> concatenateAll(Map<String, Object> dataMap) {
-        if (dataMap == null || dataMap.isEmpty()) {
-            throw new IllegalArgumentException("⚠ Error: 데이터 맵이 비어 있습니다.");
+        // Y축 데이터 (필요한 경우)
+        double[] y = numChannels > 1 ? imu.column(sensor + ".y") : null;
+        if (y != null) {
+            plan.apply(y, buffer.channel(col++));
         }
 
-        Map<String, Object> sensorDataMap = new HashMap<>();
-
-        for (Map.Entry<String, Object> entry : dataMap.entrySet()) {
-            Object data = entry.getValue();
-            if (data instanceof double[][]) {
-                double[][] doubleData = (double[][]) data;
-                if (doubleData.length == 0) continue;
-
-                int rows = doubleData.length;
-                int cols = doubleData[0].length;
-
-                double[][] newData = new double[rows][cols];
-
-                for (int i = 0; i < rows; i++) {
-                    System.arraycopy(doubleData[i], 0, newData[i], 0, cols);
-                }
-
-                sensorDataMap.put(entry.getKey(), newData);
-            } else if (data instanceof long[][]) {
-                long[][] longData = (long[][]) data;
-                if (longData.length == 0) continue;
-
-                int rows = longData.length;
-                int cols = longData[0].length;
-
-                long[][] newData = new long[rows][cols];
-
-                for (int i = 0; i < rows; i++) {
-                    System.arraycopy(longData[i], 0, newData[i], 0, cols);
-                }
-
-                sensorDataMap.put(entry.getKey(), newData);
-            }
+        // Z축 데이터 (필요한 경우)
+        double[] z = numChannels > 2 ? imu.column(sensor + ".z") : null;
+        if (z != null) {
+            plan.apply(z, buffer.channel(col++));
         }
 
-        return sensorDataMap;
-    }
-
-
-
-
-
-    /**
-     * ✅ 센서별 채널 개수를 반환
-     */
-    private static int getSensorChannelCount(String sensor) {
-        switch (sensor) {
-            case "gyro":
-            case "accel":
-            case "mag":
-            case "gravity":
-            case "linear_accel":
-                return 3;
-            case "rot":
-                return 4;
-            case "pressure":
-                return 1;
-            default:
-                return 0;
+        // W축 데이터 (필요한 경우)
+        double[] w = numChannels > 3 ? imu.column(sensor + ".w") : null;
+        if (w != null) {
+            plan.apply(w, buffer.channel(col));
         }
+        return buffer;
     }
-
-    private static final List<String> predefinedHeaders = Arrays.asList(
-            "timestamp",
-            // ✅ 가속도계 (Accelerometer) 기본 통계
-            "accelM_mean", "accelM_std", "accelM_max", "accelM_min", "accelM_mad", "accelM_iqr",
-            "accelM_max.corr", "accelM_idx.max.corr", "accelM_zcr", "accelM_fzc",
-            "accelX_mean", "accelX_std", "accelX_max", "accelX_min", "accelX_mad", "accelX_iqr",
-            "accelX_max.corr", "accelX_idx.max.corr", "accelX_zcr", "accelX_fzc",
-            "accelY_mean", "accelY_std", "accelY_max", "accelY_min", "accelY_mad", "accelY_iqr",
-            "accelY_max.corr", "accelY_idx.max.corr", "accelY_zcr", "accelY_fzc",
-            "accelZ_mean", "accelZ_std", "accelZ_max", "accelZ_min", "accelZ_mad", "accelZ_iqr",
-            "accelZ_max.corr", "accelZ_idx.max.corr", "accelZ_zcr", "accelZ_fzc",
-            "accelM_max.psd", "accelM_entropy", "accelM_fc", "accelM_kurt", "accelM_skew",
-            // ✅ 가속도계 (Accelerometer) per-axis PSD 및 통계
-            "accelX_max.psd", "accelX_entropy", "accelX_fc", "accelX_kurt", "accelX_skew",
-            "accelY_max.psd", "accelY_entropy", "accelY_fc", "accelY_kurt", "accelY_skew",
-            "accelZ_max.psd", "accelZ_entropy", "accelZ_fc", "accelZ_kurt", "accelZ_skew",
-            // ✅ 가속도계 수평/수직 (Horizontal/Vertical)
-            "accel_hM_mean", "accel_hM_std", "accel_hM_max", "accel_hM_min", "accel_hM_mad", "accel_hM_iqr",
-            "accel_hM_max.corr", "accel_hM_idx.max.corr", "accel_hM_zcr", "accel_hM_fzc",
-            "accel_hM_max.psd", "accel_hM_entropy", "accel_hM_fc", "accel_hM_kurt", "accel_hM_skew",
-            "accel_vM_mean", "accel_vM_std", "accel_vM_max", "accel_vM_min", "accel_vM_mad", "accel_vM_iqr",
-            "accel_vM_max.corr", "accel_vM_idx.max.corr", "accel_vM_zcr", "accel_vM_fzc",
-            "accel_vM_max.psd", "accel_vM_entropy", "accel_vM_fc", "accel_vM_kurt", "accel_vM_skew",
-            // ✅ 중력 센서 (Gravity)
-            "gravityM_mean", "gravityM_std", "gravityM_max", "gravityM_min", "gravityM_mad", "gravityM_iqr",
-            "gravityM_max.corr", "gravityM_idx.max.corr", "gravityM_zcr", "gravityM_fzc",
-            "gravityX_mean", "gravityX_std", "gravityX_max", "gravityX_min", "gravityX_mad", "gravityX_iqr",
-            "gravityX_max.corr", "gravityX_idx.max.corr", "gravityX_zcr", "gravityX_fzc",
-            "gravityY_mean", "gravityY_std", "gravityY_max", "gravityY_min", "gravityY_mad", "gravityY_iqr",
-            "gravityY_max.corr", "gravityY_idx.max.corr", "gravityY_zcr", "gravityY_fzc",
-            "gravityZ_mean", "gravityZ_std", "gravityZ_max", "gravityZ_min", "gravityZ_mad", "gravityZ_iqr",
-            "gravityZ_max.corr", "gravityZ_idx.max.corr", "gravityZ_zcr", "gravityZ_fzc",
-            "gravityM_max.psd", "gravityM_entropy", "gravityM_fc", "gravityM_kurt", "gravityM_skew",
-            "gravityX_max.psd", "gravityX_entropy", "gravityX_fc", "gravityX_kurt", "gravityX_skew",
-            "gravityY_max.psd", "gravityY_entropy", "gravityY_fc", "gravityY_kurt", "gravityY_skew",
-            "gravityZ_max.psd", "gravityZ_entropy", "gravityZ_fc", "gravityZ_kurt", "gravityZ_skew",
-            // ✅ 자이로스코프 (Gyroscope)
-            "gyroM_mean", "gyroM_std", "gyroM_max", "gyroM_min", "gyroM_mad", "gyroM_iqr",
-            "gyroM_max.corr", "gyroM_idx.max.corr", "gyroM_zcr", "gyroM_fzc",
-            "gyroX_mean", "gyroX_std", "gyroX_max", "gyroX_min", "gyroX_mad", "gyroX_iqr",
-            "gyroX_max.corr", "gyroX_idx.max.corr", "gyroX_zcr", "gyroX_fzc",
-            "gyroY_mean", "gyroY_std", "gyroY_max", "gyroY_min", "gyroY_mad", "gyroY_iqr",
-            "gyroY_max.corr", "gyroY_idx.max.corr", "gyroY_zcr", "gyroY_fzc",
-            "gyroZ_mean", "gyroZ_std", "gyroZ_max", "gyroZ_min", "gyroZ_mad", "gyroZ_iqr",
-            "gyroZ_max.corr", "gyroZ_idx.max.corr", "gyroZ_zcr", "gyroZ_fzc",
-            "gyroM_max.psd", "gyroM_entropy", "gyroM_fc", "gyroM_kurt", "gyroM_skew",
-            "gyroX_max.psd", "gyroX_entropy", "gyroX_fc", "gyroX_kurt", "gyroX_skew",
-            "gyroY_max.psd", "gyroY_entropy", "gyroY_fc", "gyroY_kurt", "gyroY_skew",
-            "gyroZ_max.psd", "gyroZ_entropy", "gyroZ_fc", "gyroZ_kurt", "gyroZ_skew",
-            // ✅ 저크 센서 (Jerk) - 수평 및 수직
-            "jerk_hM_mean", "jerk_hM_std", "jerk_hM_max", "jerk_hM_min", "jerk_hM_mad", "jerk_hM_iqr",
-            "jerk_hM_max.corr", "jerk_hM_idx.max.corr", "jerk_hM_zcr", "jerk_hM_fzc",
-            "jerk_hM_max.psd", "jerk_hM_entropy", "jerk_hM_fc", "jerk_hM_kurt", "jerk_hM_skew",
-            "jerk_vM_mean", "jerk_vM_std", "jerk_vM_max", "jerk_vM_min", "jerk_vM_mad", "jerk_vM_iqr",
-            "jerk_vM_max.corr", "jerk_vM_idx.max.corr", "jerk_vM_zcr", "jerk_vM_fzc",
-            "jerk_vM_max.psd", "jerk_vM_entropy", "jerk_vM_fc", "jerk_vM_kurt", "jerk_vM_skew",
-            // ✅ 선형 가속도 센서 (Linear Acceleration)
-            "linear_accelM_mean", "linear_accelM_std", "linear_accelM_max", "linear_accelM_min", "linear_accelM_mad", "linear_accelM_iqr",
-            "linear_accelM_max.corr", "linear_accelM_idx.max.corr", "linear_accelM_zcr", "linear_accelM_fzc",
-            "linear_accelM_max.psd", "linear_accelM_entropy", "linear_accelM_fc", "linear_accelM_kurt", "linear_accelM_skew",
-            // ✅ 자기장 센서 (Magnetometer)
-            "magM_mean", "magM_std", "magM_max", "magM_min", "magM_mad", "magM_iqr",
-            "magM_max.corr", "magM_idx.max.corr", "magM_zcr", "magM_fzc",
-            "magX_mean", "magX_std", "magX_max", "magX_min", "magX_mad", "magX_iqr",
-            "magX_max.corr", "magX_idx.max.corr", "magX_zcr", "magX_fzc",
-            "magY_mean", "magY_std", "magY_max", "magY_min", "magY_mad", "magY_iqr",
-            "magY_max.corr", "magY_idx.max.corr", "magY_zcr", "magY_fzc",
-            "magZ_mean", "magZ_std", "magZ_max", "magZ_min", "magZ_mad", "magZ_iqr",
-            "magZ_max.corr", "magZ_idx.max.corr", "magZ_zcr", "magZ_fzc",
-            "magM_max.psd", "magM_entropy", "magM_fc", "magM_kurt", "magM_skew",
-            "magX_max.psd", "magX_entropy", "magX_fc", "magX_kurt", "magX_skew",
-            "magY_max.psd", "magY_entropy", "magY_fc", "magY_kurt", "magY_skew",
-            "magZ_max.psd", "magZ_entropy", "magZ_fc", "magZ_kurt", "magZ_skew",
-            // ✅ 압력 센서 (Pressure)
-            "pressureM_mean", "pressureM_std", "pressureM_max", "pressureM_min", "pressureM_mad", "pressureM_iqr",
-            "pressureM_max.corr", "pressureM_idx.max.corr", "pressureM_zcr", "pressureM_fzc",
-            "pressureM_max.psd", "pressureM_entropy", "pressureM_fc", "pressureM_kurt", "pressureM_skew"
-    );
 }
@@ -0,0 +1,192 @@
+package com.example.movedistance.IMU;
+
+import java.util.Arrays;
+
+/**
+ * 한 행(윈도우)을 한 번만 정렬해 두고 사분위수, 중앙값, MAD 를 모두 답하는 분위수 엔진.
+ * <p>
+ * 추정 방식은 commons-math {@code StatUtils.percentile} 기본값(LEGACY 추정, NaN 제거)과 동일하다.
+ * <pre>
+ *   pos = p * (n + 1)
+ *   pos &lt; 1  → sorted[0]
+ *   pos &gt;= n → sorted[n - 1]
+ *   그 외     → lower + (pos - floor(pos)) * (upper - lower)
+ * </pre>
+ * 정렬 버퍼는 인스턴스 안에서 재사용되므로 행마다 배열을 새로 만들지 않는다.
+ * 인스턴스는 스레드 간에 공유하면 안 된다.
+ */
+public final class IMUQuantiles {
+    private double[] sorted = new double[0];
+    /** 중앙값이 무한대일 때만 쓰는 편차 버퍼 */
+    private double[] deviations = new double[0];
+    /** NaN 을 제외한 유효 샘플 수 */
+    private int size;
+
+    /**
+     * data[offset, offset + length) 구간을 내부 버퍼로 복사하여 정렬
+     */
+    public void load(double[] data, int offset, int length) {
+        if (sorted.length < length) {
+            sorted = new double[length];
+        }
+        System.arraycopy(data, offset, sorted, 0, length);
+        Arrays.sort(sorted, 0, length);
+
+        // Arrays.sort 는 NaN 을 끝으로 보내므로 뒤에서부터 잘라냄 (NaNStrategy.REMOVED 와 동일)
+        int n = length;
+        while (n > 0 && Double.isNaN(sorted[n - 1])) {
+            n--;
+        }
+        size = n;
+    }
+
+    /** 유효 샘플 수 */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 정렬된 버퍼 (앞의 {@link #size()} 개만 유효)
+     */
+    public double[] sorted() {
+        return sorted;
+    }
+
+    /**
+     * p 번째 백분위수 (0 &lt; p &lt;= 100)
+     */
+    public double percentile(double p) {
+        return estimate(sorted, size, p);
+    }
+
+    /** 중앙값 */
+    public double median() {
+        return percentile(50);
+    }
+
+    /** 사분위 범위 (IQR) */
+    public double interquartileRange() {
+        return percentile(75) - percentile(25);
+    }
+
+    /**
+     * 중앙절대편차 (MAD) = median(|x - median(x)|)
+     * <p>
+     * 정렬된 배열에서 중앙값 왼쪽의 편차는 인덱스가 줄수록, 오른쪽의 편차는 인덱스가 늘수록 커지므로
+     * 두 수열을 병합하며 필요한 순위의 편차만 찾는다. 편차 배열을 만들거나 다시 정렬하지 않는다.
+     */
+    public double medianAbsoluteDeviation() {
+        int n = size;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        double median = median();
+        if (Double.isInfinite(median)) {
+            return explicitMedianAbsoluteDeviation(median);
+        }
+
+        double pos = legacyPosition(50, n);
+        int lowRank;
+        int highRank;
+        double dif;
+        if (n == 1 || pos < 1) {
+            lowRank = highRank = 0;
+            dif = 0;
+        } else if (pos >= n) {
+            lowRank = highRank = n - 1;
+            dif = 0;
+        } else {
+            double fpos = Math.floor(pos);
+            lowRank = (int) fpos - 1;
+            highRank = lowRank + 1;
+            dif = pos - fpos;
+        }
+
+        // 중앙값보다 작은 원소의 개수 = 오른쪽 수열의 시작 인덱스
+        int split = lowerBound(sorted, n, median);
+        int left = split - 1;
+        int right = split;
+        double lower = 0;
+        double upper = 0;
+        for (int rank = 0; rank <= highRank; rank++) {
+            double deviation;
+            if (right >= n || (left >= 0 && median - sorted[left] <= sorted[right] - median)) {
+                deviation = median - sorted[left--];
+            } else {
+                deviation = sorted[right++] - median;
+            }
+            if (rank == lowRank) {
+                lower = deviation;
+            }
+            if (rank == highRank) {
+                upper = deviation;
+            }
+        }
+        if (lowRank == highRank) {
+            return lower;
+        }
+        return lower + dif * (upper - lower);
+    }
+
+    /**
+     * 중앙값이 ±Infinity 이면 |x - median| 이 NaN 이 되어 commons-math 가 해당 편차를 제외하므로
+     * 편차 배열을 직접 만들어 같은 규칙으로 계산한다. (정상 센서 데이터에서는 타지 않는 경로)
+     */
+    private double explicitMedianAbsoluteDeviation(double median) {
+        int n = size;
+        if (deviations.length < n) {
+            deviations = new double[n];
+        }
+        for (int i = 0; i < n; i++) {
+            deviations[i] = Math.abs(sorted[i] - median);
+        }
+        Arrays.sort(deviations, 0, n);
+        int m = n;
+        while (m > 0 && Double.isNaN(deviations[m - 1])) {
+            m--;
+        }
+        return estimate(deviations, m, 50);
+    }
+
+    /** 정렬된 values[0, n) 에 대한 LEGACY 백분위수 추정 */
+    private static double estimate(double[] values, int n, double p) {
+        if (n == 0) {
+            return Double.NaN;
+        }
+        if (n == 1) {
+            return values[0];
+        }
+        double pos = legacyPosition(p, n);
+        if (pos < 1) {
+            return values[0];
+        }
+        if (pos >= n) {
+            return values[n - 1];
+        }
+        double fpos = Math.floor(pos);
+        int intPos = (int) fpos;
+        double lower = values[intPos - 1];
+        double upper = values[intPos];
+        return lower + (pos - fpos) * (upper - lower);
+    }
+
+    /** commons-math LEGACY 추정 위치 */
+    private static double legacyPosition(double p, int n) {
+        return p / 100 * (n + 1);
+    }
+
+    /** sorted[0, n) 에서 key 이상인 첫 원소의 인덱스 */
+    private static int lowerBound(double[] sorted, int n, double key) {
+        int lo = 0;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.movedistance.IMU;
+
+import java.util.Random;
+
+/**
+ * 초 단위로 수집된 IMU 샘플을 초당 정확히 {@link IMUWindowBuffer#WINDOW_SIZE} 개로 맞추는 리샘플러.
+ * <p>
+ * 기존 extendIMUDataByTimestamp 는 초마다 HashMap 을 무작위로 복제해 100 행을 채웠기 때문에
+ * 실행마다 결과가 달랐고, 초의 순서도 HashMap 순서를 따랐다.
+ * 여기서는 타임스탬프 오름차순으로 초를 정렬한 뒤(같은 초 안에서는 수집 순서 유지)
+ * 슬롯 → 원본 샘플 대응표({@link Plan})를 한 번 만들고, 채널마다 기본형 배열로 바로 채운다.
+ * <ul>
+ *   <li>{@link Strategy#SAMPLE_AND_HOLD}: 슬롯 j 에 floor(j·k / 100) 번째 샘플 (기본값)</li>
+ *   <li>{@link Strategy#LINEAR}: 초 안의 k 개 샘플을 100 슬롯에 고르게 펼쳐 선형 보간</li>
+ *   <li>{@link Strategy#DUPLICATE}: 기존 방식 (수집 순서 유지 후 무작위 복제로 채움), 시드 고정</li>
+ * </ul>
+ * 100 개를 넘는 초는 SAMPLE_AND_HOLD / LINEAR 에서는 고르게 솎아내고, DUPLICATE 에서는 앞의 100 개만 사용한다.
+ * <p>
+ * 기존 경로와 같은 입력이 나오는 것은 샘플이 정확히 100 개인 초뿐이다 (세 전략 모두 수집 순서 그대로).
+ * ⚠ 100 개 미만인 초는 기본값 SAMPLE_AND_HOLD 가 기존 무작위 복제와 다른 값을 채우므로 모델 입력이 바뀐다.
+ */
+public final class IMUResampler {
+    public enum Strategy {
+        SAMPLE_AND_HOLD,
+        LINEAR,
+        DUPLICATE
+    }
+
+    private static final long DEFAULT_SEED = 42L;
+
+    private final Strategy strategy;
+    private final long seed;
+
+    private IMUResampler(Strategy strategy, long seed) {
+        this.strategy = strategy;
+        this.seed = seed;
+    }
+
+    public static IMUResampler sampleAndHold() {
+        return new IMUResampler(Strategy.SAMPLE_AND_HOLD, DEFAULT_SEED);
+    }
+
+    public static IMUResampler linear() {
+        return new IMUResampler(Strategy.LINEAR, DEFAULT_SEED);
+    }
+
+    /** 기존 무작위 복제 방식 (모델 호환용, 같은 시드면 항상 같은 결과) */
+    public static IMUResampler duplicate(long seed) {
+        return new IMUResampler(Strategy.DUPLICATE, seed);
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * 타임스탬프 열로 리샘플링 계획 생성
+     * @param timestamps 샘플별 타임스탬프 (수집 순서)
+     * @param count 유효 샘플 수
+     */
+    public Plan plan(long[] timestamps, int count) {
+        int[] order = sortedOrder(timestamps, count);
+
+        int windows = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || timestamps[order[i]] != timestamps[order[i - 1]]) {
+                windows++;
+            }
+        }
+
+        int size = IMUWindowBuffer.WINDOW_SIZE;
+        long[] seconds = new long[windows];
+        int[] lower = new int[windows * size];
+        int[] upper = strategy == Strategy.LINEAR ? new int[windows * size] : null;
+        double[] weight = strategy == Strategy.LINEAR ? new double[windows * size] : null;
+        Random random = strategy == Strategy.DUPLICATE ? new Random(seed) : null;
+        int[] group = strategy == Strategy.DUPLICATE ? new int[size] : null;
+
+        int window = 0;
+        int start = 0;
+        while (start < count) {
+            long second = timestamps[order[start]];
+            int end = start + 1;
+            while (end < count && timestamps[order[end]] == second) {
+                end++;
+            }
+            seconds[window] = second;
+            fillWindow(order, start, end - start, window * size, lower, upper, weight, random, group);
+            window++;
+            start = end;
+        }
+        return new Plan(seconds, lower, upper, weight);
+    }
+
+    private void fillWindow(int[] order, int start, int k, int base,
+                            int[] lower, int[] upper, double[] weight, Random random, int[] group) {
+        int size = IMUWindowBuffer.WINDOW_SIZE;
+        switch (strategy) {
+            case LINEAR:
+                for (int j = 0; j < size; j++) {
+                    double position = k == 1 ? 0.0 : j * (k - 1) / (double) (size - 1);
+                    int low = (int) position;
+                    int high = Math.min(low + 1, k - 1);
+                    lower[base + j] = order[start + low];
+                    upper[base + j] = order[start + high];
+                    weight[base + j] = position - low;
+                }
+                break;
+            case DUPLICATE:
+                // 기존 extendIMUDataByTimestamp 와 같은 규칙: 그룹이 커질 때마다 현재 그룹에서 무작위 선택
+                int filled = Math.min(k, size);
+                for (int j = 0; j < filled; j++) {
+                    group[j] = order[start + j];
+                }
+                while (filled < size) {
+                    group[filled] = group[random.nextInt(filled)];
+                    filled++;
+                }
+                System.arraycopy(group, 0, lower, base, size);
+                break;
+            case SAMPLE_AND_HOLD:
+            default:
+                for (int j = 0; j < size; j++) {
+                    lower[base + j] = order[start + (int) ((long) j * k / size)];
+                }
+                break;
+        }
+    }
+
+    /** 타임스탬프 기준 안정 정렬 순서 (이미 정렬되어 있으면 그대로) */
+    private static int[] sortedOrder(long[] timestamps, int count) {
+        int[] order = new int[count];
+        boolean sorted = true;
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+            if (i > 0 && timestamps[i] < timestamps[i - 1]) {
+                sorted = false;
+            }
+        }
+        if (sorted) {
+            return order;
+        }
+
+        // 병합 정렬 (같은 타임스탬프의 수집 순서 보존)
+        int[] buffer = new int[count];
+        for (int width = 1; width < count; width *= 2) {
+            for (int left = 0; left < count; left += 2 * width) {
+                int mid = Math.min(left + width, count);
+                int right = Math.min(left + 2 * width, count);
+                int i = left;
+                int j = mid;
+                int k = left;
+                while (i < mid && j < right) {
+                    buffer[k++] = timestamps[order[j]] < timestamps[order[i]] ? order[j++] : order[i++];
+                }
+                while (i < mid) {
+                    buffer[k++] = order[i++];
+                }
+                while (j < right) {
+                    buffer[k++] = order[j++];
+                }
+            }
+            int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+
+    /**
+     * 리샘플링 계획: 윈도우(초)별 타임스탬프와 슬롯 → 원본 샘플 대응표.
+     * 한 번 만들어 모든 센서 채널에 재사용한다.
+     */
+    public static final class Plan {
+        private final long[] timestamps;
+        private final int[] lower;
+        private final int[] upper;
+        private final double[] weight;
+
+        private Plan(long[] timestamps, int[] lower, int[] upper, double[] weight) {
+            this.timestamps = timestamps;
+            this.lower = lower;
+            this.upper = upper;
+            this.weight = weight;
+        }
+
+        /** 윈도우(초) 수 */
+        public int windows() {
+            return timestamps.length;
+        }
+
+        /** 윈도우별 타임스탬프 (오름차순, 수정 금지) */
+        public long[] timestamps() {
+            return timestamps;
+        }
+
+        /**
+         * 수집 순서의 원본 채널을 리샘플링하여 target[0, windows × 100) 에 기록
+         */
+        public void apply(double[] source, double[] target) {
+            int length = lower.length;
+            if (weight == null) {
+                for (int i = 0; i < length; i++) {
+                    target[i] = source[lower[i]];
+                }
+                return;
+            }
+            for (int i = 0; i < length; i++) {
+                double w = weight[i];
+                double low = source[lower[i]];
+                target[i] = w == 0 ? low : low + (source[upper[i]] - low) * w;
+            }
+        }
+    }
+}
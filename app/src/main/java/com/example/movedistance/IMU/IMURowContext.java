@@ -0,0 +1,143 @@
+package com.example.movedistance.IMU;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 윈도우 한 행에 대한 분석 컨텍스트.
+ * <p>
+ * 통계/주파수 특징이 공통으로 쓰는 중간 결과(기본 통계량, 정렬본, 자기상관, PSD, 스펙트럼 모멘트)를
+ * 처음 요청될 때 한 번만 계산하고 같은 행 안에서는 캐시된 값을 돌려준다.
+ * {@link #reset} 으로 다음 행에 재사용하며, 작업 버퍼가 커서 {@link #acquire()} / {@link #release()} 풀을 통해
+ * 행과 스레드 사이에서 재활용한다. 한 인스턴스는 한 번에 한 스레드만 사용해야 한다.
+ */
+public final class IMURowContext {
+    /** 샘플링 주파수 (Hz) */
+    public static final int FS = 100;
+
+    private static final int POOL_LIMIT = 64;
+    private static final ConcurrentLinkedQueue<IMURowContext> POOL = new ConcurrentLinkedQueue<>();
+
+    private final double[] stats = new double[IMUStatKernel.SIZE];
+    private final IMUQuantiles quantiles = new IMUQuantiles();
+    private final IMUAutocorrelation autocorrelation = new IMUAutocorrelation();
+    private final IMUWelch welch = new IMUWelch();
+    private final double[] spectral = new double[IMUSpectralMoments.SIZE];
+    private double[] psd = new double[0];
+
+    private double[] data;
+    private int offset;
+    private int length;
+
+    private boolean statsReady;
+    private boolean sortedReady;
+    private boolean autocorrelationReady;
+    private boolean psdReady;
+    private boolean spectralReady;
+
+    /** 풀에서 컨텍스트를 꺼냄 (없으면 새로 생성) */
+    public static IMURowContext acquire() {
+        IMURowContext context = POOL.poll();
+        return context != null ? context : new IMURowContext();
+    }
+
+    /** 컨텍스트를 풀에 반환 (입력 배열 참조는 해제) */
+    public void release() {
+        data = null;
+        invalidate();
+        if (POOL.size() < POOL_LIMIT) {
+            POOL.offer(this);
+        }
+    }
+
+    /**
+     * 분석 대상 행 지정: data[offset, offset + length) (캐시 초기화)
+     */
+    public IMURowContext reset(double[] data, int offset, int length) {
+        this.data = data;
+        this.offset = offset;
+        this.length = length;
+        invalidate();
+        return this;
+    }
+
+    private void invalidate() {
+        statsReady = false;
+        sortedReady = false;
+        autocorrelationReady = false;
+        psdReady = false;
+        spectralReady = false;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /** 기본 통계량 (인덱스는 {@link IMUStatKernel} 상수) */
+    public double[] stats() {
+        if (!statsReady) {
+            IMUStatKernel.compute(data, offset, length, stats);
+            statsReady = true;
+        }
+        return stats;
+    }
+
+    /** 정렬본 기반 분위수 엔진 */
+    public IMUQuantiles quantiles() {
+        if (!sortedReady) {
+            quantiles.load(data, offset, length);
+            sortedReady = true;
+        }
+        return quantiles;
+    }
+
+    /** 자기상관 벡터와 최대값/위치 */
+    public IMUAutocorrelation autocorrelation() {
+        if (!autocorrelationReady) {
+            autocorrelation.compute(data, offset, length);
+            autocorrelationReady = true;
+        }
+        return autocorrelation;
+    }
+
+    /** Welch PSD (nperseg = 행 길이) */
+    public double[] psd() {
+        if (!psdReady) {
+            welch.compute(data, offset, length, FS, length, ensurePsd());
+            psdReady = true;
+        }
+        return psd;
+    }
+
+    /** 스펙트럼 특징 (인덱스는 {@link IMUSpectralMoments} 상수) */
+    public double[] spectralMoments() {
+        if (!spectralReady) {
+            double[] p = psd();
+            IMUSpectralMoments.compute(p, p.length, FS, length, spectral);
+            spectralReady = true;
+        }
+        return spectral;
+    }
+
+    /**
+     * 길이가 같은 두 행의 PSD 를 복소 FFT 하나로 함께 계산하여 양쪽 캐시에 채움
+     * (길이가 다르면 각각 계산)
+     */
+    public static void computePsdPair(IMURowContext a, IMURowContext b) {
+        if (a.psdReady || b.psdReady || a.length != b.length) {
+            a.psd();
+            b.psd();
+            return;
+        }
+        a.welch.computePair(a.data, a.offset, b.data, b.offset, a.length, FS, a.length, a.ensurePsd(), b.ensurePsd());
+        a.psdReady = true;
+        b.psdReady = true;
+    }
+
+    private double[] ensurePsd() {
+        int psdLength = IMUWelch.psdLength(length);
+        if (psd.length != psdLength) {
+            psd = new double[psdLength];
+        }
+        return psd;
+    }
+}
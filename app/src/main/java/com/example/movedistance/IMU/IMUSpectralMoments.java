@@ -0,0 +1,85 @@
+package com.example.movedistance.IMU;
+
+/**
+ * PSD 한 행에서 주파수 특징 5종(max.psd, entropy, fc, kurt, skew)을 두 번의 순회로 계산하는 커널.
+ * <p>
+ * 1차 순회: 합계, 최대값, 주파수 가중합 → 평균, 중심주파수
+ * 2차 순회: 2/3/4차 중심 모멘트, 엔트로피
+ * <p>
+ * kurt = m4 / m2², skew = m3 / m2^1.5 (모집단 모멘트, 기존 {@code Math.pow((d - mean) / std, k)} 평균과 동일).
+ * 분산이 0 인 경우(모든 bin 이 같은 값)에는 0 으로 나누지 않고 kurt, skew 를 0 으로 둔다.
+ */
+public final class IMUSpectralMoments {
+    public static final int MAX_PSD = 0;
+    public static final int ENTROPY = 1;
+    public static final int FC = 2;
+    public static final int KURT = 3;
+    public static final int SKEW = 4;
+    public static final int SIZE = 5;
+
+    private IMUSpectralMoments() {
+    }
+
+    /**
+     * psd[0, length) 의 주파수 특징 계산
+     * @param psd PSD 배열
+     * @param length 유효 bin 수
+     * @param fs 샘플링 주파수
+     * @param nperseg 세그먼트 길이 (bin 간격 = fs / nperseg)
+     * @param out 결과 버퍼 (길이 {@link #SIZE} 이상)
+     */
+    public static void compute(double[] psd, int length, int fs, int nperseg, double[] out) {
+        if (length == 0) {
+            out[MAX_PSD] = 0;
+            out[ENTROPY] = 0;
+            out[FC] = 0;
+            out[KURT] = 0;
+            out[SKEW] = 0;
+            return;
+        }
+
+        double binWidth = fs / (double) nperseg;
+        double sum = 0;
+        double weightedSum = 0;
+        double max = psd[0];
+        for (int i = 0; i < length; i++) {
+            double p = psd[i];
+            sum += p;
+            weightedSum += i * binWidth * p;
+            max = Math.max(max, p);
+        }
+        double mean = sum / length;
+
+        double m2 = 0;
+        double m3 = 0;
+        double m4 = 0;
+        double entropy = 0;
+        for (int i = 0; i < length; i++) {
+            double d = psd[i] - mean;
+            double d2 = d * d;
+            m2 += d2;
+            m3 += d2 * d;
+            m4 += d2 * d2;
+
+            // sum 이 NaN 이면 p 도 NaN 이 되어 제외됨 (기존 filter(p > 0) 동작과 동일)
+            double p = psd[i] / sum;
+            if (p > 0) {
+                entropy -= p * Math.log(p);
+            }
+        }
+        m2 /= length;
+        m3 /= length;
+        m4 /= length;
+
+        out[MAX_PSD] = max;
+        out[ENTROPY] = sum == 0 ? 0 : entropy;
+        out[FC] = sum == 0 ? 0 : weightedSum / sum;
+        if (m2 == 0) {
+            out[KURT] = 0;
+            out[SKEW] = 0;
+        } else {
+            out[KURT] = m4 / (m2 * m2);
+            out[SKEW] = m3 / (m2 * Math.sqrt(m2));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.movedistance.IMU;
+
+/**
+ * 한 행(윈도우)의 기본 통계량을 한 번의 순회로 계산하는 커널.
+ * <p>
+ * mean, std, min, max, zcr, fzc 를 단일 루프에서 구하며 행마다 객체를 할당하지 않는다.
+ * 결과는 호출자가 넘긴 {@code double[SIZE]} 버퍼에 기록된다.
+ * <p>
+ * 정확도: min, max, zcr, fzc 는 기존 구현(commons-math {@code Max}/{@code Min}, {@code Math.signum} 비교)과
+ * 비트 단위로 동일하다. mean, std 는 Welford 갱신식을 사용하므로 commons-math 의 2-pass 보정 알고리즘과
+ * 입력 크기(max|x|) 대비 상대 오차 {@link #TOLERANCE} 이내에서 일치한다.
+ */
+public final class IMUStatKernel {
+    public static final int MEAN = 0;
+    public static final int STD = 1;
+    public static final int MIN = 2;
+    public static final int MAX = 3;
+    public static final int ZCR = 4;
+    public static final int FZC = 5;
+    public static final int SIZE = 6;
+
+    /** commons-math 결과 대비 mean/std 의 허용 오차 (max|x| 기준 상대값) */
+    public static final double TOLERANCE = 1e-12;
+
+    private IMUStatKernel() {
+    }
+
+    /**
+     * data[offset, offset + length) 구간의 통계량 계산
+     * @param data 입력 데이터
+     * @param offset 시작 인덱스
+     * @param length 샘플 수
+     * @param out 결과 버퍼 (길이 {@link #SIZE} 이상)
+     */
+    public static void compute(double[] data, int offset, int length, double[] out) {
+        if (length == 0) {
+            out[MEAN] = Double.NaN;
+            out[STD] = Double.NaN;
+            out[MIN] = Double.NaN;
+            out[MAX] = Double.NaN;
+            out[ZCR] = Double.NaN;
+            out[FZC] = 0;
+            return;
+        }
+
+        double first = data[offset];
+        double mean = 0;
+        double m2 = 0;
+        double min = first;
+        double max = first;
+        double prevSign = Math.signum(first);
+        int crossings = 0;
+        int firstCrossing = 0;
+
+        for (int i = 0; i < length; i++) {
+            double v = data[offset + i];
+
+            // Welford 갱신 (평균, 편차 제곱합)
+            double delta = v - mean;
+            mean += delta / (i + 1);
+            m2 += delta * (v - mean);
+
+            // commons-math Max/Min 과 동일하게 NaN 은 건너뜀
+            if (!Double.isNaN(v)) {
+                max = (max > v) ? max : v;
+                min = (min < v) ? min : v;
+            }
+
+            // 부호 변화 (Zero Crossing)
+            double sign = Math.signum(v);
+            if (i > 0 && sign != prevSign) {
+                if (crossings == 0) {
+                    firstCrossing = i;
+                }
+                crossings++;
+            }
+            prevSign = sign;
+        }
+
+        out[MEAN] = mean;
+        out[STD] = length > 1 ? Math.sqrt(m2 / (length - 1)) : 0.0;
+        out[MIN] = min;
+        out[MAX] = max;
+        out[ZCR] = (double) crossings / length;
+        out[FZC] = firstCrossing;
+    }
+}
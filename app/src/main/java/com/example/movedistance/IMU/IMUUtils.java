@@ -1,6 +1,5 @@
 package com.example.movedistance.IMU;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -20,52 +19,66 @@ public class IMUUtils {
         double[][] x = new double[rows][cols];
         double[][] y = new double[rows][cols];
         double[][] z = new double[rows][cols];
-        double[][] w = new double[rows][cols];
+        rotateAxis(ax, ay, az, rotation, x, y, z);
+        return new double[][][]{x, y, z};
+    }
 
-        // Rotation 배열에서 w, x, y, z 값 추출
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                w[i][j] = rotation[i][j][0];
-                x[i][j] = rotation[i][j][1];
-                y[i][j] = rotation[i][j][2];
-                z[i][j] = rotation[i][j][3];
+    /**
+     * Quaternion 축 회전 결과를 호출자가 넘긴 배열에 기록 (중간 복사 없음)
+     * <p>
+     * 샘플마다 입력 세 성분을 먼저 읽은 뒤 기록하므로 outX/outY/outZ 에 ax/ay/az 를 그대로 넘겨
+     * 제자리(in-place) 회전해도 된다.
+     * @param rotation Quaternion 회전 행렬 [rows][cols][4] (w, x, y, z)
+     */
+    public static void rotateAxis(double[][] ax, double[][] ay, double[][] az, double[][][] rotation,
+                                  double[][] outX, double[][] outY, double[][] outZ) {
+        for (int i = 0; i < ax.length; i++) {
+            double[] rowX = ax[i];
+            double[] rowY = ay[i];
+            double[] rowZ = az[i];
+            double[][] rowQ = rotation[i];
+            for (int j = 0; j < rowX.length; j++) {
+                double[] q = rowQ[j];
+                rotateSample(q[0], q[1], q[2], q[3], rowX[j], rowY[j], rowZ[j], outX[i], outY[i], outZ[i], j);
             }
         }
+    }
 
-        // 1D 배열 변환
-        double[] wFlat = flatten(w);
-        double[] xFlat = flatten(x);
-        double[] yFlat = flatten(y);
-        double[] zFlat = flatten(z);
-        double[] axFlat = flatten(ax);
-        double[] ayFlat = flatten(ay);
-        double[] azFlat = flatten(az);
-
-        double[] _ax = new double[axFlat.length];
-        double[] _ay = new double[ayFlat.length];
-        double[] _az = new double[azFlat.length];
-
-        // Quaternion 회전 적용
-        for (int i = 0; i < axFlat.length; i++) {
-            _ax[i] = (1 - 2 * (yFlat[i] * yFlat[i] + zFlat[i] * zFlat[i])) * axFlat[i]
-                    + 2 * (xFlat[i] * yFlat[i] - wFlat[i] * zFlat[i]) * ayFlat[i]
-                    + 2 * (xFlat[i] * zFlat[i] + wFlat[i] * yFlat[i]) * azFlat[i];
-
-            _ay[i] = 2 * (xFlat[i] * yFlat[i] + wFlat[i] * zFlat[i]) * axFlat[i]
-                    + (1 - 2 * (xFlat[i] * xFlat[i] + zFlat[i] * zFlat[i])) * ayFlat[i]
-                    + 2 * (yFlat[i] * zFlat[i] - wFlat[i] * xFlat[i]) * azFlat[i];
-
-            _az[i] = 2 * (xFlat[i] * zFlat[i] - wFlat[i] * yFlat[i]) * axFlat[i]
-                    + 2 * (yFlat[i] * zFlat[i] + wFlat[i] * xFlat[i]) * ayFlat[i]
-                    + (1 - 2 * (xFlat[i] * xFlat[i] + yFlat[i] * yFlat[i])) * azFlat[i];
+    /**
+     * 1차원(struct-of-arrays) 버퍼용 Quaternion 축 회전 커널
+     * <p>
+     * 모든 배열의 [offset, offset + length) 구간을 사용하며, 출력 배열이 입력 배열과 같아도 된다.
+     * @param qw Quaternion w 성분
+     * @param qx Quaternion x 성분
+     * @param qy Quaternion y 성분
+     * @param qz Quaternion z 성분
+     */
+    public static void rotateAxis(double[] qw, double[] qx, double[] qy, double[] qz,
+                                  double[] ax, double[] ay, double[] az, int offset, int length,
+                                  double[] outX, double[] outY, double[] outZ) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            rotateSample(qw[i], qx[i], qy[i], qz[i], ax[i], ay[i], az[i], outX, outY, outZ, i);
         }
+    }
 
-        // 원래 2D 배열로 변환
-        return new double[][][]{
-                reshape(_ax, rows, cols),
-                reshape(_ay, rows, cols),
-                reshape(_az, rows, cols)
-        };
+    /** 샘플 하나 회전 (입력을 모두 지역 변수로 받은 뒤 기록) */
+    private static void rotateSample(double w, double x, double y, double z,
+                                     double ax, double ay, double az,
+                                     double[] outX, double[] outY, double[] outZ, int index) {
+        double xx = x * x;
+        double yy = y * y;
+        double zz = z * z;
+        double xy = x * y;
+        double xz = x * z;
+        double yz = y * z;
+        double wx = w * x;
+        double wy = w * y;
+        double wz = w * z;
+
+        outX[index] = (1 - 2 * (yy + zz)) * ax + 2 * (xy - wz) * ay + 2 * (xz + wy) * az;
+        outY[index] = 2 * (xy + wz) * ax + (1 - 2 * (xx + zz)) * ay + 2 * (yz - wx) * az;
+        outZ[index] = 2 * (xz - wy) * ax + 2 * (yz + wx) * ay + (1 - 2 * (xx + yy)) * az;
     }
 
     /**
@@ -132,20 +145,6 @@ public class IMUUtils {
         }
     }
 
-    /** 2D 배열을 1D 배열로 변환 */
-    private static double[] flatten(double[][] matrix) {
-        return Arrays.stream(matrix).flatMapToDouble(Arrays::stream).toArray();
-    }
-
-    /** 1D 배열을 2D 배열로 변환 */
-    private static double[][] reshape(double[] array, int rows, int cols) {
-        double[][] reshaped = new double[rows][cols];
-        for (int i = 0; i < rows; i++) {
-            System.arraycopy(array, i * cols, reshaped[i], 0, cols);
-        }
-        return reshaped;
-    }
-
     public static Map<String, double[][]> diff(double[][] array) {
         int numRows = array.length;
         int numCols = array[0].length;
@@ -167,4 +166,26 @@ public class IMUUtils {
         return resultMap;
     }
 
+    /**
+     * 버퍼 채널의 윈도우별 인접 샘플 차분 (결과 형식은 {@link #diff(double[][])} 와 같음)
+     */
+    public static Map<String, double[][]> diff(IMUWindowBuffer buffer, int channel) {
+        int numRows = buffer.windows();
+        int numCols = buffer.windowSize();
+        double[] data = buffer.channel(channel);
+
+        double[][] diffArray = new double[numRows][numCols - 1];
+        for (int i = 0; i < numRows; i++) {
+            int offset = buffer.offset(i);
+            for (int j = 0; j < numCols - 1; j++) {
+                diffArray[i][j] = data[offset + j + 1] - data[offset + j];
+            }
+        }
+
+        Map<String, double[][]> resultMap = new HashMap<>();
+        resultMap.put("difference", diffArray);
+
+        return resultMap;
+    }
+
 }
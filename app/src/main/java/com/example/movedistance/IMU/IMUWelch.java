@@ -0,0 +1,169 @@
+package com.example.movedistance.IMU;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Welch PSD 계산기 (Hann 윈도우, 50% 오버랩, 2의 거듭제곱 0-패딩).
+ * <p>
+ * Hann 윈도우는 nperseg 별로, FFT 테이블은 패딩 길이별로 한 번만 만들어 캐시하고
+ * 세그먼트/스펙트럼 작업 버퍼는 인스턴스 안에서 재사용한다.
+ * 결과는 호출자가 넘긴 배열에 기록되므로 행마다 할당이 없다.
+ * 인스턴스는 스레드 간에 공유하면 안 된다.
+ */
+public final class IMUWelch {
+    private static final ConcurrentMap<Integer, double[]> HANN_WINDOWS = new ConcurrentHashMap<>();
+    /** computePair 크기 맞춤 지수의 상한 (오버플로/비정규수 방지) */
+    private static final int MAX_BALANCE_SHIFT = 400;
+
+    private double[] segment = new double[0];
+    private double[] segmentB = new double[0];
+    private double[] re = new double[0];
+    private double[] im = new double[0];
+    private double[] power = new double[0];
+    private double[] powerB = new double[0];
+
+    /** PSD 배열 길이 (패딩 길이의 절반) */
+    public static int psdLength(int nperseg) {
+        return IMUFFT.nextPowerOfTwo(nperseg) / 2;
+    }
+
+    /** nperseg 길이의 Hann 윈도우 (캐시됨, 수정 금지) */
+    static double[] hannWindow(int nperseg) {
+        return HANN_WINDOWS.computeIfAbsent(nperseg, n -> {
+            double[] window = new double[n];
+            for (int j = 0; j < n; j++) {
+                window[j] = 0.5 * (1 - Math.cos(2 * Math.PI * j / (n - 1)));
+            }
+            return window;
+        });
+    }
+
+    /**
+     * data[offset, offset + length) 의 Welch PSD 를 psd[0, psdLength(nperseg)) 에 기록
+     */
+    public void compute(double[] data, int offset, int length, int fs, int nperseg, double[] psd) {
+        int step = nperseg / 2;  // 50% 오버랩 적용
+        int numSegments = (length - nperseg) / step + 1;
+
+        int paddedLength = IMUFFT.nextPowerOfTwo(nperseg);
+        int bins = paddedLength / 2;
+        IMUFFT fft = IMUFFT.forSize(paddedLength);
+        double[] window = hannWindow(nperseg);
+        ensureCapacity(paddedLength);
+
+        Arrays.fill(psd, 0, bins, 0.0);
+        for (int s = 0; s < numSegments; s++) {
+            int start = offset + s * step;
+
+            // Hann 윈도우 적용 + 0-패딩
+            for (int j = 0; j < nperseg; j++) {
+                segment[j] = data[start + j] * window[j];
+            }
+            Arrays.fill(segment, nperseg, paddedLength, 0.0);
+
+            fft.realPowerSpectrum(segment, re, im, power, bins);
+            for (int j = 0; j < bins; j++) {
+                psd[j] += power[j] / numSegments;  // 평균을 내서 Welch PSD 완성
+            }
+        }
+
+        // 샘플링 주파수와 세그먼트 길이로 스케일링
+        double scale = 2.0 / (fs * nperseg);
+        for (int j = 0; j < bins; j++) {
+            psd[j] *= scale;
+        }
+    }
+
+    /**
+     * 길이가 같은 두 신호의 Welch PSD 를 세그먼트마다 복소 FFT 한 번으로 함께 계산
+     * <p>
+     * 두 실수 세그먼트를 실수부/허수부로 묶어 변환한 뒤 스펙트럼을 분리하므로
+     * {@link #compute} 를 두 번 호출할 때보다 FFT 횟수가 절반이 된다.
+     * 크기가 크게 다른 두 신호(예: 중력 축 옆의 작은 축)도 정밀도를 잃지 않도록
+     * 세그먼트마다 b 를 2의 거듭제곱 배로 맞춘 뒤 변환하고 PSD 에서 되돌린다.
+     */
+    public void computePair(double[] a, int offsetA, double[] b, int offsetB, int length,
+                            int fs, int nperseg, double[] psdA, double[] psdB) {
+        int step = nperseg / 2;  // 50% 오버랩 적용
+        int numSegments = (length - nperseg) / step + 1;
+
+        int paddedLength = IMUFFT.nextPowerOfTwo(nperseg);
+        int bins = paddedLength / 2;
+        IMUFFT fft = IMUFFT.forSize(paddedLength);
+        double[] window = hannWindow(nperseg);
+        ensureCapacity(paddedLength);
+        ensurePairCapacity(paddedLength);
+
+        Arrays.fill(psdA, 0, bins, 0.0);
+        Arrays.fill(psdB, 0, bins, 0.0);
+        for (int s = 0; s < numSegments; s++) {
+            int startA = offsetA + s * step;
+            int startB = offsetB + s * step;
+
+            double energyA = 0;
+            double energyB = 0;
+            for (int j = 0; j < nperseg; j++) {
+                double va = a[startA + j] * window[j];
+                double vb = b[startB + j] * window[j];
+                segment[j] = va;
+                segmentB[j] = vb;
+                energyA += va * va;
+                energyB += vb * vb;
+            }
+            Arrays.fill(segment, nperseg, paddedLength, 0.0);
+            Arrays.fill(segmentB, nperseg, paddedLength, 0.0);
+
+            // 분리 오차는 큰 쪽 신호 크기에 비례하므로 b 를 2의 거듭제곱 배로 a 와 크기를 맞춤 (정확한 스케일링)
+            int shift = balanceShift(energyA, energyB);
+            if (shift != 0) {
+                for (int j = 0; j < nperseg; j++) {
+                    segmentB[j] = Math.scalb(segmentB[j], shift);
+                }
+            }
+
+            fft.realPowerSpectrumPair(segment, segmentB, re, im, power, powerB, bins);
+            // 0 인 세그먼트는 분리 오차 대신 정확히 0 을 더함
+            boolean zeroA = energyA == 0;
+            boolean zeroB = energyB == 0;
+            for (int j = 0; j < bins; j++) {
+                psdA[j] += zeroA ? 0.0 : power[j] / numSegments;
+                psdB[j] += zeroB ? 0.0 : Math.scalb(powerB[j], -2 * shift) / numSegments;
+            }
+        }
+
+        double scale = 2.0 / (fs * nperseg);
+        for (int j = 0; j < bins; j++) {
+            psdA[j] *= scale;
+            psdB[j] *= scale;
+        }
+    }
+
+    /**
+     * b 에 곱할 2의 지수 (두 세그먼트의 에너지를 비슷하게 맞춤). 한쪽이 0 이면 0
+     */
+    private static int balanceShift(double energyA, double energyB) {
+        if (energyA == 0 || energyB == 0 || !Double.isFinite(energyA) || !Double.isFinite(energyB)) {
+            return 0;
+        }
+        int shift = (Math.getExponent(energyA) - Math.getExponent(energyB)) / 2;
+        return Math.max(-MAX_BALANCE_SHIFT, Math.min(MAX_BALANCE_SHIFT, shift));
+    }
+
+    private void ensureCapacity(int paddedLength) {
+        if (segment.length < paddedLength) {
+            segment = new double[paddedLength];
+            re = new double[paddedLength];
+            im = new double[paddedLength];
+            power = new double[paddedLength / 2 + 1];
+        }
+    }
+
+    private void ensurePairCapacity(int paddedLength) {
+        if (segmentB.length < paddedLength) {
+            segmentB = new double[paddedLength];
+            powerB = new double[paddedLength / 2 + 1];
+        }
+    }
+}
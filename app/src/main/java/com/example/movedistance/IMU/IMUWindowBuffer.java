@@ -0,0 +1,116 @@
+package com.example.movedistance.IMU;
+
+/**
+ * 윈도우 단위 IMU 데이터 버퍼 (struct-of-arrays).
+ * <p>
+ * 채널마다 [windows × windowSize] 길이의 1차원 배열 하나에 윈도우를 이어 붙여 저장한다.
+ * 윈도우 w 의 샘플 j 는 {@code channel(c)[offset(w) + j]} 이다.
+ * 기존 double[numSegments][100][cols] 큐브 대신 사용하며, 커널들은 (배열, offset, length) 로
+ * 윈도우를 직접 읽으므로 reshape / 축 분리 / flatten 복사가 필요 없다.
+ */
+public final class IMUWindowBuffer {
+    /** 윈도우 하나의 샘플 수 (1초 = 100 샘플) */
+    public static final int WINDOW_SIZE = 100;
+
+    private final int windows;
+    private final int windowSize;
+    private final double[][] channels;
+
+    private IMUWindowBuffer(int windows, int windowSize, double[][] channels) {
+        this.windows = windows;
+        this.windowSize = windowSize;
+        this.channels = channels;
+    }
+
+    /** 0 으로 채워진 버퍼 생성 */
+    public static IMUWindowBuffer allocate(int windows, int windowSize, int numChannels) {
+        double[][] channels = new double[numChannels][windows * windowSize];
+        return new IMUWindowBuffer(windows, windowSize, channels);
+    }
+
+    /**
+     * 기존 채널 배열을 복사 없이 감싼 버퍼 생성
+     * @param channels 채널별 배열 (길이는 windows × windowSize 이상)
+     */
+    public static IMUWindowBuffer wrap(int windows, int windowSize, double[]... channels) {
+        for (double[] channel : channels) {
+            if (channel.length < windows * windowSize) {
+                throw new IllegalArgumentException("⚠ 채널 길이가 부족합니다: " + channel.length
+                        + " < " + windows * windowSize);
+            }
+        }
+        return new IMUWindowBuffer(windows, windowSize, channels);
+    }
+
+    /**
+     * [windows][windowSize][channels] 큐브를 버퍼로 변환 (기존 API 호환용, 복사 발생)
+     */
+    public static IMUWindowBuffer fromCube(double[][][] cube) {
+        int windows = cube.length;
+        int windowSize = windows == 0 ? 0 : cube[0].length;
+        int numChannels = windowSize == 0 ? 0 : cube[0][0].length;
+        IMUWindowBuffer buffer = allocate(windows, windowSize, numChannels);
+        for (int c = 0; c < numChannels; c++) {
+            double[] channel = buffer.channels[c];
+            for (int i = 0; i < windows; i++) {
+                int offset = i * windowSize;
+                for (int j = 0; j < windowSize; j++) {
+                    channel[offset + j] = cube[i][j][c];
+                }
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * [rows][cols] 행렬을 1채널 버퍼로 변환 (기존 API 호환용, 복사 발생)
+     */
+    public static IMUWindowBuffer fromMatrix(double[][] matrix) {
+        int windows = matrix.length;
+        int windowSize = windows == 0 ? 0 : matrix[0].length;
+        IMUWindowBuffer buffer = allocate(windows, windowSize, 1);
+        for (int i = 0; i < windows; i++) {
+            System.arraycopy(matrix[i], 0, buffer.channels[0], i * windowSize, windowSize);
+        }
+        return buffer;
+    }
+
+    public int windows() {
+        return windows;
+    }
+
+    public int windowSize() {
+        return windowSize;
+    }
+
+    public int channelCount() {
+        return channels.length;
+    }
+
+    /** 채널 c 의 전체 배열 (복사 아님, 윈도우 w 는 offset(w) 부터 windowSize 개) */
+    public double[] channel(int c) {
+        return channels[c];
+    }
+
+    /** 윈도우 w 의 시작 인덱스 */
+    public int offset(int window) {
+        return window * windowSize;
+    }
+
+    public double get(int channel, int window, int sample) {
+        return channels[channel][window * windowSize + sample];
+    }
+
+    public void set(int channel, int window, int sample, double value) {
+        channels[channel][window * windowSize + sample] = value;
+    }
+
+    /** 채널 c 를 [windows][windowSize] 행렬로 복사 (기존 API 호환용) */
+    public double[][] toMatrix(int channel) {
+        double[][] matrix = new double[windows][windowSize];
+        for (int i = 0; i < windows; i++) {
+            System.arraycopy(channels[channel], i * windowSize, matrix[i], 0, windowSize);
+        }
+        return matrix;
+    }
+}
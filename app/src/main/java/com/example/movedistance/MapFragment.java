@@ -17,11 +17,14 @@ import org.osmdroid.util.GeoPoint;
 import org.osmdroid.views.MapView;
 import org.osmdroid.views.overlay.Polyline;
 
-import java.io.BufferedReader;
+import com.example.movedistance.Storage.ArchiveColumnType;
+import com.example.movedistance.Storage.CsvCursor;
+import com.example.movedistance.Storage.SensorArchiveReader;
+import com.example.movedistance.Storage.SensorArchiver;
+import com.example.movedistance.Storage.TimeIndex;
+
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -86,25 +89,22 @@ public class MapFragment extends Fragment {
         }
 
         List<Map<String, String>> predictionData = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file)))) {
-            String headerLine = br.readLine();
-            if (headerLine == null) {
+        try (CsvCursor reader = new CsvCursor(file)) {
+            String[] headers = reader.readHeader();
+            if (headers == null) {
                 Log.e(TAG, "CSV 헤더가 없음: " + fileName);
                 textDistanceInfo.setText("CSV 헤더 없음: " + fileName);
                 return;
             }
-            String[] headers = headerLine.split(",");
 
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] values = line.split(",");
-                if (values.length != headers.length) {
-                    Log.w(TAG, "CSV 데이터 불일치: " + line);
+            while (reader.next()) {
+                if (reader.fieldCount() != headers.length) {
+                    Log.w(TAG, "CSV 데이터 불일치: " + reader.rowText());
                     continue;
                 }
                 Map<String, String> data = new HashMap<>();
                 for (int i = 0; i < headers.length; i++) {
-                    data.put(headers[i], values[i]);
+                    data.put(headers[i], reader.getString(i));
                 }
                 predictionData.add(data);
             }
@@ -160,34 +160,73 @@ public class MapFragment extends Fragment {
         File file = new File(getContext().getExternalFilesDir(null), "SensorData/" + fileName);
 
         if (!file.exists()) {
+            // ✅ 지난 날짜는 압축 아카이브로 옮겨졌을 수 있음
+            File archive = SensorArchiver.archiveFile(file.getParentFile(), date, "GPS");
+            if (archive.exists()) {
+                return loadGeoPointsFromArchive(archive, startTimestamp);
+            }
             Log.e(TAG, "GPS CSV 파일이 존재하지 않음: " + fileName);
             return geoPoints;
         }
 
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file)))) {
-            String headerLine = br.readLine();
-            if (headerLine == null) return geoPoints;
-            String[] headers = headerLine.split(",");
-
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] values = line.split(",");
-                if (values.length != headers.length) continue;
-
-                Map<String, String> data = new HashMap<>();
-                for (int i = 0; i < headers.length; i++) {
-                    data.put(headers[i], values[i]);
+        try (CsvCursor reader = new CsvCursor(file)) {
+            String[] headers = reader.readHeader();
+            if (headers == null) return geoPoints;
+            int timestampColumn = reader.column("timestamp");
+            int latitudeColumn = reader.column("latitude");
+            int longitudeColumn = reader.column("longitude");
+            if (timestampColumn < 0 || latitudeColumn < 0 || longitudeColumn < 0) {
+                Log.e(TAG, "GPS CSV 열 구성 오류: " + fileName);
+                return geoPoints;
+            }
+            // ✅ 시간 인덱스로 startTimestamp 직전 위치로 바로 이동 (인덱스가 없으면 헤더 다음부터)
+            reader.seek(Math.max(reader.position(), TimeIndex.seekOffset(file, startTimestamp)));
+
+            while (reader.next()) {
+                if (reader.fieldCount() != headers.length) continue;
+
+                try {
+                    long timestamp = reader.getTimestamp(timestampColumn);
+                    if (timestamp > startTimestamp + ONE_MINUTE_MS) {
+                        break; // 시간 순서로 기록되므로 이후 행은 범위 밖
+                    }
+                    if (timestamp >= startTimestamp) {
+                        double latitude = reader.getFloat(latitudeColumn);
+                        double longitude = reader.getFloat(longitudeColumn);
+                        geoPoints.add(new GeoPoint(latitude, longitude));
+                    }
+                } catch (NumberFormatException e) {
+                    Log.w(TAG, "GPS CSV 값 파싱 실패: " + reader.rowText());
                 }
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "GPS CSV 로드 실패: " + e.getMessage(), e);
+        }
+        return geoPoints;
+    }
 
-                long timestamp = Long.parseLong(data.get("timestamp"));
+    /** 압축 아카이브에서 GPS 좌표 로드 (행 단위 스트리밍, CSV 경로와 같은 값 변환) */
+    private List<GeoPoint> loadGeoPointsFromArchive(File archive, long startTimestamp) {
+        List<GeoPoint> geoPoints = new ArrayList<>();
+        try (SensorArchiveReader reader = SensorArchiveReader.open(archive)) {
+            int timestampColumn = reader.columnIndex("timestamp");
+            int latitudeColumn = reader.columnIndex("latitude");
+            int longitudeColumn = reader.columnIndex("longitude");
+            if (timestampColumn < 0 || latitudeColumn < 0 || longitudeColumn < 0
+                    || reader.types()[timestampColumn] != ArchiveColumnType.LONG) {
+                Log.e(TAG, "GPS 아카이브 열 구성 오류: " + archive.getName());
+                return geoPoints;
+            }
+            while (reader.next()) {
+                long timestamp = reader.getLong(timestampColumn);
                 if (timestamp >= startTimestamp && timestamp <= startTimestamp + ONE_MINUTE_MS) {
-                    double latitude = Float.parseFloat(data.get("latitude"));
-                    double longitude = Float.parseFloat(data.get("longitude"));
+                    double latitude = Float.parseFloat(reader.text(latitudeColumn));
+                    double longitude = Float.parseFloat(reader.text(longitudeColumn));
                     geoPoints.add(new GeoPoint(latitude, longitude));
                 }
             }
-        } catch (IOException e) {
-            Log.e(TAG, "GPS CSV 로드 실패: " + e.getMessage(), e);
+        } catch (IOException | NumberFormatException e) {
+            Log.e(TAG, "GPS 아카이브 로드 실패: " + e.getMessage(), e);
         }
         return geoPoints;
     }
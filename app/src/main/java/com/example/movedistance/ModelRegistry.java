@@ -0,0 +1,199 @@
+package com.example.movedistance;
+
+import android.content.Context;
+import android.util.Log;
+
+import org.pytorch.IValue;
+import org.pytorch.Module;
+import org.pytorch.Tensor;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 프로세스 전체에서 공유하는 PyTorch 모델 저장소.
+ * <p>
+ * 모델 파일마다 {@link Module} 을 한 번만 로드하고 SensorDataProcessor 와 PyTorchHelper 가 같은 인스턴스를 쓴다.
+ * 워커가 1분마다 새 SensorDataProcessor 를 만들어도 모델은 다시 로드하지 않는다.
+ * 같은 파일을 동시에 요청하면 먼저 온 쪽의 로드가 끝날 때까지 기다린 뒤 그 결과를 받는다.
+ * 로드에 실패하면 저장하지 않으므로 다음 요청에서 다시 시도한다.
+ * 추론은 {@link #forward} 로 모듈 단위로 직렬화한다 (워밍업과 예측이 겹칠 수 있음).
+ */
+public final class ModelRegistry {
+    private static final String TAG = "ModelRegistry";
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    /** assets 최상위 파일 이름 (프로세스에 한 번만 조회) */
+    private static volatile Set<String> assetNames;
+
+    private ModelRegistry() {
+    }
+
+    /**
+     * 모델 파일의 공유 모듈 (처음 요청 시 assets 에서 복사 후 로드)
+     */
+    public static Module get(Context context, String modelFile) throws IOException {
+        return entry(modelFile).load(context);
+    }
+
+    /**
+     * 모듈 추론 (같은 모듈에 대한 호출은 한 번에 하나씩)
+     */
+    public static Tensor forward(Module model, Tensor input) {
+        synchronized (model) {
+            return model.forward(IValue.from(input)).toTensor();
+        }
+    }
+
+    /**
+     * 백그라운드 스레드에서 모델을 로드하고 0 입력으로 한 번 추론 (이미 워밍업했으면 아무것도 하지 않음)
+     * @param inputShape 모델 입력 크기 (예: [1, 340, 60])
+     */
+    public static void warmUpAsync(Context context, String modelFile, long[] inputShape) {
+        if (entry(modelFile).warmUpNanos >= 0) {
+            return;
+        }
+        Context appContext = context.getApplicationContext();
+        Thread thread = new Thread(() -> warmUp(appContext, modelFile, inputShape), "ModelWarmUp-" + modelFile);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * 현재 스레드에서 모델 로드 + 0 입력 추론 한 번
+     * @return 성공하면 true
+     */
+    public static boolean warmUp(Context context, String modelFile, long[] inputShape) {
+        Entry entry = entry(modelFile);
+        try {
+            Module model = entry.load(context);
+            synchronized (entry) {
+                if (entry.warmUpNanos >= 0) {
+                    return true;
+                }
+                int length = 1;
+                for (long size : inputShape) {
+                    length *= (int) size;
+                }
+                long start = System.nanoTime();
+                forward(model, Tensor.fromBlob(new float[length], inputShape));
+                entry.warmUpNanos = System.nanoTime() - start;
+            }
+            Log.d(TAG, "✅ 모델 워밍업 완료: " + modelFile + " (로드 " + loadTimeMs(modelFile)
+                    + " ms, 첫 추론 " + warmUpLatencyMs(modelFile) + " ms)");
+            return true;
+        } catch (Exception e) {
+            Log.w(TAG, "⚠ 모델 워밍업 실패: " + modelFile + " - " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 모델 파일을 로드할 수 있는지 여부 (이미 로드됨, 내부 저장소에 복사본 있음, 또는 assets 에 포함됨).
+     * 로드를 시도하지 않으므로 없는 모델 때문에 매번 예외 로그가 남지 않는다.
+     */
+    public static boolean isAvailable(Context context, String modelFile) {
+        if (isLoaded(modelFile)) {
+            return true;
+        }
+        File file = new File(context.getFilesDir(), modelFile);
+        if (file.exists() && file.length() > 0) {
+            return true;
+        }
+        return assetNames(context).contains(modelFile);
+    }
+
+    /** 모델이 로드되어 있는지 여부 */
+    public static boolean isLoaded(String modelFile) {
+        Entry entry = entries.get(modelFile);
+        return entry != null && entry.loadNanos >= 0;
+    }
+
+    /** 모델 로드 시간 (assets 복사 포함, ms). 아직 로드하지 않았으면 -1 */
+    public static long loadTimeMs(String modelFile) {
+        Entry entry = entries.get(modelFile);
+        return entry != null && entry.loadNanos >= 0 ? entry.loadNanos / 1_000_000L : -1L;
+    }
+
+    /** 워밍업 추론 한 번의 지연 시간 (ms). 아직 워밍업하지 않았으면 -1 */
+    public static long warmUpLatencyMs(String modelFile) {
+        Entry entry = entries.get(modelFile);
+        return entry != null && entry.warmUpNanos >= 0 ? entry.warmUpNanos / 1_000_000L : -1L;
+    }
+
+    private static Set<String> assetNames(Context context) {
+        Set<String> names = assetNames;
+        if (names == null) {
+            try {
+                String[] list = context.getAssets().list("");
+                names = list == null ? Collections.emptySet() : new HashSet<>(Arrays.asList(list));
+            } catch (IOException e) {
+                // 저장하지 않고 다음 요청에서 다시 조회
+                Log.w(TAG, "⚠ assets 목록 조회 실패: " + e.getMessage());
+                return Collections.emptySet();
+            }
+            assetNames = names;
+        }
+        return names;
+    }
+
+    private static Entry entry(String modelFile) {
+        return entries.computeIfAbsent(modelFile, Entry::new);
+    }
+
+    /**
+     * Assets 에서 파일을 내부 저장소로 복사 (이미 있으면 그대로)
+     */
+    private static String assetFilePath(Context context, String filename) throws IOException {
+        File file = new File(context.getFilesDir(), filename);
+        if (file.exists() && file.length() > 0) {
+            return file.getAbsolutePath();
+        }
+        try (InputStream is = context.getAssets().open(filename);
+             FileOutputStream fos = new FileOutputStream(file)) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                fos.write(buffer, 0, read);
+            }
+            fos.flush();
+        }
+        return file.getAbsolutePath();
+    }
+
+    private static final class Entry {
+        private final String modelFile;
+        private final Object loadLock = new Object();
+        private volatile Module module;
+        private volatile long loadNanos = -1L;
+        private volatile long warmUpNanos = -1L;
+
+        Entry(String modelFile) {
+            this.modelFile = modelFile;
+        }
+
+        Module load(Context context) throws IOException {
+            Module loaded = module;
+            if (loaded != null) {
+                return loaded;
+            }
+            synchronized (loadLock) {
+                if (module == null) {
+                    long start = System.nanoTime();
+                    String modelPath = assetFilePath(context, modelFile);
+                    module = Module.load(modelPath);
+                    loadNanos = System.nanoTime() - start;
+                    Log.d(TAG, "PyTorch 모델 로드 완료: " + modelPath + " (" + loadNanos / 1_000_000L + " ms)");
+                }
+                return module;
+            }
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.example.movedistance;
 import android.content.Context;
 import android.util.Log;
 import android.widget.Toast;
-import org.pytorch.IValue;
 import org.pytorch.Module;
 import org.pytorch.Tensor;
 
@@ -33,9 +32,8 @@ public class PyTorchHelper {
         this.context = context;
         this.predictedResult = "알 수 없음"; // 초기값 설정
         try {
-            String modelPath = assetFilePath(context, MODEL_FILENAME);
-            model = Module.load(modelPath);
-            Log.d(TAG, "PyTorch 모델 로드 완료: " + modelPath);
+            // ✅ SensorDataProcessor 와 같은 모듈 공유 (프로세스당 한 번 로드)
+            model = ModelRegistry.get(context, MODEL_FILENAME);
         } catch (IOException e) {
             Log.e(TAG, "모델 파일 복사 오류: " + e.getMessage(), e);
             Toast.makeText(context, "모델 로드 실패", Toast.LENGTH_LONG).show();
@@ -118,7 +116,7 @@ public class PyTorchHelper {
             }
 
             // 2. 모델 추론
-            Tensor outputTensor = model.forward(IValue.from(inputTensor)).toTensor();
+            Tensor outputTensor = ModelRegistry.forward(model, inputTensor);
             Log.d(TAG, "✅ 출력 텐서 크기: " + Arrays.toString(outputTensor.shape()));
 
             // 3. 결과 처리
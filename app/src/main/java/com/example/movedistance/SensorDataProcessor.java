@@ -1,6 +1,9 @@
 package com.example.movedistance;
 
 import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.BatteryManager;
 import android.util.Log;
 import androidx.work.PeriodicWorkRequest;
 import androidx.work.WorkManager;
@@ -10,20 +13,23 @@ import androidx.work.WorkerParameters;
 import com.example.movedistance.AP.APProcessor;
 import com.example.movedistance.BTS.BTSProcessor;
 import com.example.movedistance.GPS.GPSProcessor;
+import com.example.movedistance.IMU.IMUFeatureBlock;
+import com.example.movedistance.IMU.IMUFeatureProfile;
+import com.example.movedistance.IMU.IMUFeatureSchema;
+import com.example.movedistance.IMU.IMUFrame;
 import com.example.movedistance.IMU.IMUProcessor;
+import com.example.movedistance.Storage.ConsumptionCursor;
+import com.example.movedistance.Storage.CsvCursor;
+import com.example.movedistance.Storage.IMUSegmentReader;
 
-import org.pytorch.IValue;
 import org.pytorch.Module;
 import org.pytorch.Tensor;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
 import java.security.Provider;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -31,26 +37,34 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 public class SensorDataProcessor {
     private static final String TAG = "SensorDataProcessor";
-    private static final String MODEL_FILENAME = "model.pt";
     private static final String[] TRANSPORT_MODES = {
             "WALK", "BIKE", "BUS", "CAR", "SUBWAY", "ETC", "OTHER1", "OTHER2", "OTHER3", "OTHER4", "OTHER5"
     };
     private static final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyyMMdd", Locale.getDefault());
     static final long ONE_MINUTE_MS = 60 * 1000;
     private static final int MIN_DATA_SIZE = 60;
+    // 모델 입력: 시간 단계(60) × 특징, 앞 10 열은 AP/BTS/GPS, 뒤는 프로파일의 IMU 특징 (FULL 은 330 열)
+    private static final int FEATURE_STEPS = 60;
+    private static final int CONTEXT_COLUMNS = 340 - IMUFeatureSchema.DEFAULT.size();
+    // 충전 중이 아니고 배터리가 이 값(%) 이하이면 LIGHT 프로파일 사용
+    private static final int LOW_BATTERY_PERCENT = 20;
+
+    // 사용자 설정 프로파일 (null 이면 배터리 상태로 자동 선택)
+    private static volatile IMUFeatureProfile profileSetting;
 
     private final Context context;
-    private Module model;
+    private final Map<IMUFeatureProfile, Module> models = new EnumMap<>(IMUFeatureProfile.class);
+    private final Map<IMUFeatureProfile, IMUFeatureBlock> featureBlocks = new EnumMap<>(IMUFeatureProfile.class);
+    private IMUFeatureProfile activeProfile = IMUFeatureProfile.FULL;
     private String predictedResult;
     private final List<Map<String, Object>> apDataList = new ArrayList<>();
     private final List<Map<String, Object>> apProcessedDataList = new ArrayList<>();
@@ -58,230 +72,521 @@ public class SensorDataProcessor {
     private final List<Map<String, Object>> btsProcessedDataList = new ArrayList<>();
     private final List<Map<String, Object>> gpsDataList = new ArrayList<>();
     private final List<Map<String, Object>> gpsProcessedDataList = new ArrayList<>();
-    private final List<Map<String, Object>> imuDataList = new ArrayList<>();
-    private final List<Map<String, Object>> imuProcessedDataList = new ArrayList<>();
+    private int imuProcessedRows;
+    // 로드한 데이터를 처리한 뒤 저장할 센서별 소비 커서
+    private final Map<String, ConsumptionCursor> pendingCursors = new HashMap<>();
+    private IMUFrame pendingIMUFrame;
 
     public SensorDataProcessor(Context context) {
         this.context = context;
         this.predictedResult = "알 수 없음";
+        loadModel(IMUFeatureProfile.FULL);
+    }
+
+    /**
+     * 특징 프로파일 설정 (null 이면 배터리 상태로 자동 선택)
+     * 다음 processIMUData 호출부터 적용된다.
+     */
+    public static void setFeatureProfile(IMUFeatureProfile profile) {
+        profileSetting = profile;
+    }
+
+    public static IMUFeatureProfile getFeatureProfile() {
+        return profileSetting;
+    }
+
+    /**
+     * 서비스 시작 시 FULL 모델을 백그라운드 스레드에서 미리 로드하고 0 입력으로 한 번 추론
+     * (첫 워커 실행이 모델 로드와 첫 추론 지연을 기다리지 않도록)
+     */
+    public static void warmUpModel(Context context) {
+        IMUFeatureProfile profile = IMUFeatureProfile.FULL;
+        long[] inputShape = {1, CONTEXT_COLUMNS + profile.schema().size(), FEATURE_STEPS};
+        ModelRegistry.warmUpAsync(context, profile.modelFile(), inputShape);
+    }
+
+    /** 마지막 IMU 처리에 사용한 프로파일 */
+    public IMUFeatureProfile getActiveProfile() {
+        return activeProfile;
+    }
+
+    /** 프로파일의 모델 준비 (프로세스에 한 번만 로드되는 {@link ModelRegistry} 모듈 공유) */
+    private boolean loadModel(IMUFeatureProfile profile) {
+        if (models.containsKey(profile)) {
+            return true;
+        }
         try {
-            String modelPath = assetFilePath(context, MODEL_FILENAME);
-            model = Module.load(modelPath);
-            Log.d(TAG, "PyTorch 모델 로드 완료: " + modelPath);
+            models.put(profile, ModelRegistry.get(context, profile.modelFile()));
+            return true;
         } catch (IOException e) {
             Log.e(TAG, "모델 파일 복사 오류: " + e.getMessage(), e);
         } catch (Exception e) {
             Log.e(TAG, "모델 로드 중 오류: " + e.getMessage(), e);
         }
+        return false;
     }
 
-    private String assetFilePath(Context context, String filename) throws IOException {
-        File file = new File(context.getFilesDir(), filename);
-        if (file.exists() && file.length() > 0) {
-            return file.getAbsolutePath();
+    /**
+     * 이번 분에 사용할 프로파일 선택
+     * 설정값이 있으면 그대로, 없으면 충전 중이 아니고 배터리가 부족하며 LIGHT 모델이 앱에 포함되어 있을 때 LIGHT.
+     * 프로파일의 모델이 없거나 로드할 수 없으면 FULL 로 되돌린다.
+     */
+    private IMUFeatureProfile selectFeatureProfile() {
+        IMUFeatureProfile profile = profileSetting;
+        if (profile == null) {
+            profile = isLowBattery() && ModelRegistry.isAvailable(context, IMUFeatureProfile.LIGHT.modelFile())
+                    ? IMUFeatureProfile.LIGHT : IMUFeatureProfile.FULL;
         }
-        try (InputStream is = context.getAssets().open(filename);
-             FileOutputStream fos = new FileOutputStream(file)) {
-            byte[] buffer = new byte[4096];
-            int read;
-            while ((read = is.read(buffer)) != -1) {
-                fos.write(buffer, 0, read);
-            }
-            fos.flush();
+        if (profile != IMUFeatureProfile.FULL
+                && (!ModelRegistry.isAvailable(context, profile.modelFile()) || !loadModel(profile))) {
+            Log.w(TAG, "⚠ " + profile + " 모델이 없어 FULL 프로파일 사용");
+            profile = IMUFeatureProfile.FULL;
         }
-        return file.getAbsolutePath();
+        return profile;
     }
 
+    private boolean isLowBattery() {
+        Intent battery = context.registerReceiver(null, new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+        if (battery == null) {
+            return false;
+        }
+        int status = battery.getIntExtra(BatteryManager.EXTRA_STATUS, -1);
+        if (status == BatteryManager.BATTERY_STATUS_CHARGING || status == BatteryManager.BATTERY_STATUS_FULL) {
+            return false;
+        }
+        int level = battery.getIntExtra(BatteryManager.EXTRA_LEVEL, -1);
+        int scale = battery.getIntExtra(BatteryManager.EXTRA_SCALE, -1);
+        if (level < 0 || scale <= 0) {
+            return false;
+        }
+        return level * 100 / scale <= LOW_BATTERY_PERCENT;
+    }
+
+    /** 프로파일의 모델 입력 블록 ([60 × (10 + IMU 특징 수)], 프로파일별로 한 번 생성) */
+    private IMUFeatureBlock featureBlock(IMUFeatureProfile profile) {
+        IMUFeatureBlock block = featureBlocks.get(profile);
+        if (block == null) {
+            IMUFeatureSchema schema = profile.schema();
+            int columns = CONTEXT_COLUMNS + schema.size();
+            block = new IMUFeatureBlock(new float[FEATURE_STEPS * columns], FEATURE_STEPS, columns, CONTEXT_COLUMNS, schema);
+            featureBlocks.put(profile, block);
+        }
+        return block;
+    }
+
+    /**
+     * 센서의 1분 데이터 로드.
+     * 소비 커서 뒤의 행만 읽고, 첫 행부터 1분 구간이 끝나면 (남은 행이 최소 개수를 넘는 것이 확인되는 대로) 읽기를 멈춘다.
+     * 날짜 선택 규칙과 데이터가 부족할 때 남은 행을 모두 돌려주는 동작은 기존과 같다.
+     * 처리가 끝나면 {@link #commitConsumedData} 로 커서를 저장한다.
+     */
     private List<Map<String, Object>> loadOneMinuteCSVData(String sensorType) {
-        List<Map<String, Object>> dataList = new ArrayList<>();
         Calendar calendar = Calendar.getInstance();
         String currentDate = dateFormat.format(calendar.getTime());
         int minSize = (sensorType.equals("IMU") ? MIN_DATA_SIZE * 100 : MIN_DATA_SIZE);
 
-        dataList = loadCSVDataForDate(sensorType, currentDate);
-        if (dataList.size() >= minSize) {
-            return filterOneMinuteData(dataList);
+        List<Map<String, Object>> dataList = new ArrayList<>();
+        CsvWindow window = loadCSVDataForDate(sensorType, currentDate, minSize, dataList);
+        if (window.enough(minSize)) {
+            return window.commitWindow(sensorType, dataList);
         } else {
-            Log.w(TAG, sensorType + " 데이터 부족: " + dataList.size() + ", 최소: " + minSize);
+            Log.w(TAG, sensorType + " 데이터 부족: " + window.total + ", 최소: " + minSize);
         }
 
         calendar.add(Calendar.DAY_OF_YEAR, 1);
         String nextDate = dateFormat.format(calendar.getTime());
         File nextFile = new File(context.getExternalFilesDir(null), "SensorData/" + nextDate + "_" + sensorType + ".csv");
         if (nextFile.exists()) {
-            dataList = loadCSVDataForDate(sensorType, nextDate);
+            dataList = new ArrayList<>();
+            window = loadCSVDataForDate(sensorType, nextDate, minSize, dataList);
             Log.d(TAG, sensorType + " 다음 날 데이터 로드: " + nextDate);
-            if (dataList.size() >= minSize) {
-                return filterOneMinuteData(dataList);
+            if (window.enough(minSize)) {
+                return window.commitWindow(sensorType, dataList);
             } else {
-                Log.w(TAG, sensorType + " 다음 날 데이터도 부족: " + dataList.size());
+                Log.w(TAG, sensorType + " 다음 날 데이터도 부족: " + window.total);
             }
         } else {
             Log.e(TAG, sensorType + " 다음 날 파일 없음: " + nextDate);
         }
 
-        return dataList;
+        return window.commitAll(sensorType, dataList);
     }
 
-    private List<Map<String, Object>> loadCSVDataForDate(String sensorType, String date) {
-        List<Map<String, Object>> dataList = new ArrayList<>();
+    /**
+     * 날짜 CSV 의 소비 커서 뒤 행을 dataList 에 로드 (1분 구간 + 최소 개수 확인에 필요한 만큼만)
+     */
+    private CsvWindow loadCSVDataForDate(String sensorType, String date, int minSize, List<Map<String, Object>> dataList) {
         String fileName = date + "_" + sensorType + ".csv";
         File file = new File(context.getExternalFilesDir(null), "SensorData/" + fileName);
 
         if (!file.exists()) {
             Log.e(TAG, "CSV 파일이 존재하지 않음: " + fileName);
-            return dataList;
+            return new CsvWindow(null);
         }
 
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file)))) {
-            String headerLine = br.readLine();
-            if (headerLine == null) {
+        ConsumptionCursor cursor = ConsumptionCursor.load(file);
+        try (CsvCursor reader = new CsvCursor(file)) {
+            String[] headers = reader.readHeader();
+            if (headers == null) {
                 Log.e(TAG, "CSV 헤더가 없음: " + fileName);
-                return dataList;
+                return new CsvWindow(null);
             }
-            String[] headers = headerLine.split(",");
-
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] values = line.split(",");
-                if (values.length != headers.length) {
-                    Log.w(TAG, "CSV 데이터 불일치: " + line);
-                    continue;
-                }
-                Map<String, Object> data = new HashMap<>();
-                for (int i = 0; i < headers.length; i++) {
-                    String value = values[i];
-                    if (headers[i].equals("timestamp")) {
-                        try {
-                            // 실수형 처리 지원
-                            if (value.contains(".")) {
-                                data.put(headers[i], (long) Float.parseFloat(value));
-                            } else {
-                                data.put(headers[i], Long.parseLong(value));
-                            }
-                        } catch (NumberFormatException e) {
-                            Log.w(TAG, "타임스탬프 파싱 실패: " + value + ", 데이터 제외");
-                            data = null;
-                            break;
-                        }
-                    } else if (headers[i].equals("bssid") || headers[i].equals("ssid") || headers[i].equals("capabilities")) {
-                        data.put(headers[i], value);
-                    } else if (value.isEmpty()) {
-                        data.put(headers[i], 0.0f);
-                    } else {
-                        try {
-                            data.put(headers[i], Float.parseFloat(value));
-                        } catch (NumberFormatException e) {
-                            data.put(headers[i], value);
-                        }
-                    }
+            CsvRowMapper mapper = new CsvRowMapper(headers);
+
+            CsvWindow window = readCsvWindow(reader, cursor, minSize, row -> {
+                Map<String, Object> data = mapper.map(row);
+                if (data == null) {
+                    return null;
                 }
-                if (data != null) dataList.add(data);
-            }
+                dataList.add(data);
+                return (Long) data.get("timestamp");
+            });
             Log.d(TAG, sensorType + " 데이터 로드 완료 (" + date + "), 크기: " + dataList.size());
+            return window;
         } catch (IOException e) {
             Log.e(TAG, "CSV 로드 실패: " + sensorType + " (" + date + ")", e);
         }
-        return dataList;
+        return new CsvWindow(null);
     }
 
-    private List<Map<String, Object>> filterOneMinuteData(List<Map<String, Object>> dataList) {
-        if (dataList.isEmpty()) return dataList;
-        Long earliestTimestamp = findEarliestTimestamp(dataList);
-        return dataList.stream()
-                .filter(data -> (Long) data.get("timestamp") <= earliestTimestamp + ONE_MINUTE_MS)
-                .collect(Collectors.toList());
+    /**
+     * AP/BTS/GPS 처리기에 넘길 행 Map 변환기.
+     * 열 종류(타임스탬프 / 문자열 / 숫자)는 헤더에서 한 번만 정하고, 값은 커서에서 바로 변환한다.
+     */
+    private static final class CsvRowMapper {
+        private static final int NUMBER = 0;
+        private static final int TIMESTAMP = 1;
+        private static final int TEXT = 2;
+
+        private final String[] headers;
+        private final int[] kinds;
+        private final boolean hasTimestamp;
+
+        CsvRowMapper(String[] headers) {
+            this.headers = headers;
+            this.kinds = new int[headers.length];
+            boolean timestamp = false;
+            for (int i = 0; i < headers.length; i++) {
+                if (headers[i].equals("timestamp")) {
+                    kinds[i] = TIMESTAMP;
+                    timestamp = true;
+                } else if (headers[i].equals("bssid") || headers[i].equals("ssid") || headers[i].equals("capabilities")) {
+                    kinds[i] = TEXT;
+                } else {
+                    kinds[i] = NUMBER;
+                }
+            }
+            this.hasTimestamp = timestamp;
+        }
+
+        /** 현재 행을 Map 으로 변환 (열 개수가 다르거나 타임스탬프 파싱 실패 시 null) */
+        Map<String, Object> map(CsvCursor row) {
+            if (row.fieldCount() != headers.length) {
+                Log.w(TAG, "CSV 데이터 불일치: " + row.rowText());
+                return null;
+            }
+            if (!hasTimestamp) {
+                return null;
+            }
+            Map<String, Object> data = new HashMap<>();
+            for (int i = 0; i < headers.length; i++) {
+                if (kinds[i] == TIMESTAMP) {
+                    try {
+                        // 실수형 처리 지원 (소수부 절삭)
+                        data.put(headers[i], row.getTimestamp(i));
+                    } catch (NumberFormatException e) {
+                        Log.w(TAG, "타임스탬프 파싱 실패: " + row.getString(i) + ", 데이터 제외");
+                        return null;
+                    }
+                } else if (kinds[i] == TEXT) {
+                    data.put(headers[i], row.getString(i));
+                } else if (row.isEmpty(i)) {
+                    data.put(headers[i], 0.0f);
+                } else {
+                    try {
+                        data.put(headers[i], row.getFloat(i));
+                    } catch (NumberFormatException e) {
+                        data.put(headers[i], row.getString(i));
+                    }
+                }
+            }
+            return data;
+        }
     }
 
-    private void removeProcessedDataFromCSV(String sensorType, List<Map<String, Object>> usedData) {
-        String date = dateFormat.format(System.currentTimeMillis());
-        String fileName = date + "_" + sensorType + ".csv";
+    /** 커서의 현재 행을 추가하고 타임스탬프를 돌려줌 (형식 오류로 건너뛰면 null) */
+    private interface CsvRowSink {
+        Long add(CsvCursor row);
+    }
+
+    /**
+     * 커서 위치부터 행을 읽어 sink 에 추가.
+     * 첫 행 타임스탬프 + 1분을 넘는 첫 행에서 1분 구간을 닫고, 전체 행 수가 minSize 에 이르면 멈춘다.
+     */
+    private CsvWindow readCsvWindow(CsvCursor reader, ConsumptionCursor cursor, int minSize,
+                                    CsvRowSink sink) throws IOException {
+        CsvWindow window = new CsvWindow(cursor);
+        if (cursor.offset() > reader.position()) {
+            if (cursor.isValidFor(reader.length())) {
+                reader.seek(cursor.offset());
+            } else {
+                Log.w(TAG, "⚠ 커서가 파일 밖을 가리킴, 처음부터 읽음: " + cursor.dayFile().getName());
+            }
+        }
+
+        long windowLimit = Long.MAX_VALUE;
+        while (reader.next()) {
+            Long timestamp = sink.add(reader);
+            if (timestamp != null) {
+                if (window.total == 0) {
+                    windowLimit = timestamp + ONE_MINUTE_MS;
+                }
+                if (window.windowRows < 0 && timestamp > windowLimit) {
+                    // ✅ 1분 구간 종료: 이 줄부터는 다음 처리에서 읽음
+                    window.windowRows = window.total;
+                    window.windowOffset = reader.rowOffset();
+                    window.windowLastTimestamp = window.lastTimestamp;
+                }
+                window.total++;
+                window.lastTimestamp = Math.max(window.lastTimestamp, timestamp);
+                if (window.windowRows >= 0 && window.total >= minSize) {
+                    break;
+                }
+            }
+        }
+        window.endOffset = reader.position();
+        if (window.windowRows < 0) {
+            window.windowRows = window.total;
+            window.windowOffset = window.endOffset;
+            window.windowLastTimestamp = window.lastTimestamp;
+        }
+        return window;
+    }
+
+    /** 커서 뒤에서 읽은 행 범위와 처리 후 저장할 커서 위치 */
+    private final class CsvWindow {
+        private final ConsumptionCursor cursor;
+        int total;
+        long lastTimestamp = Long.MIN_VALUE;
+        int windowRows = -1;
+        long windowOffset;
+        long windowLastTimestamp;
+        long endOffset;
+
+        CsvWindow(ConsumptionCursor cursor) {
+            this.cursor = cursor;
+        }
+
+        boolean enough(int minSize) {
+            return total >= minSize;
+        }
+
+        /** 1분 구간만 돌려주고, 처리 후 커서를 구간 끝으로 */
+        List<Map<String, Object>> commitWindow(String sensorType, List<Map<String, Object>> dataList) {
+            if (cursor != null) {
+                pendingCursors.put(sensorType, cursor.advance(windowOffset, windowLastTimestamp));
+            }
+            return new ArrayList<>(dataList.subList(0, windowRows));
+        }
+
+        /** 읽은 행을 모두 돌려주고, 처리 후 커서를 읽은 끝으로 */
+        List<Map<String, Object>> commitAll(String sensorType, List<Map<String, Object>> dataList) {
+            if (cursor != null) {
+                pendingCursors.put(sensorType, cursor.advance(endOffset, lastTimestamp));
+            } else {
+                pendingCursors.remove(sensorType);
+            }
+            return dataList;
+        }
+    }
+
+    /**
+     * IMU 1분 데이터를 열 단위 프레임으로 로드 (행마다 Map 을 만들지 않음)
+     * 날짜 선택 규칙과 소비 커서 처리는 loadOneMinuteCSVData 와 같다.
+     */
+    private IMUFrame loadOneMinuteIMUFrame() {
+        Calendar calendar = Calendar.getInstance();
+        String currentDate = dateFormat.format(calendar.getTime());
+        int minSize = MIN_DATA_SIZE * 100;
+
+        IMUFrame frame = loadIMUFrameForDate(currentDate, minSize);
+        if (frame != null) {
+            return frame;
+        }
+
+        calendar.add(Calendar.DAY_OF_YEAR, 1);
+        String nextDate = dateFormat.format(calendar.getTime());
+        if (imuSegmentFile(nextDate).exists() || new File(context.getExternalFilesDir(null), "SensorData/" + nextDate + "_IMU.csv").exists()) {
+            Log.d(TAG, "IMU 다음 날 데이터 로드: " + nextDate);
+            frame = loadIMUFrameForDate(nextDate, minSize);
+            if (frame != null) {
+                return frame;
+            }
+        } else {
+            Log.e(TAG, "IMU 다음 날 파일 없음: " + nextDate);
+        }
+
+        // 데이터가 부족하면 마지막으로 읽은 날짜의 남은 행 전체
+        return pendingIMUFrame != null ? pendingIMUFrame : new IMUFrame.Decoder(IMUFrame.TIMESTAMP).build();
+    }
+
+    /** IMU 바이너리 세그먼트 파일 (SensorDataService 가 기록) */
+    private File imuSegmentFile(String date) {
+        return new File(context.getExternalFilesDir(null), "SensorData/" + date + "_IMU.bin");
+    }
+
+    /**
+     * 날짜의 IMU 데이터 중 소비 커서 뒤의 1분 구간 로드.
+     * 바이너리 세그먼트 파일(.bin)이 있으면 그것을, 없으면 이전 버전이 남긴 CSV 를 읽는다.
+     * @return 남은 행이 minSize 이상이면 1분 구간, 아니면 null (남은 행 전체는 pendingIMUFrame 에 보관)
+     */
+    private IMUFrame loadIMUFrameForDate(String date, int minSize) {
+        pendingIMUFrame = null;
+        pendingCursors.remove("IMU");
+        File segmentFile = imuSegmentFile(date);
+        if (segmentFile.exists()) {
+            return loadIMUSegmentFrame(segmentFile, date, minSize);
+        }
+
+        String fileName = date + "_IMU.csv";
         File file = new File(context.getExternalFilesDir(null), "SensorData/" + fileName);
 
         if (!file.exists()) {
-            Log.d(TAG, "제거할 CSV 파일 없음: " + fileName);
-            return;
+            Log.e(TAG, "CSV 파일이 존재하지 않음: " + fileName);
+            return null;
         }
 
-        List<Map<String, Object>> remainingData = new ArrayList<>();
-        String headerLine; // try 블록 내에서만 사용
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file)))) {
-            headerLine = br.readLine();
-            if (headerLine == null) {
-                Log.e(TAG, "CSV 헤더 없음: " + fileName);
-                return;
+        ConsumptionCursor cursor = ConsumptionCursor.load(file);
+        try (CsvCursor reader = new CsvCursor(file)) {
+            String[] headers = reader.readHeader();
+            if (headers == null) {
+                Log.e(TAG, "CSV 헤더가 없음: " + fileName);
+                return null;
             }
-            String[] headers = headerLine.split(",");
-
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] values = line.split(",");
-                if (values.length != headers.length) continue;
-                Map<String, Object> data = new HashMap<>();
-                for (int i = 0; i < headers.length; i++) {
-                    String value = values[i];
-                    if (headers[i].equals("timestamp")) {
-                        try {
-                            if (value.contains(".")) {
-                                data.put(headers[i], (long) Float.parseFloat(value));
-                            } else {
-                                data.put(headers[i], Long.parseLong(value));
-                            }
-                        } catch (NumberFormatException e) {
-                            Log.w(TAG, "타임스탬프 파싱 실패: " + value + ", 데이터 제외");
-                            data = null;
-                            break;
-                        }
-                    } else if (headers[i].equals("bssid") || headers[i].equals("ssid") || headers[i].equals("capabilities")) {
-                        data.put(headers[i], value);
-                    } else if (value.isEmpty()) {
-                        data.put(headers[i], 0.0f);
-                    } else {
-                        try {
-                            data.put(headers[i], Float.parseFloat(value));
-                        } catch (NumberFormatException e) {
-                            data.put(headers[i], value);
-                        }
-                    }
-                }
-                if (data != null) {
-                    Map<String, Object> finalData = data;
-                    boolean isUsed = usedData.stream().anyMatch(used -> {
-                        Object usedTs = used.get("timestamp");
-                        Object dataTs = finalData.get("timestamp");
-                        return usedTs != null && dataTs != null && usedTs.equals(dataTs);
-                    });
-                    if (!isUsed) remainingData.add(data);
+            // ✅ 헤더에서 열 인덱스를 한 번만 확정하고 각 행을 열 배열에 바로 기록
+            IMUFrame.Decoder decoder = new IMUFrame.Decoder(headers);
+            CsvWindow window = readCsvWindow(reader, cursor, minSize, row -> {
+                if (!decoder.add(row)) {
+                    Log.w(TAG, "CSV 데이터 불일치: " + row.rowText());
+                    return null;
                 }
+                return decoder.lastTimestamp();
+            });
+            Log.d(TAG, "IMU 데이터 로드 완료 (" + date + "), 크기: " + decoder.size());
+            IMUFrame frame = decoder.build();
+            if (window.enough(minSize)) {
+                pendingCursors.put("IMU", cursor.advance(window.windowOffset, window.windowLastTimestamp));
+                return frame.slice(0, window.windowRows);
             }
+            Log.w(TAG, "IMU 데이터 부족: " + window.total + ", 최소: " + minSize);
+            pendingCursors.put("IMU", cursor.advance(window.endOffset, window.lastTimestamp));
+            pendingIMUFrame = frame;
         } catch (IOException e) {
-            Log.e(TAG, "CSV 읽기 실패: " + sensorType, e);
-            return;
+            Log.e(TAG, "CSV 로드 실패: IMU (" + date + ")", e);
         }
+        return null;
+    }
 
-        try (FileWriter writer = new FileWriter(file, false)) {
-            if (headerLine != null) {
-                writer.append(headerLine).append("\n");
-                if (remainingData.isEmpty()) {
-                    Log.d(TAG, sensorType + " CSV 업데이트: 남은 데이터 없음, 헤더만 유지");
-                } else {
-                    for (Map<String, Object> data : remainingData) {
-                        StringBuilder line = new StringBuilder();
-                        for (Object value : data.values()) {
-                            if (line.length() > 0) line.append(",");
-                            line.append(value.toString());
-                        }
-                        writer.append(line.toString()).append("\n");
+    private IMUFrame loadIMUSegmentFrame(File file, String date, int minSize) {
+        ConsumptionCursor cursor = ConsumptionCursor.load(file);
+        long start = cursor.offset();
+        long after = cursor.lastTimestamp();
+        if (!cursor.isValidFor(file.length())) {
+            Log.w(TAG, "⚠ 커서가 파일 밖을 가리킴, 처음부터 읽음: " + file.getName());
+            start = 0;
+            after = Long.MIN_VALUE;
+        }
+        try {
+            // ✅ 커서 세그먼트부터만 색인하고, 필요한 행만 채널별로 열 배열에 복사 (문자열 파싱 없음)
+            IMUSegmentReader reader = IMUSegmentReader.open(file, start);
+            int skip = 0;
+            if (reader.segmentCount() > 0) {
+                LongBuffer first = reader.segment(0).timestamps();
+                while (skip < first.limit() && first.get(skip) <= after) {
+                    skip++;
+                }
+            }
+            int available = reader.rowCount() - skip;
+            boolean enough = available >= minSize;
+            if (!enough) {
+                Log.w(TAG, "IMU 데이터 부족: " + available + ", 최소: " + minSize);
+            }
+
+            // 1분 구간 (부족하면 전체): 첫 행부터 limit 이하인 연속 행
+            long limit = Long.MAX_VALUE;
+            int rows = 0;
+            long nextOffset = reader.segmentCount() > 0 ? reader.segment(0).offset() : start;
+            long lastTimestamp = Long.MIN_VALUE;
+            scan:
+            for (int s = 0; s < reader.segmentCount(); s++) {
+                IMUSegmentReader.Segment segment = reader.segment(s);
+                LongBuffer timestamps = segment.timestamps();
+                for (int r = s == 0 ? skip : 0; r < segment.rows(); r++) {
+                    long timestamp = timestamps.get(r);
+                    if (rows == 0 && enough) {
+                        limit = timestamp + ONE_MINUTE_MS;
+                    }
+                    if (timestamp > limit) {
+                        nextOffset = segment.offset();
+                        break scan;
                     }
-                    Log.d(TAG, sensorType + " CSV 업데이트 완료, 남은 데이터 크기: " + remainingData.size());
+                    rows++;
+                    lastTimestamp = Math.max(lastTimestamp, timestamp);
                 }
-            } else {
-                Log.w(TAG, "헤더가 null, 파일 비움");
+                nextOffset = segment.endOffset();
+            }
+
+            String[] channels = reader.channels();
+            long[] timestamps = new long[rows];
+            double[][] values = new double[channels.length][rows];
+            int row = 0;
+            for (int s = 0; s < reader.segmentCount() && row < rows; s++) {
+                IMUSegmentReader.Segment segment = reader.segment(s);
+                int from = s == 0 ? skip : 0;
+                int count = Math.min(segment.rows() - from, rows - row);
+                LongBuffer segmentTimestamps = segment.timestamps();
+                for (int r = 0; r < count; r++) {
+                    timestamps[row + r] = segmentTimestamps.get(from + r);
+                }
+                for (int c = 0; c < channels.length; c++) {
+                    FloatBuffer view = segment.channel(c);
+                    double[] column = values[c];
+                    for (int r = 0; r < count; r++) {
+                        column[row + r] = view.get(from + r);
+                    }
+                }
+                row += count;
             }
+            Log.d(TAG, "IMU 데이터 로드 완료 (" + date + "), 크기: " + rows);
+
+            IMUFrame frame = IMUFrame.fromColumns(channels, timestamps, values, rows);
+            pendingCursors.put("IMU", cursor.advance(nextOffset, lastTimestamp));
+            if (enough) {
+                return frame;
+            }
+            pendingIMUFrame = frame;
+        } catch (IOException e) {
+            Log.e(TAG, "세그먼트 로드 실패: IMU (" + date + ")", e);
+        }
+        return null;
+    }
+
+    /**
+     * 처리가 끝난 센서의 소비 커서 저장 (파일은 다시 쓰지 않음).
+     * 다음 로드는 이 위치부터 읽고, 소비된 앞부분은 날짜가 바뀔 때 아카이브하면서 버린다.
+     */
+    private void commitConsumedData(String sensorType) {
+        ConsumptionCursor cursor = pendingCursors.remove(sensorType);
+        if (cursor == null) {
+            return;
+        }
+        try {
+            cursor.save();
         } catch (IOException e) {
-            Log.e(TAG, "CSV 쓰기 실패: " + sensorType, e);
+            Log.e(TAG, "소비 커서 저장 실패: " + sensorType, e);
         }
     }
+
     public void processAPData() {
         apDataList.clear();
         apDataList.addAll(loadOneMinuteCSVData("AP"));
@@ -291,7 +596,7 @@ public class SensorDataProcessor {
             apProcessedDataList.clear();
             apProcessedDataList.addAll(processedData);
             Log.d(TAG, "Processed AP Data: " + processedData.toString());
-            removeProcessedDataFromCSV("AP", clonedApDataList);
+            commitConsumedData("AP");
         }
     }
 
@@ -304,7 +609,7 @@ public class SensorDataProcessor {
             btsProcessedDataList.clear();
             btsProcessedDataList.addAll(processedData);
             Log.d(TAG, "Processed BTS Data: " + processedData.toString());
-            removeProcessedDataFromCSV("BTS", clonedBtsDataList);
+            commitConsumedData("BTS");
         }
     }
 
@@ -317,20 +622,21 @@ public class SensorDataProcessor {
             gpsProcessedDataList.clear();
             gpsProcessedDataList.addAll(processedData);
             Log.d(TAG, "Processed GPS Data: " + processedData.toString());
-            removeProcessedDataFromCSV("GPS", clonedGpsDataList);
+            commitConsumedData("GPS");
         }
     }
 
     public void processIMUData() {
-        imuDataList.clear();
-        imuDataList.addAll(loadOneMinuteCSVData("IMU"));
-        if (!imuDataList.isEmpty()) {
-            List<Map<String, Object>> clonedImuDataList = cloneAndClearAPDataList(imuDataList);
-            List<Map<String, Object>> processedData = IMUProcessor.preImu(clonedImuDataList);
-            imuProcessedDataList.clear();
-            imuProcessedDataList.addAll(processedData);
-            Log.d(TAG, "Processed IMU Data: " + processedData.toString());
-            removeProcessedDataFromCSV("IMU", clonedImuDataList);
+        IMUFrame imuFrame = loadOneMinuteIMUFrame();
+        if (imuFrame.size() > 0) {
+            // ✅ IMU 특징을 선택된 프로파일의 모델 입력 블록 IMU 열에 바로 기록
+            IMUFeatureProfile profile = selectFeatureProfile();
+            IMUFeatureBlock block = featureBlock(profile);
+            Arrays.fill(block.data(), 0.0f);
+            imuProcessedRows = IMUProcessor.preImu(imuFrame, block, profile);
+            activeProfile = profile;
+            Log.d(TAG, "Processed IMU Data: " + imuProcessedRows + " rows (" + profile + ")");
+            commitConsumedData("IMU");
         }
     }
 
@@ -359,7 +665,7 @@ public class SensorDataProcessor {
         processIMUData();
 
         if (apProcessedDataList.isEmpty() || btsProcessedDataList.isEmpty() ||
-                gpsProcessedDataList.isEmpty() || imuProcessedDataList.isEmpty()) {
+                gpsProcessedDataList.isEmpty() || imuProcessedRows == 0) {
             Log.e(TAG, "❌ 하나 이상의 처리된 데이터가 없습니다.");
             return null;
         }
@@ -367,20 +673,25 @@ public class SensorDataProcessor {
         List<Map<String, Object>> sortedAPDataList = sortAndRemoveTimestamp(apProcessedDataList);
         List<Map<String, Object>> sortedBTSDataList = sortAndRemoveTimestamp(btsProcessedDataList);
         List<Map<String, Object>> sortedGPSDataList = sortAndRemoveTimestamp(gpsProcessedDataList);
-        List<Map<String, Object>> sortedIMUDataList = sortAndRemoveTimestamp(imuProcessedDataList);
 
-        List<Map<String, Object>> max = new ArrayList<>();
-        for (int i = 0; i < 60; i++) {
-            Map<String, Object> row = new LinkedHashMap<>();
-            row.putAll(getWithFallback(sortedAPDataList, 0));
-            row.putAll(getWithFallback(sortedBTSDataList, i % 12));
-            row.putAll(getWithFallback(sortedGPSDataList, i % 12));
-            row.putAll(getWithFallback(sortedIMUDataList, i));
-            max.add(row);
+        // ✅ IMU 데이터가 60초보다 짧으면 마지막 행으로 채움
+        IMUFeatureBlock block = featureBlock(activeProfile);
+        if (imuProcessedRows < FEATURE_STEPS) {
+            block.fillRowsFrom(imuProcessedRows - 1, imuProcessedRows);
+        }
+        float[] featureData = block.data();
+        int featureColumns = block.rowStride();
+        for (int i = 0; i < FEATURE_STEPS; i++) {
+            int column = i * featureColumns;
+            int end = column + block.columnOffset();
+            Arrays.fill(featureData, column, end, 0.0f);
+            column = putValues(featureData, getWithFallback(sortedAPDataList, 0), column, end);
+            column = putValues(featureData, getWithFallback(sortedBTSDataList, i % 12), column, end);
+            putValues(featureData, getWithFallback(sortedGPSDataList, i % 12), column, end);
         }
 
-        Log.d(TAG, "📌 MAX 데이터 리스트 크기: " + max.size());
-        return convertListMapToTensor(max);
+        Log.d(TAG, "📌 MAX 데이터 리스트 크기: " + FEATURE_STEPS + " (" + activeProfile + ")");
+        return Tensor.fromBlob(featureData, new long[]{1, featureColumns, FEATURE_STEPS});
     }
 
     private static Map<String, Object> getWithFallback(List<Map<String, Object>> list, int index) {
@@ -388,26 +699,14 @@ public class SensorDataProcessor {
         return list.get(Math.min(index, list.size() - 1));
     }
 
-    public static Tensor convertListMapToTensor(List<Map<String, Object>> dataList) {
-        int numRows = 340;
-        int numCols = 60;
-        float[] dataArray = new float[numRows * numCols];
-        int index = 0;
-
-        for (int col = 0; col < Math.min(numCols, dataList.size()); col++) {
-            Map<String, Object> map = dataList.get(col);
-            for (Object value : map.values()) {
-                if (value instanceof Number && index < dataArray.length) {
-                    dataArray[index++] = ((Number) value).floatValue();
-                }
+    /** 숫자 값을 featureData[index, end) 에 순서대로 기록하고 다음 인덱스 반환 */
+    private static int putValues(float[] featureData, Map<String, Object> map, int index, int end) {
+        for (Object value : map.values()) {
+            if (value instanceof Number && index < end) {
+                featureData[index++] = ((Number) value).floatValue();
             }
         }
-
-        while (index < numRows * numCols) {
-            dataArray[index++] = 0.0f;
-        }
-
-        return Tensor.fromBlob(dataArray, new long[]{1, numRows, numCols});
+        return index;
     }
 
     private List<Map<String, Object>> sortAndRemoveTimestamp(List<Map<String, Object>> dataList) {
@@ -465,7 +764,9 @@ public class SensorDataProcessor {
         try {
             long[] inputShape = inputTensor.shape();
             Log.d(TAG, "✅ 입력 텐서 크기: " + Arrays.toString(inputShape));
-            Tensor outputTensor = model.forward(IValue.from(inputTensor)).toTensor();
+            // ✅ 입력 텐서를 만든 프로파일의 모델 사용
+            Module model = models.get(activeProfile);
+            Tensor outputTensor = ModelRegistry.forward(model, inputTensor);
             Log.d(TAG, "✅ 출력 텐서 크기: " + Arrays.toString(outputTensor.shape()));
 
             float[] logits = outputTensor.getDataAsFloatArray();
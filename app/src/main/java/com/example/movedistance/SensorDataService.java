@@ -22,15 +22,19 @@ import android.util.Log;
 
 import androidx.core.content.ContextCompat;
 
+import com.example.movedistance.Storage.IMUSegmentWriter;
+import com.example.movedistance.Storage.SensorArchiver;
+import com.example.movedistance.Storage.TimeIndex;
 import com.google.android.gms.location.FusedLocationProviderClient;
 import com.google.android.gms.location.LocationServices;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
@@ -44,6 +48,12 @@ public class SensorDataService extends Service {
     private static final int MAX_IMU_PER_SECOND = 100; // 1초에 최대 25개
     private static final int INITIAL_DELAY_MS = 3000; // 최초 3초 지연
     private static final String TAG = "SensorDataService";
+    // IMU 세그먼트 파일 채널 순서 (기존 IMU CSV 헤더와 같음)
+    private static final String[] IMU_CHANNELS = {
+            "accel.x", "accel.y", "accel.z", "gyro.x", "gyro.y", "gyro.z", "mag.x", "mag.y", "mag.z",
+            "rot.w", "rot.x", "rot.y", "rot.z", "pressure",
+            "gravity.x", "gravity.y", "gravity.z", "linear_accel.x", "linear_accel.y", "linear_accel.z"
+    };
 
     private WifiManager wifiManager;
     private TelephonyManager telephonyManager;
@@ -51,9 +61,21 @@ public class SensorDataService extends Service {
     private SensorManager sensorManager;
     private final Handler handler = new Handler(Looper.getMainLooper());
     private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    // 마감된 날짜 아카이브 전용 (수백 MB 압축이 센서 기록을 막지 않도록 별도의 낮은 우선순위 스레드)
+    private final ExecutorService archiveExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "SensorArchiver");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
 
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyyMMdd", Locale.getDefault());
     private String currentDate;
+    // executorService 스레드에서만 사용
+    private IMUSegmentWriter imuWriter;
+    private String imuWriterDate;
+    private String archivedDate;
+    // CSV 날짜 파일 이름 → 시간 인덱스 기록기 (날짜가 바뀌면 닫고 비움)
+    private final Map<String, TimeIndex.Writer> indexWriters = new HashMap<>();
 
     @Override
     public void onCreate() {
@@ -71,6 +93,8 @@ public class SensorDataService extends Service {
             return;
         }
 
+        // ✅ 첫 예측 전에 모델 로드와 첫 추론을 백그라운드에서 끝내 둠
+        SensorDataProcessor.warmUpModel(this);
         handler.postDelayed(this::startDataCollection, INITIAL_DELAY_MS);
     }
 
@@ -201,7 +225,9 @@ public class SensorDataService extends Service {
             return;
         }
 
-        final List<Map<String, Object>> imuDataBuffer = new ArrayList<>(MAX_IMU_PER_SECOND);
+        // ✅ 1초 분량을 기본형 열 배열에 모아 세그먼트 하나로 기록 (행마다 Map / 문자열을 만들지 않음)
+        final long[] imuTimestamps = new long[MAX_IMU_PER_SECOND];
+        final float[][] imuValues = new float[IMU_CHANNELS.length][MAX_IMU_PER_SECOND];
         final long startTime = timestamp;
 
         class SensorDataHolder {
@@ -273,51 +299,45 @@ public class SensorDataService extends Service {
         sensorManager.registerListener(listener, linearAccelSensor, SensorManager.SENSOR_DELAY_NORMAL);
 
         Runnable imuCollector = new Runnable() {
+            final float[] quat = new float[4];
             int count = 0;
 
             @Override
             public void run() {
                 if (count >= MAX_IMU_PER_SECOND || System.currentTimeMillis() - startTime >= 1000) {
                     sensorManager.unregisterListener(listener);
-                    if (imuDataBuffer.isEmpty()) {
+                    if (count == 0) {
                         Log.w(TAG, "IMU 데이터 버퍼가 비어 있음");
                     } else {
-                        Log.d(TAG, "IMU 데이터 저장: " + imuDataBuffer.size() + "개");
-                        for (Map<String, Object> data : imuDataBuffer) {
-                            saveToCSV("IMU", data);
-                        }
+                        Log.d(TAG, "IMU 데이터 저장: " + count + "개");
+                        saveIMUSegment(imuTimestamps, imuValues, count);
                     }
-                    imuDataBuffer.clear();
                     return;
                 }
 
                 if (sensorData.isAllSet()) {
-                    Map<String, Object> data = new LinkedHashMap<>(20);
-                    data.put("timestamp", startTime);
-                    data.put("accel.x", sensorData.accel[0]);
-                    data.put("accel.y", sensorData.accel[1]);
-                    data.put("accel.z", sensorData.accel[2]);
-                    data.put("gyro.x", sensorData.gyro[0]);
-                    data.put("gyro.y", sensorData.gyro[1]);
-                    data.put("gyro.z", sensorData.gyro[2]);
-                    data.put("mag.x", sensorData.mag[0]);
-                    data.put("mag.y", sensorData.mag[1]);
-                    data.put("mag.z", sensorData.mag[2]);
-                    float[] quat = new float[4];
+                    imuTimestamps[count] = startTime;
+                    imuValues[0][count] = sensorData.accel[0];
+                    imuValues[1][count] = sensorData.accel[1];
+                    imuValues[2][count] = sensorData.accel[2];
+                    imuValues[3][count] = sensorData.gyro[0];
+                    imuValues[4][count] = sensorData.gyro[1];
+                    imuValues[5][count] = sensorData.gyro[2];
+                    imuValues[6][count] = sensorData.mag[0];
+                    imuValues[7][count] = sensorData.mag[1];
+                    imuValues[8][count] = sensorData.mag[2];
                     SensorManager.getQuaternionFromVector(quat, sensorData.rot);
-                    data.put("rot.w", quat[0]);
-                    data.put("rot.x", quat[1]);
-                    data.put("rot.y", quat[2]);
-                    data.put("rot.z", quat[3]);
-                    data.put("pressure", sensorData.pressure[0]);
-                    data.put("gravity.x", sensorData.gravity[0]);
-                    data.put("gravity.y", sensorData.gravity[1]);
-                    data.put("gravity.z", sensorData.gravity[2]);
-                    data.put("linear_accel.x", sensorData.linear[0]);
-                    data.put("linear_accel.y", sensorData.linear[1]);
-                    data.put("linear_accel.z", sensorData.linear[2]);
-
-                    imuDataBuffer.add(data);
+                    imuValues[9][count] = quat[0];
+                    imuValues[10][count] = quat[1];
+                    imuValues[11][count] = quat[2];
+                    imuValues[12][count] = quat[3];
+                    imuValues[13][count] = sensorData.pressure[0];
+                    imuValues[14][count] = sensorData.gravity[0];
+                    imuValues[15][count] = sensorData.gravity[1];
+                    imuValues[16][count] = sensorData.gravity[2];
+                    imuValues[17][count] = sensorData.linear[0];
+                    imuValues[18][count] = sensorData.linear[1];
+                    imuValues[19][count] = sensorData.linear[2];
                     count++;
                 }
                 handler.postDelayed(this, IMU_INTERVAL_MS);
@@ -327,6 +347,95 @@ public class SensorDataService extends Service {
         handler.post(imuCollector);
     }
 
+    /**
+     * 1초 분량 IMU 데이터를 YYYYMMDD_IMU.bin 세그먼트 파일에 추가
+     * (배열은 이후 수정되지 않으므로 복사 없이 executor 로 넘김)
+     */
+    private void saveIMUSegment(long[] timestamps, float[][] values, int rows) {
+        executorService.execute(() -> {
+            String currentDate = dateFormat.format(new Date());
+            archiveClosedDays(currentDate);
+            try {
+                // ✅ 날짜가 바뀌었거나 처리기가 파일을 교체했으면 다시 열기
+                if (imuWriter == null || !currentDate.equals(imuWriterDate) || imuWriter.isDetached()) {
+                    closeIMUWriter();
+                    File directory = new File(getExternalFilesDir(null), "SensorData");
+                    if (!directory.exists()) {
+                        directory.mkdirs();
+                    }
+                    imuWriter = new IMUSegmentWriter(new File(directory, currentDate + "_IMU.bin"), IMU_CHANNELS);
+                    imuWriterDate = currentDate;
+                }
+                imuWriter.append(timestamps, values, rows);
+            } catch (IOException e) {
+                Log.e(TAG, "IMU 세그먼트 저장 실패", e);
+                closeIMUWriter();
+            }
+        });
+    }
+
+    /**
+     * 날짜가 바뀌면(서비스 시작 포함) 이전 날짜의 센서 파일을 압축 아카이브로 변환.
+     * executorService 스레드에서는 이전 날짜 파일을 닫기만 하고, 압축은 archiveExecutor 에 넘긴다.
+     */
+    private void archiveClosedDays(String currentDate) {
+        if (currentDate.equals(archivedDate)) {
+            return;
+        }
+        archivedDate = currentDate;
+        closeIndexWriters();
+        if (imuWriter != null && !currentDate.equals(imuWriterDate)) {
+            closeIMUWriter();
+        }
+        File directory = new File(getExternalFilesDir(null), "SensorData");
+        archiveExecutor.execute(() -> {
+            int archived = SensorArchiver.archiveClosedDays(directory, currentDate);
+            if (archived > 0) {
+                Log.d(TAG, "이전 날짜 센서 파일 아카이브: " + archived + "개");
+            }
+        });
+    }
+
+    /**
+     * CSV 날짜 파일의 offset 에서 시작하는 행을 시간 인덱스(.idx)에 알림 (executorService 스레드)
+     */
+    private void indexRow(File dayFile, long timestamp, long offset) {
+        try {
+            TimeIndex.Writer writer = indexWriters.get(dayFile.getName());
+            if (writer == null) {
+                writer = new TimeIndex.Writer(dayFile);
+                indexWriters.put(dayFile.getName(), writer);
+            }
+            writer.add(timestamp, offset);
+        } catch (IOException e) {
+            Log.w(TAG, "시간 인덱스 기록 실패: " + dayFile.getName(), e);
+        }
+    }
+
+    private void closeIndexWriters() {
+        for (TimeIndex.Writer writer : indexWriters.values()) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                Log.w(TAG, "시간 인덱스 닫기 실패", e);
+            }
+        }
+        indexWriters.clear();
+    }
+
+    private void closeIMUWriter() {
+        if (imuWriter == null) {
+            return;
+        }
+        try {
+            imuWriter.close();
+        } catch (IOException e) {
+            Log.w(TAG, "IMU 세그먼트 파일 닫기 실패", e);
+        }
+        imuWriter = null;
+        imuWriterDate = null;
+    }
+
     private void saveToCSV(String sensorType, Map<String, Object> data) {
         executorService.execute(() -> {
             try {
@@ -336,6 +445,7 @@ public class SensorDataService extends Service {
                 }
 
                 String currentDate = dateFormat.format(new Date());
+                archiveClosedDays(currentDate);
                 String fileName = currentDate + "_" + sensorType + ".csv";
                 File file = new File(directory, fileName);
                 boolean needsHeader = !file.exists() || file.length() == 0;
@@ -345,10 +455,12 @@ public class SensorDataService extends Service {
                     return;
                 }
 
+                long offset = needsHeader ? 0L : file.length();
                 try (FileWriter writer = new FileWriter(file, true)) {
                     if (needsHeader) {
                         String header = String.join(",", data.keySet());
                         writer.append(header).append("\n");
+                        offset = header.getBytes(StandardCharsets.UTF_8).length + 1;
                         Log.d(TAG, sensorType + " CSV 헤더 기록: " + header);
                     }
                     StringBuilder line = new StringBuilder(data.size() * 10);
@@ -364,6 +476,10 @@ public class SensorDataService extends Service {
                     writer.append(line.toString()).append("\n");
 //                    Log.d(TAG, sensorType + " CSV 데이터 기록: " + line.toString());
                 }
+                Object timestamp = data.get("timestamp");
+                if (timestamp instanceof Number) {
+                    indexRow(file, ((Number) timestamp).longValue(), offset);
+                }
             } catch (IOException e) {
                 Log.e(TAG, "CSV 저장 실패: " + sensorType, e);
             }
@@ -373,6 +489,12 @@ public class SensorDataService extends Service {
     public void onDestroy() {
         super.onDestroy();
         handler.removeCallbacksAndMessages(null);
+        // ✅ 대기 중인 기록 작업이 아카이브를 맡길 수 있도록 기록 스레드가 끝난 뒤 종료
+        executorService.execute(() -> {
+            closeIMUWriter();
+            closeIndexWriters();
+            archiveExecutor.shutdown();
+        });
         executorService.shutdown();
     }
 }
\ No newline at end of file
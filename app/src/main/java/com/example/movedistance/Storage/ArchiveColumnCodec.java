@@ -0,0 +1,220 @@
+package com.example.movedistance.Storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 아카이브 열 하나의 인코딩 상태 (블록마다 {@link #reset()}).
+ * <ul>
+ *   <li>LONG: 첫 값 64비트, 이후 delta-of-delta 를 '0' / '10'+7 / '110'+9 / '1110'+12 / '1111'+64 비트로</li>
+ *   <li>FLOAT / DOUBLE: 첫 값 원본 비트, 이후 이전 값과의 XOR 을 Gorilla 방식으로
+ *       ('0' 같음, '10' 이전 유효 비트 구간 재사용, '11' + 앞 0 개수 + 길이 + 유효 비트)</li>
+ *   <li>STRING: '0' 이전 값과 같음, '10' + 사전 번호, '11' + 16비트 길이 + UTF-8 (사전에 추가)</li>
+ * </ul>
+ * 인코딩과 디코딩이 같은 상태 전이를 하므로 한 클래스에서 둘 다 처리한다.
+ */
+final class ArchiveColumnCodec {
+    private final ArchiveColumnType type;
+    private final int width;
+    private final int fieldBits;
+
+    private boolean first;
+    private long previous;
+    private long previousDelta;
+    private int previousLeading;
+    private int previousTrailing;
+    private String previousString;
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    ArchiveColumnCodec(ArchiveColumnType type) {
+        this.type = type;
+        this.width = type == ArchiveColumnType.FLOAT ? 32 : 64;
+        this.fieldBits = type == ArchiveColumnType.FLOAT ? 5 : 6;
+        reset();
+    }
+
+    void reset() {
+        first = true;
+        previous = 0;
+        previousDelta = 0;
+        previousLeading = -1;
+        previousTrailing = 0;
+        previousString = null;
+        dictionary.clear();
+        ids.clear();
+    }
+
+    /** 숫자 열 값 기록 (LONG 은 값, FLOAT / DOUBLE 은 원본 비트) */
+    void encode(BitOutput out, long value) {
+        if (type == ArchiveColumnType.LONG) {
+            encodeLong(out, value);
+        } else {
+            encodeXor(out, value);
+        }
+    }
+
+    long decode(BitInput in) throws IOException {
+        return type == ArchiveColumnType.LONG ? decodeLong(in) : decodeXor(in);
+    }
+
+    private void encodeLong(BitOutput out, long value) {
+        if (first) {
+            out.writeBits(value, 64);
+            first = false;
+            previous = value;
+            return;
+        }
+        long delta = value - previous;
+        long dod = delta - previousDelta;
+        if (dod == 0) {
+            out.writeBits(0b0, 1);
+        } else if (dod >= -64 && dod <= 63) {
+            out.writeBits(0b10, 2);
+            out.writeBits(dod, 7);
+        } else if (dod >= -256 && dod <= 255) {
+            out.writeBits(0b110, 3);
+            out.writeBits(dod, 9);
+        } else if (dod >= -2048 && dod <= 2047) {
+            out.writeBits(0b1110, 4);
+            out.writeBits(dod, 12);
+        } else {
+            out.writeBits(0b1111, 4);
+            out.writeBits(dod, 64);
+        }
+        previousDelta = delta;
+        previous = value;
+    }
+
+    private long decodeLong(BitInput in) throws IOException {
+        if (first) {
+            first = false;
+            previous = in.readBits(64);
+            return previous;
+        }
+        long dod;
+        if (!in.readBit()) {
+            dod = 0;
+        } else if (!in.readBit()) {
+            dod = signExtend(in.readBits(7), 7);
+        } else if (!in.readBit()) {
+            dod = signExtend(in.readBits(9), 9);
+        } else if (!in.readBit()) {
+            dod = signExtend(in.readBits(12), 12);
+        } else {
+            dod = in.readBits(64);
+        }
+        previousDelta += dod;
+        previous += previousDelta;
+        return previous;
+    }
+
+    private void encodeXor(BitOutput out, long bits) {
+        if (first) {
+            out.writeBits(bits, width);
+            first = false;
+            previous = bits;
+            return;
+        }
+        long xor = bits ^ previous;
+        previous = bits;
+        if (xor == 0) {
+            out.writeBits(0b0, 1);
+            return;
+        }
+        int leading = Long.numberOfLeadingZeros(xor) - (64 - width);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+            // ✅ 이전 유효 비트 구간 안에 들어가면 구간 정보 없이 기록
+            out.writeBits(0b10, 2);
+            out.writeBits(xor >>> previousTrailing, width - previousLeading - previousTrailing);
+            return;
+        }
+        int significant = width - leading - trailing;
+        out.writeBits(0b11, 2);
+        out.writeBits(leading, fieldBits);
+        out.writeBits(significant - 1, fieldBits);
+        out.writeBits(xor >>> trailing, significant);
+        previousLeading = leading;
+        previousTrailing = trailing;
+    }
+
+    private long decodeXor(BitInput in) throws IOException {
+        if (first) {
+            first = false;
+            previous = in.readBits(width);
+            return previous;
+        }
+        if (!in.readBit()) {
+            return previous;
+        }
+        if (!in.readBit()) {
+            int significant = width - previousLeading - previousTrailing;
+            previous ^= in.readBits(significant) << previousTrailing;
+            return previous;
+        }
+        int leading = (int) in.readBits(fieldBits);
+        int significant = (int) in.readBits(fieldBits) + 1;
+        int trailing = width - leading - significant;
+        previous ^= in.readBits(significant) << trailing;
+        previousLeading = leading;
+        previousTrailing = trailing;
+        return previous;
+    }
+
+    void encodeString(BitOutput out, String value) {
+        if (!first && value.equals(previousString)) {
+            out.writeBits(0b0, 1);
+            return;
+        }
+        first = false;
+        previousString = value;
+        Integer id = ids.get(value);
+        if (id != null) {
+            out.writeBits(0b10, 2);
+            out.writeBits(id, idBits());
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > 0xFFFF) {
+            throw new IllegalArgumentException("⚠ 문자열이 너무 깁니다: " + utf8.length);
+        }
+        out.writeBits(0b11, 2);
+        out.writeBits(utf8.length, 16);
+        for (byte b : utf8) {
+            out.writeBits(b, 8);
+        }
+        ids.put(value, dictionary.size());
+        dictionary.add(value);
+    }
+
+    String decodeString(BitInput in) throws IOException {
+        if (!in.readBit()) {
+            return previousString;
+        }
+        if (!in.readBit()) {
+            previousString = dictionary.get((int) in.readBits(idBits()));
+            return previousString;
+        }
+        byte[] utf8 = new byte[(int) in.readBits(16)];
+        for (int i = 0; i < utf8.length; i++) {
+            utf8[i] = (byte) in.readBits(8);
+        }
+        previousString = new String(utf8, StandardCharsets.UTF_8);
+        dictionary.add(previousString);
+        return previousString;
+    }
+
+    /** 현재 사전 크기로 번호를 표현하는 비트 수 */
+    private int idBits() {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(dictionary.size() - 1));
+    }
+
+    private static long signExtend(long value, int bits) {
+        return (value << (64 - bits)) >> (64 - bits);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.movedistance.Storage;
+
+/**
+ * 센서 아카이브 열 형식.
+ * <p>
+ * CSV 를 아카이브할 때는 모든 값의 문자열 표현이 그대로 복원되는 첫 형식을 고른다
+ * (LONG → FLOAT → DOUBLE → STRING 순서, {@link #accepts(String)}).
+ */
+public enum ArchiveColumnType {
+    /** 정수 (delta-of-delta) */
+    LONG,
+    /** 32비트 실수 (이전 값과 XOR) */
+    FLOAT,
+    /** 64비트 실수 (이전 값과 XOR) */
+    DOUBLE,
+    /** 문자열 (블록 단위 사전) */
+    STRING;
+
+    /** text 를 이 형식으로 저장했다가 {@link #format} 으로 되돌렸을 때 같은 문자열이 되는지 */
+    public boolean accepts(String text) {
+        try {
+            switch (this) {
+                case LONG:
+                    return Long.toString(Long.parseLong(text)).equals(text);
+                case FLOAT:
+                    return Float.toString(Float.parseFloat(text)).equals(text);
+                case DOUBLE:
+                    return Double.toString(Double.parseDouble(text)).equals(text);
+                default:
+                    return true;
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /** 저장된 비트를 문자열로 (STRING 은 사용하지 않음) */
+    String format(long bits) {
+        switch (this) {
+            case LONG:
+                return Long.toString(bits);
+            case FLOAT:
+                return Float.toString(Float.intBitsToFloat((int) bits));
+            case DOUBLE:
+                return Double.toString(Double.longBitsToDouble(bits));
+            default:
+                throw new IllegalStateException("STRING 열");
+        }
+    }
+
+    /** 문자열을 저장할 비트로 (accepts 가 true 인 값만) */
+    long parse(String text) {
+        switch (this) {
+            case LONG:
+                return Long.parseLong(text);
+            case FLOAT:
+                return Float.floatToRawIntBits(Float.parseFloat(text)) & 0xFFFFFFFFL;
+            case DOUBLE:
+                return Double.doubleToRawLongBits(Double.parseDouble(text));
+            default:
+                throw new IllegalStateException("STRING 열");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.movedistance.Storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * 비트 단위 읽기 ({@link BitOutput} 과 같은 순서).
+ */
+final class BitInput {
+    private byte[] bytes;
+    private int length;
+    private int position;
+    private long pending;
+    private int pendingBits;
+
+    void reset(byte[] bytes, int length) {
+        this.bytes = bytes;
+        this.length = length;
+        this.position = 0;
+        this.pending = 0;
+        this.pendingBits = 0;
+    }
+
+    boolean readBit() throws IOException {
+        return readBits(1) != 0;
+    }
+
+    /** count 비트 읽기 (count ≤ 64) */
+    long readBits(int count) throws IOException {
+        long value = 0;
+        while (count > 0) {
+            if (pendingBits == 0) {
+                if (position >= length) {
+                    throw new EOFException("⚠ 아카이브 블록이 잘렸습니다.");
+                }
+                pending = bytes[position++] & 0xFF;
+                pendingBits = 8;
+            }
+            int take = Math.min(count, pendingBits);
+            pendingBits -= take;
+            value = (value << take) | ((pending >>> pendingBits) & ((1L << take) - 1));
+            count -= take;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.movedistance.Storage;
+
+import java.util.Arrays;
+
+/**
+ * 비트 단위 기록 버퍼 (상위 비트부터 채움).
+ */
+final class BitOutput {
+    private byte[] bytes = new byte[4096];
+    private int length;
+    private long pending;
+    private int pendingBits;
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    /** value 의 하위 count 비트 기록 (count ≤ 64) */
+    void writeBits(long value, int count) {
+        while (count > 0) {
+            int take = Math.min(count, 56 - pendingBits);
+            long chunk = (value >>> (count - take)) & ((1L << take) - 1);
+            pending = (pending << take) | chunk;
+            pendingBits += take;
+            count -= take;
+            while (pendingBits >= 8) {
+                pendingBits -= 8;
+                put((byte) (pending >>> pendingBits));
+            }
+            pending &= (1L << pendingBits) - 1;
+        }
+    }
+
+    /** 남은 비트를 0 으로 채워 바이트 경계 맞춤 */
+    void flush() {
+        if (pendingBits > 0) {
+            put((byte) (pending << (8 - pendingBits)));
+            pending = 0;
+            pendingBits = 0;
+        }
+    }
+
+    byte[] buffer() {
+        return bytes;
+    }
+
+    /** flush 이후 기록된 바이트 수 */
+    int length() {
+        return length;
+    }
+
+    void reset() {
+        length = 0;
+        pending = 0;
+        pendingBits = 0;
+    }
+
+    private void put(byte b) {
+        if (length == bytes.length) {
+            bytes = Arrays.copyOf(bytes, length * 2);
+        }
+        bytes[length++] = b;
+    }
+}
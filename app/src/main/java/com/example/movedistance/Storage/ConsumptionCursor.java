@@ -0,0 +1,92 @@
+package com.example.movedistance.Storage;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * 날짜별 센서 파일의 소비 위치 (YYYYMMDD_센서.csv|bin 옆의 .cursor 파일).
+ * <p>
+ * offset 앞의 행은 이미 처리된 것으로 보고 다음 읽기에서 건너뛴다. 처리한 행을 파일에서 지우지 않으므로
+ * 날짜 파일은 추가만 되며, 소비된 앞부분은 날짜가 바뀔 때 아카이브하면서 버린다 ({@link SensorArchiver}).
+ * lastTimestamp 는 마지막으로 처리한 행의 타임스탬프로, offset 이 가리키는 세그먼트 안의 처리된 행을 거르거나
+ * 파일이 커서보다 짧아졌을 때(외부에서 교체됨) 처음부터 다시 읽으면서 처리된 행을 거르는 데 쓴다.
+ */
+public final class ConsumptionCursor {
+    private static final String SUFFIX = ".cursor";
+
+    private final File dayFile;
+    private final long offset;
+    private final long lastTimestamp;
+
+    private ConsumptionCursor(File dayFile, long offset, long lastTimestamp) {
+        this.dayFile = dayFile;
+        this.offset = offset;
+        this.lastTimestamp = lastTimestamp;
+    }
+
+    /** 저장된 커서 로드 (없거나 손상되었으면 파일 처음) */
+    public static ConsumptionCursor load(File dayFile) {
+        File file = sidecar(dayFile);
+        if (file.exists()) {
+            try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+                return new ConsumptionCursor(dayFile, in.readLong(), in.readLong());
+            } catch (IOException e) {
+                // 손상된 커서는 처음부터 읽음
+            }
+        }
+        return new ConsumptionCursor(dayFile, 0L, Long.MIN_VALUE);
+    }
+
+    /** 커서 파일 (날짜 파일 이름 + .cursor) */
+    public static File sidecar(File dayFile) {
+        return new File(dayFile.getParentFile(), dayFile.getName() + SUFFIX);
+    }
+
+    public static void delete(File dayFile) {
+        File file = sidecar(dayFile);
+        if (file.exists()) {
+            file.delete();
+        }
+    }
+
+    public File dayFile() {
+        return dayFile;
+    }
+
+    /** 처리되지 않은 첫 행(세그먼트)의 바이트 위치 (0 이면 처음) */
+    public long offset() {
+        return offset;
+    }
+
+    /** 마지막으로 처리한 행의 타임스탬프 (없으면 Long.MIN_VALUE) */
+    public long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /** 파일 크기보다 뒤를 가리키면 파일이 교체된 것 */
+    public boolean isValidFor(long fileLength) {
+        return offset <= fileLength;
+    }
+
+    public ConsumptionCursor advance(long newOffset, long newLastTimestamp) {
+        return new ConsumptionCursor(dayFile, newOffset, Math.max(lastTimestamp, newLastTimestamp));
+    }
+
+    /** 임시 파일에 쓴 뒤 교체 */
+    public void save() throws IOException {
+        File file = sidecar(dayFile);
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(temp))) {
+            out.writeLong(offset);
+            out.writeLong(lastTimestamp);
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("⚠ 커서 저장 실패: " + file.getName());
+        }
+    }
+}
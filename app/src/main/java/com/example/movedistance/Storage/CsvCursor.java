@@ -0,0 +1,369 @@
+package com.example.movedistance.Storage;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 센서 CSV 스트리밍 파서 (행마다 재사용되는 커서).
+ * <p>
+ * 바이트 버퍼에서 줄 끝과 ',' 위치만 기록하고, 값은 요청한 열만 그 자리에서 변환한다.
+ * 줄 문자열이나 split 배열, 행별 Map 을 만들지 않으므로 행당 할당이 없다.
+ * 헤더는 {@link #readHeader()} 로 한 번 읽고 {@link #column(String)} 으로 열 인덱스를 미리 정해 둔다.
+ * <p>
+ * 줄 끝은 '\n' (앞의 '\r' 은 제거), 마지막 줄이 '\n' 없이 끝나면 기록 중인 줄로 보고 돌려주지 않는다
+ * (다음 {@link #next()} 에서 이어서 읽음). {@link #position()} 은 다음 행의 시작 바이트로
+ * {@link ConsumptionCursor} 에 그대로 저장할 수 있다.
+ * <p>
+ * 숫자 변환 결과는 Float.parseFloat / Double.parseDouble / Long.parseLong 과 같다.
+ * 일반적인 십진 표기는 바이트에서 바로 계산하고, 그 밖의 표기(NaN, 공백 포함 등)나 정확히 계산할 수 없는 경우만
+ * 문자열을 만들어 표준 파서에 넘긴다.
+ */
+public final class CsvCursor implements Closeable {
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final RandomAccessFile file;
+    private byte[] buffer = new byte[1 << 16];
+    private long bufferPosition;
+    private int bufferStart;
+    private int bufferEnd;
+
+    private long rowOffset;
+    private int fieldCount;
+    private int[] fieldStart = new int[32];
+    private int[] fieldEnd = new int[32];
+    private String[] header = new String[0];
+
+    // parseDecimal 결과 (mantissa × 10^exponent)
+    private long mantissa;
+    private int exponent;
+    private boolean negative;
+
+    public CsvCursor(File csv) throws IOException {
+        this.file = new RandomAccessFile(csv, "r");
+    }
+
+    /** 파일 크기 */
+    public long length() throws IOException {
+        return file.length();
+    }
+
+    /** 다음 행 시작 바이트 */
+    public long position() {
+        return bufferPosition + bufferStart;
+    }
+
+    /** 현재 행 시작 바이트 */
+    public long rowOffset() {
+        return rowOffset;
+    }
+
+    /** position 으로 이동 (행 시작이어야 함) */
+    public void seek(long position) throws IOException {
+        file.seek(position);
+        bufferPosition = position;
+        bufferStart = 0;
+        bufferEnd = 0;
+        fieldCount = 0;
+    }
+
+    /**
+     * 첫 행을 헤더로 읽음 (현재 위치가 파일 처음이어야 함)
+     * @return 열 이름, 헤더가 없으면 null
+     */
+    public String[] readHeader() throws IOException {
+        if (!next()) {
+            return null;
+        }
+        header = new String[fieldCount];
+        for (int c = 0; c < fieldCount; c++) {
+            header[c] = getString(c);
+        }
+        return header.clone();
+    }
+
+    /** 헤더에서 열 인덱스 (없으면 -1) */
+    public int column(String name) {
+        for (int c = 0; c < header.length; c++) {
+            if (header[c].equals(name)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 다음 행으로 이동
+     * @return 완전한 행이 있으면 true, 없으면 false (position 은 그대로)
+     */
+    public boolean next() throws IOException {
+        int scan = bufferStart;
+        while (true) {
+            for (int i = scan; i < bufferEnd; i++) {
+                if (buffer[i] == '\n') {
+                    rowOffset = bufferPosition + bufferStart;
+                    int end = i > bufferStart && buffer[i - 1] == '\r' ? i - 1 : i;
+                    splitFields(bufferStart, end);
+                    bufferStart = i + 1;
+                    return true;
+                }
+            }
+            int scanned = bufferEnd - bufferStart;
+            if (!fill()) {
+                return false;
+            }
+            scan = bufferStart + scanned;
+        }
+    }
+
+    /** 남은 바이트를 버퍼 앞으로 옮기고 (필요하면 버퍼를 키워) 파일에서 더 읽음 */
+    private boolean fill() throws IOException {
+        if (bufferStart > 0) {
+            System.arraycopy(buffer, bufferStart, buffer, 0, bufferEnd - bufferStart);
+            bufferPosition += bufferStart;
+            bufferEnd -= bufferStart;
+            bufferStart = 0;
+        }
+        if (bufferEnd == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = file.read(buffer, bufferEnd, buffer.length - bufferEnd);
+        if (read <= 0) {
+            return false;
+        }
+        bufferEnd += read;
+        return true;
+    }
+
+    private void splitFields(int from, int to) {
+        int count = 0;
+        int start = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || buffer[i] == ',') {
+                if (count == fieldStart.length) {
+                    fieldStart = Arrays.copyOf(fieldStart, count * 2);
+                    fieldEnd = Arrays.copyOf(fieldEnd, count * 2);
+                }
+                fieldStart[count] = start;
+                fieldEnd[count] = i;
+                count++;
+                start = i + 1;
+            }
+        }
+        fieldCount = count;
+    }
+
+    /** 현재 행의 열 개수 (빈 열 포함) */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    public boolean isEmpty(int column) {
+        return fieldStart[column] == fieldEnd[column];
+    }
+
+    /** 열 문자열 (UTF-8, 할당 발생) */
+    public String getString(int column) {
+        return new String(buffer, fieldStart[column], fieldEnd[column] - fieldStart[column], StandardCharsets.UTF_8);
+    }
+
+    /** 현재 행 전체 문자열 (로그용) */
+    public String rowText() {
+        if (fieldCount == 0) {
+            return "";
+        }
+        int from = fieldStart[0];
+        return new String(buffer, from, fieldEnd[fieldCount - 1] - from, StandardCharsets.UTF_8);
+    }
+
+    /** Long.parseLong 과 같은 결과 */
+    public long getLong(int column) {
+        int from = fieldStart[column];
+        int to = fieldEnd[column];
+        int i = from;
+        boolean minus = false;
+        if (i < to && (buffer[i] == '-' || buffer[i] == '+')) {
+            minus = buffer[i] == '-';
+            i++;
+        }
+        // 18자리까지는 overflow 없음
+        if (i == to || to - i > 18) {
+            return Long.parseLong(getString(column));
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.parseLong(getString(column));
+            }
+            value = value * 10 + digit;
+        }
+        return minus ? -value : value;
+    }
+
+    /**
+     * 타임스탬프 (정수, 소수점이 있으면 소수부를 버림).
+     * 소수점 표기도 float 을 거치지 않고 정수부를 그대로 읽으므로 밀리초 단위 값이 보존된다.
+     */
+    public long getTimestamp(int column) {
+        int from = fieldStart[column];
+        int to = fieldEnd[column];
+        int dot = -1;
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == '.') {
+                dot = i;
+                break;
+            }
+        }
+        if (dot < 0) {
+            return getLong(column);
+        }
+        int i = from;
+        boolean minus = false;
+        if (i < to && (buffer[i] == '-' || buffer[i] == '+')) {
+            minus = buffer[i] == '-';
+            i++;
+        }
+        while (i < dot - 1 && buffer[i] == '0') {
+            i++;
+        }
+        boolean plain = dot - i <= 18 && (dot > i || dot + 1 < to);
+        for (int k = dot + 1; plain && k < to; k++) {
+            plain = buffer[k] >= '0' && buffer[k] <= '9';
+        }
+        long value = 0;
+        for (; plain && i < dot; i++) {
+            int digit = buffer[i] - '0';
+            plain = digit >= 0 && digit <= 9;
+            value = value * 10 + digit;
+        }
+        if (!plain) {
+            // 지수 표기 등: double 로 파싱 (형식 오류면 NumberFormatException)
+            return (long) Double.parseDouble(getString(column));
+        }
+        return minus ? -value : value;
+    }
+
+    /** Double.parseDouble 과 같은 결과 */
+    public double getDouble(int column) {
+        if (parseDecimal(fieldStart[column], fieldEnd[column])) {
+            double value = exactValue();
+            if (!Double.isNaN(value)) {
+                return negative ? -value : value;
+            }
+        }
+        return Double.parseDouble(getString(column));
+    }
+
+    /** Float.parseFloat 과 같은 결과 */
+    public float getFloat(int column) {
+        if (parseDecimal(fieldStart[column], fieldEnd[column])) {
+            double value = exactValue();
+            if (value == 0.0) {
+                return negative ? -0.0f : 0.0f;
+            }
+            // ✅ double 은 정확히 반올림된 값이므로, float 두 값의 정확한 중간이 아니면 float 로 다시 반올림해도 결과가 같음
+            if (value >= Float.MIN_NORMAL && value <= Float.MAX_VALUE
+                    && (Double.doubleToRawLongBits(value) & 0x1FFFFFFFL) != 0x10000000L) {
+                float result = (float) value;
+                return negative ? -result : result;
+            }
+        }
+        return Float.parseFloat(getString(column));
+    }
+
+    /** mantissa × 10^exponent 를 정확히 반올림한 double (보장할 수 없으면 NaN) */
+    private double exactValue() {
+        if (mantissa > MAX_EXACT_MANTISSA) {
+            return Double.NaN;
+        }
+        if (mantissa == 0) {
+            return 0.0;
+        }
+        if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            return mantissa * POWERS_OF_TEN[exponent];
+        }
+        if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            return mantissa / POWERS_OF_TEN[-exponent];
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * [+-]digits[.digits][(e|E)[+-]digits] 형식이면 mantissa / exponent / negative 에 기록
+     * @return 이 형식이 아니거나 자릿수가 너무 많으면 false
+     */
+    private boolean parseDecimal(int from, int to) {
+        int i = from;
+        negative = false;
+        if (i < to && (buffer[i] == '-' || buffer[i] == '+')) {
+            negative = buffer[i] == '-';
+            i++;
+        }
+        long value = 0;
+        int scale = 0;
+        int significant = 0;
+        boolean digits = false;
+        boolean fraction = false;
+        for (; i < to; i++) {
+            byte b = buffer[i];
+            if (b >= '0' && b <= '9') {
+                digits = true;
+                if (value != 0 || b != '0') {
+                    if (++significant > 18) {
+                        return false;
+                    }
+                    value = value * 10 + (b - '0');
+                }
+                if (fraction) {
+                    scale--;
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (!digits) {
+            return false;
+        }
+        if (i < to) {
+            if (buffer[i] != 'e' && buffer[i] != 'E') {
+                return false;
+            }
+            i++;
+            boolean minus = false;
+            if (i < to && (buffer[i] == '-' || buffer[i] == '+')) {
+                minus = buffer[i] == '-';
+                i++;
+            }
+            if (i == to || to - i > 4) {
+                return false;
+            }
+            int power = 0;
+            for (; i < to; i++) {
+                int digit = buffer[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return false;
+                }
+                power = power * 10 + digit;
+            }
+            scale += minus ? -power : power;
+        }
+        mantissa = value;
+        exponent = scale;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
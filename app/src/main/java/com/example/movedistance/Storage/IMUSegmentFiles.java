@@ -0,0 +1,58 @@
+package com.example.movedistance.Storage;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * IMU 세그먼트 파일 CSV 내보내기.
+ */
+public final class IMUSegmentFiles {
+    private IMUSegmentFiles() {
+    }
+
+    /**
+     * 세그먼트 파일을 기존 IMU CSV 와 같은 형식으로 내보내기
+     * (헤더 "timestamp,채널...", 타임스탬프는 Long.toString, 값은 Float.toString)
+     */
+    public static void exportCsv(IMUSegmentReader reader, Writer out) throws IOException {
+        String[] channels = reader.channels();
+        out.append("timestamp");
+        for (String channel : channels) {
+            out.append(',').append(channel);
+        }
+        out.append('\n');
+
+        StringBuilder line = new StringBuilder(channels.length * 12);
+        FloatBuffer[] views = new FloatBuffer[channels.length];
+        for (int s = 0; s < reader.segmentCount(); s++) {
+            IMUSegmentReader.Segment segment = reader.segment(s);
+            LongBuffer timestamps = segment.timestamps();
+            for (int c = 0; c < channels.length; c++) {
+                views[c] = segment.channel(c);
+            }
+            for (int r = 0; r < segment.rows(); r++) {
+                line.setLength(0);
+                line.append(timestamps.get(r));
+                for (FloatBuffer view : views) {
+                    line.append(',').append(view.get(r));
+                }
+                out.append(line).append('\n');
+            }
+        }
+    }
+
+    /** 세그먼트 파일을 CSV 파일로 내보내기 */
+    public static void exportCsv(File source, File target) throws IOException {
+        IMUSegmentReader reader = IMUSegmentReader.open(source);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(target), StandardCharsets.UTF_8))) {
+            exportCsv(reader, out);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.movedistance.Storage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * IMU 바이너리 세그먼트 파일 형식 (YYYYMMDD_IMU.bin).
+ * <p>
+ * 모든 값은 little-endian 이며, 파일은 헤더 뒤에 세그먼트(보통 1초 분량)가 이어 붙는다.
+ * <pre>
+ *   헤더:     "IMUB" | short version | short channels | (short nameLength, UTF-8 name) × channels | 8바이트 정렬 패딩
+ *   세그먼트: int rows | int reserved(0) | long[rows] timestamp | float[rows] × channels (채널 순서대로) | 8바이트 정렬 패딩
+ * </pre>
+ * 채널 값이 열 단위로 연속 저장되므로 리더는 파일을 매핑한 뒤 채널마다 복사 없이 FloatBuffer 뷰를 만들 수 있다.
+ * 세그먼트는 한 번의 쓰기로 추가되며, 끝이 잘린 마지막 세그먼트는 리더가 무시한다.
+ */
+final class IMUSegmentFormat {
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final byte[] MAGIC = {'I', 'M', 'U', 'B'};
+    static final short VERSION = 1;
+    static final int SEGMENT_HEADER_BYTES = 8;
+
+    private IMUSegmentFormat() {
+    }
+
+    /** 8바이트 정렬 */
+    static int align(int position) {
+        return (position + 7) & ~7;
+    }
+
+    /** rows 행 세그먼트의 전체 바이트 수 (패딩 포함) */
+    static long segmentBytes(int rows, int channels) {
+        long bytes = SEGMENT_HEADER_BYTES + (long) rows * Long.BYTES + (long) rows * channels * Float.BYTES;
+        return (bytes + 7) & ~7L;
+    }
+
+    /** 헤더 바이트 생성 */
+    static ByteBuffer encodeHeader(String[] channels) {
+        byte[][] names = new byte[channels.length][];
+        int size = MAGIC.length + 2 + 2;
+        for (int c = 0; c < channels.length; c++) {
+            names[c] = channels[c].getBytes(StandardCharsets.UTF_8);
+            size += 2 + names[c].length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(align(size)).order(ORDER);
+        header.put(MAGIC);
+        header.putShort(VERSION);
+        header.putShort((short) channels.length);
+        for (byte[] name : names) {
+            header.putShort((short) name.length);
+            header.put(name);
+        }
+        header.position(0);
+        return header;
+    }
+
+    /**
+     * 헤더 해석 (buffer 의 position 은 첫 세그먼트 위치로 이동)
+     * @return 채널 이름 (형식이 다르면 null)
+     */
+    static String[] decodeHeader(ByteBuffer buffer) {
+        if (buffer.remaining() < MAGIC.length + 4) {
+            return null;
+        }
+        for (byte b : MAGIC) {
+            if (buffer.get() != b) {
+                return null;
+            }
+        }
+        if (buffer.getShort() != VERSION) {
+            return null;
+        }
+        int count = buffer.getShort();
+        String[] channels = new String[count];
+        for (int c = 0; c < count; c++) {
+            if (buffer.remaining() < 2) {
+                return null;
+            }
+            int length = buffer.getShort();
+            if (length < 0 || buffer.remaining() < length) {
+                return null;
+            }
+            byte[] name = new byte[length];
+            buffer.get(name);
+            channels[c] = new String(name, StandardCharsets.UTF_8);
+        }
+        int start = align(buffer.position());
+        if (start > buffer.limit()) {
+            return null;
+        }
+        buffer.position(start);
+        return channels;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.movedistance.Storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * IMU 바이너리 세그먼트 파일 리더 ({@link IMUSegmentFormat}).
+ * <p>
+ * 파일을 읽기 전용으로 메모리 매핑하고 세그먼트 헤더만 훑어 위치를 기록한다.
+ * {@link Segment#timestamps()} / {@link Segment#channel(int)} 는 매핑된 영역의 복사 없는 뷰이며,
+ * 전체를 기본형 배열로 옮길 때는 {@link #copyTimestamps} / {@link #copyChannel} 을 사용한다.
+ * 끝이 잘린 마지막 세그먼트(기록 중이던 세그먼트)는 무시한다.
+ * 시작 위치를 주면 그 세그먼트부터만 색인하므로 앞부분의 세그먼트 헤더는 읽지 않는다.
+ */
+public final class IMUSegmentReader {
+    private final ByteBuffer data;
+    private final String[] channels;
+    private final int[] segmentOffsets;
+    private final int[] segmentRows;
+    private final int[] rowStarts;
+    private final int segmentCount;
+    private final int rowCount;
+    private final int validBytes;
+
+    private IMUSegmentReader(ByteBuffer data, long start) throws IOException {
+        this.data = data;
+        ByteBuffer header = data.duplicate().order(IMUSegmentFormat.ORDER);
+        channels = IMUSegmentFormat.decodeHeader(header);
+        if (channels == null) {
+            throw new IOException("⚠ IMU 세그먼트 파일 형식이 아닙니다.");
+        }
+
+        int limit = data.limit();
+        int position = header.position();
+        if (start > position && start <= limit) {
+            position = (int) start;
+        }
+        int[] offsets = new int[64];
+        int[] rows = new int[64];
+        int count = 0;
+        int total = 0;
+        while (position + IMUSegmentFormat.SEGMENT_HEADER_BYTES <= limit) {
+            int segmentRowsAt = header.getInt(position);
+            if (segmentRowsAt <= 0) {
+                break;
+            }
+            long bytes = IMUSegmentFormat.segmentBytes(segmentRowsAt, channels.length);
+            if (position + bytes > limit) {
+                break;
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+                rows = Arrays.copyOf(rows, count * 2);
+            }
+            offsets[count] = position;
+            rows[count] = segmentRowsAt;
+            total += segmentRowsAt;
+            count++;
+            position += (int) bytes;
+        }
+        this.segmentOffsets = offsets;
+        this.segmentRows = rows;
+        this.segmentCount = count;
+        this.rowCount = total;
+        this.validBytes = position;
+        this.rowStarts = new int[count + 1];
+        for (int s = 0; s < count; s++) {
+            rowStarts[s + 1] = rowStarts[s] + rows[s];
+        }
+    }
+
+    /** 파일을 메모리 매핑하여 열기 */
+    public static IMUSegmentReader open(File file) throws IOException {
+        return open(file, 0L);
+    }
+
+    /**
+     * start 바이트(세그먼트 시작, 보통 {@link Segment#endOffset()} 으로 얻은 값)부터 색인하여 열기.
+     * start 가 헤더 안이거나 파일 밖이면 첫 세그먼트부터.
+     */
+    public static IMUSegmentReader open(File file, long start) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("⚠ 세그먼트 파일이 너무 큽니다: " + size);
+            }
+            return new IMUSegmentReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), start);
+        }
+    }
+
+    /** 이미 메모리에 있는 바이트로 열기 */
+    public static IMUSegmentReader wrap(ByteBuffer bytes) throws IOException {
+        return new IMUSegmentReader(bytes.slice(), 0L);
+    }
+
+    public String[] channels() {
+        return channels.clone();
+    }
+
+    /** 채널 이름의 인덱스 (없으면 -1) */
+    public int channelIndex(String name) {
+        for (int c = 0; c < channels.length; c++) {
+            if (channels[c].equals(name)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    public int segmentCount() {
+        return segmentCount;
+    }
+
+    /** 색인한 범위의 행 수 */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /** 완전한 세그먼트까지의 바이트 수 (기록기가 이어 쓸 위치) */
+    long validBytes() {
+        return validBytes;
+    }
+
+    public Segment segment(int index) {
+        if (index < 0 || index >= segmentCount) {
+            throw new IndexOutOfBoundsException("segment " + index);
+        }
+        return new Segment(segmentOffsets[index], segmentRows[index], rowStarts[index]);
+    }
+
+    /** 전체 타임스탬프를 dst[offset..] 에 복사 */
+    public void copyTimestamps(long[] dst, int offset) {
+        for (int s = 0; s < segmentCount; s++) {
+            segment(s).timestamps().get(dst, offset + rowStarts[s], segmentRows[s]);
+        }
+    }
+
+    /** 채널 c 전체를 dst[offset..] 에 복사 (float → double) */
+    public void copyChannel(int c, double[] dst, int offset) {
+        for (int s = 0; s < segmentCount; s++) {
+            FloatBuffer view = segment(s).channel(c);
+            int base = offset + rowStarts[s];
+            for (int r = 0, n = segmentRows[s]; r < n; r++) {
+                dst[base + r] = view.get(r);
+            }
+        }
+    }
+
+    /** 세그먼트 하나 (매핑된 영역의 뷰) */
+    public final class Segment {
+        private final int offset;
+        private final int rows;
+        private final int firstRow;
+
+        private Segment(int offset, int rows, int firstRow) {
+            this.offset = offset;
+            this.rows = rows;
+            this.firstRow = firstRow;
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        /** 색인한 범위에서 이 세그먼트 첫 행의 번호 */
+        public int firstRow() {
+            return firstRow;
+        }
+
+        /** 세그먼트 시작 바이트 */
+        public long offset() {
+            return offset;
+        }
+
+        /** 다음 세그먼트 시작 바이트 */
+        public long endOffset() {
+            return offset + IMUSegmentFormat.segmentBytes(rows, channels.length);
+        }
+
+        /** 타임스탬프 열 뷰 (복사 없음, 읽기 전용) */
+        public LongBuffer timestamps() {
+            return view(offset + IMUSegmentFormat.SEGMENT_HEADER_BYTES, rows * Long.BYTES).asLongBuffer();
+        }
+
+        /** 채널 c 의 값 뷰 (복사 없음, 읽기 전용) */
+        public FloatBuffer channel(int c) {
+            int start = offset + IMUSegmentFormat.SEGMENT_HEADER_BYTES + rows * Long.BYTES + c * rows * Float.BYTES;
+            return view(start, rows * Float.BYTES).asFloatBuffer();
+        }
+
+        private ByteBuffer view(int start, int length) {
+            ByteBuffer view = data.asReadOnlyBuffer();
+            view.limit(start + length);
+            view.position(start);
+            return view.slice().order(IMUSegmentFormat.ORDER);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.movedistance.Storage;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * IMU 바이너리 세그먼트 파일에 세그먼트를 추가하는 기록기 ({@link IMUSegmentFormat}).
+ * <p>
+ * 행마다 문자열을 만들지 않고 기본형 배열을 그대로 little-endian 바이트로 기록한다.
+ * 기존 파일에 이어 쓸 때는 헤더의 채널 구성이 같아야 하며, 끝이 잘린 세그먼트가 있으면 잘라낸 뒤 이어 쓴다.
+ * 한 스레드에서만 사용해야 한다.
+ */
+public final class IMUSegmentWriter implements Closeable {
+    private final File file;
+    private final String[] channels;
+    private final RandomAccessFile raf;
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+    private long end;
+
+    public IMUSegmentWriter(File file, String[] channels) throws IOException {
+        this.file = file;
+        this.channels = channels.clone();
+        this.raf = new RandomAccessFile(file, "rw");
+        this.channel = raf.getChannel();
+        try {
+            prepare();
+        } catch (IOException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    private void prepare() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            write(IMUSegmentFormat.encodeHeader(channels));
+            end = channel.position();
+            return;
+        }
+        // ✅ 기존 파일: 헤더 확인 후 완전한 세그먼트 끝에서 이어 쓰기
+        IMUSegmentReader existing = IMUSegmentReader.open(file);
+        if (!Arrays.equals(existing.channels(), channels)) {
+            throw new IOException("⚠ 채널 구성이 다른 세그먼트 파일입니다: " + file.getName());
+        }
+        end = existing.validBytes();
+        if (end < size) {
+            channel.truncate(end);
+        }
+        channel.position(end);
+    }
+
+    public String[] channels() {
+        return channels.clone();
+    }
+
+    /**
+     * 세그먼트 하나 추가
+     * @param timestamps 행별 타임스탬프
+     * @param values 채널별 값 (values[c][r], 채널 순서는 생성자와 같음)
+     * @param rows 기록할 행 수
+     */
+    public void append(long[] timestamps, float[][] values, int rows) throws IOException {
+        if (values.length != channels.length) {
+            throw new IllegalArgumentException("⚠ 채널 수 불일치: " + values.length + " != " + channels.length);
+        }
+        if (rows <= 0) {
+            return;
+        }
+        int bytes = (int) IMUSegmentFormat.segmentBytes(rows, channels.length);
+        if (buffer == null || buffer.capacity() < bytes) {
+            buffer = ByteBuffer.allocateDirect(bytes).order(IMUSegmentFormat.ORDER);
+        }
+        buffer.clear();
+        buffer.putInt(rows);
+        buffer.putInt(0);
+        buffer.asLongBuffer().put(timestamps, 0, rows);
+        buffer.position(buffer.position() + rows * Long.BYTES);
+        for (float[] value : values) {
+            buffer.asFloatBuffer().put(value, 0, rows);
+            buffer.position(buffer.position() + rows * Float.BYTES);
+        }
+        while (buffer.position() < bytes) {
+            buffer.put((byte) 0);
+        }
+        buffer.flip();
+        write(buffer);
+        end += bytes;
+    }
+
+    /** 지금까지 기록한 파일 크기 (바이트) */
+    public long size() {
+        return end;
+    }
+
+    /**
+     * 다른 곳에서 파일을 교체(행 제거 후 rename 등)하거나 삭제해 이 기록기가 옛 파일을 가리키는지 여부.
+     * true 이면 닫고 새로 열어야 한다.
+     */
+    public boolean isDetached() {
+        return !file.exists() || file.length() != end;
+    }
+
+    private void write(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        raf.close();
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.movedistance.Storage;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 센서 아카이브 스트리밍 리더 ({@link SensorArchiveWriter} 형식).
+ * <p>
+ * 블록 하나만 읽어 행 단위로 디코딩하므로 파일 전체를 풀어 두지 않는다.
+ * {@link #next()} 로 다음 행으로 이동한 뒤 get* / {@link #text(int)} 로 값을 읽는다.
+ */
+public final class SensorArchiveReader implements Closeable {
+    private final DataInputStream in;
+    private final String[] columns;
+    private final ArchiveColumnType[] types;
+    private final ArchiveColumnCodec[] codecs;
+    private final long[] numbers;
+    private final String[] strings;
+    private final BitInput bits = new BitInput();
+    private byte[] block = new byte[0];
+    private int blockRemaining;
+    private boolean finished;
+
+    private SensorArchiveReader(InputStream stream) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+        byte[] magic = new byte[SensorArchiveWriter.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, SensorArchiveWriter.MAGIC) || in.readShort() != SensorArchiveWriter.VERSION) {
+            throw new IOException("⚠ 센서 아카이브 형식이 아닙니다.");
+        }
+        int count = in.readShort();
+        ArchiveColumnType[] values = ArchiveColumnType.values();
+        columns = new String[count];
+        types = new ArchiveColumnType[count];
+        codecs = new ArchiveColumnCodec[count];
+        for (int c = 0; c < count; c++) {
+            int type = in.readByte();
+            if (type < 0 || type >= values.length) {
+                throw new IOException("⚠ 알 수 없는 열 형식: " + type);
+            }
+            types[c] = values[type];
+            byte[] name = new byte[in.readUnsignedShort()];
+            in.readFully(name);
+            columns[c] = new String(name, StandardCharsets.UTF_8);
+            codecs[c] = new ArchiveColumnCodec(types[c]);
+        }
+        numbers = new long[count];
+        strings = new String[count];
+    }
+
+    public static SensorArchiveReader open(InputStream stream) throws IOException {
+        return new SensorArchiveReader(stream);
+    }
+
+    public static SensorArchiveReader open(File file) throws IOException {
+        FileInputStream stream = new FileInputStream(file);
+        try {
+            return new SensorArchiveReader(stream);
+        } catch (IOException e) {
+            stream.close();
+            throw e;
+        }
+    }
+
+    public String[] columns() {
+        return columns.clone();
+    }
+
+    public ArchiveColumnType[] types() {
+        return types.clone();
+    }
+
+    /** 열 이름의 인덱스 (없으면 -1) */
+    public int columnIndex(String name) {
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c].equals(name)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 다음 행 디코딩
+     * @return 행이 있으면 true, 끝이면 false
+     */
+    public boolean next() throws IOException {
+        if (blockRemaining == 0 && !nextBlock()) {
+            return false;
+        }
+        for (int c = 0; c < codecs.length; c++) {
+            if (types[c] == ArchiveColumnType.STRING) {
+                strings[c] = codecs[c].decodeString(bits);
+            } else {
+                numbers[c] = codecs[c].decode(bits);
+            }
+        }
+        blockRemaining--;
+        return true;
+    }
+
+    private boolean nextBlock() throws IOException {
+        if (finished) {
+            return false;
+        }
+        int rows = in.readInt();
+        if (rows <= 0) {
+            finished = true;
+            return false;
+        }
+        int length = in.readInt();
+        if (block.length < length) {
+            block = new byte[length];
+        }
+        in.readFully(block, 0, length);
+        bits.reset(block, length);
+        for (ArchiveColumnCodec codec : codecs) {
+            codec.reset();
+        }
+        blockRemaining = rows;
+        return true;
+    }
+
+    public long getLong(int column) {
+        return numbers[column];
+    }
+
+    public float getFloat(int column) {
+        return Float.intBitsToFloat((int) numbers[column]);
+    }
+
+    public double getDouble(int column) {
+        return Double.longBitsToDouble(numbers[column]);
+    }
+
+    public String getString(int column) {
+        return strings[column];
+    }
+
+    /** 숫자 열은 double 로 (STRING 열은 0) */
+    public double getNumber(int column) {
+        switch (types[column]) {
+            case LONG:
+                return numbers[column];
+            case FLOAT:
+                return getFloat(column);
+            case DOUBLE:
+                return getDouble(column);
+            default:
+                return 0.0;
+        }
+    }
+
+    /** 원본 CSV 와 같은 문자열 표현 */
+    public String text(int column) {
+        return types[column] == ArchiveColumnType.STRING ? strings[column] : types[column].format(numbers[column]);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.movedistance.Storage;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 마감된 날짜의 센서 데이터를 압축 아카이브(YYYYMMDD_센서.tsz)로 기록.
+ * <p>
+ * 형식 (big-endian):
+ * <pre>
+ *   헤더: "STSZ" | short version | short columns | (byte type, UTF name) × columns
+ *   블록: int rows | int bytes | 비트 스트림 (행마다 열 순서대로 {@link ArchiveColumnCodec} 인코딩)
+ *   끝:   int 0
+ * </pre>
+ * 블록마다 인코딩 상태를 초기화하므로 리더는 블록 하나만 메모리에 두고 순차적으로 읽을 수 있다.
+ * 한 행의 값을 set* 으로 채운 뒤 {@link #endRow()} 를 호출한다.
+ */
+public final class SensorArchiveWriter implements Closeable {
+    static final byte[] MAGIC = {'S', 'T', 'S', 'Z'};
+    static final short VERSION = 1;
+    static final int BLOCK_ROWS = 4096;
+
+    private final DataOutputStream out;
+    private final String[] columns;
+    private final ArchiveColumnType[] types;
+    private final ArchiveColumnCodec[] codecs;
+    private final long[] numbers;
+    private final String[] strings;
+    private final BitOutput bits = new BitOutput();
+    private int blockRows;
+    private long rows;
+
+    public SensorArchiveWriter(OutputStream stream, String[] columns, ArchiveColumnType[] types) throws IOException {
+        if (columns.length != types.length) {
+            throw new IllegalArgumentException("⚠ 열 이름과 형식 수가 다릅니다.");
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+        this.columns = columns.clone();
+        this.types = types.clone();
+        this.codecs = new ArchiveColumnCodec[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            codecs[c] = new ArchiveColumnCodec(types[c]);
+        }
+        this.numbers = new long[columns.length];
+        this.strings = new String[columns.length];
+
+        out.write(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(columns.length);
+        for (int c = 0; c < columns.length; c++) {
+            out.writeByte(types[c].ordinal());
+            byte[] name = columns[c].getBytes(StandardCharsets.UTF_8);
+            out.writeShort(name.length);
+            out.write(name);
+        }
+    }
+
+    public void setLong(int column, long value) {
+        numbers[column] = value;
+    }
+
+    public void setFloat(int column, float value) {
+        numbers[column] = Float.floatToRawIntBits(value) & 0xFFFFFFFFL;
+    }
+
+    public void setDouble(int column, double value) {
+        numbers[column] = Double.doubleToRawLongBits(value);
+    }
+
+    public void setString(int column, String value) {
+        strings[column] = value;
+    }
+
+    /** 문자열 값을 열 형식에 맞게 설정 (형식이 받아들이지 않는 값이면 IllegalArgumentException) */
+    public void setText(int column, String text) {
+        ArchiveColumnType type = types[column];
+        if (type == ArchiveColumnType.STRING) {
+            strings[column] = text;
+        } else if (type.accepts(text)) {
+            numbers[column] = type.parse(text);
+        } else {
+            throw new IllegalArgumentException("⚠ " + columns[column] + " 열(" + type + ")에 저장할 수 없는 값: " + text);
+        }
+    }
+
+    /** 설정한 값으로 한 행 기록 */
+    public void endRow() throws IOException {
+        for (int c = 0; c < codecs.length; c++) {
+            if (types[c] == ArchiveColumnType.STRING) {
+                codecs[c].encodeString(bits, strings[c] != null ? strings[c] : "");
+            } else {
+                codecs[c].encode(bits, numbers[c]);
+            }
+        }
+        rows++;
+        if (++blockRows == BLOCK_ROWS) {
+            flushBlock();
+        }
+    }
+
+    /** 지금까지 기록한 행 수 */
+    public long rows() {
+        return rows;
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockRows == 0) {
+            return;
+        }
+        bits.flush();
+        out.writeInt(blockRows);
+        out.writeInt(bits.length());
+        out.write(bits.buffer(), 0, bits.length());
+        bits.reset();
+        for (ArchiveColumnCodec codec : codecs) {
+            codec.reset();
+        }
+        blockRows = 0;
+    }
+
+    /** 남은 블록과 끝 표시를 기록하고 스트림을 닫음 */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+            out.writeInt(0);
+        } finally {
+            out.close();
+        }
+    }
+}
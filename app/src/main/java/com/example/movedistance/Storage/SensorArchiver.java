@@ -0,0 +1,242 @@
+package com.example.movedistance.Storage;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 마감된 날짜의 센서 파일(YYYYMMDD_AP/BTS/GPS.csv, YYYYMMDD_IMU.bin/.csv)을 압축 아카이브로 변환.
+ * <p>
+ * 날짜가 바뀌면 SensorDataService 가 센서 기록 스레드와 별도인 낮은 우선순위 스레드에서 {@link #archiveClosedDays} 를 호출한다.
+ * 이때 {@link ConsumptionCursor} 앞의 이미 처리된 부분은 버리고 남은 행만 아카이브한다 (소비된 앞부분 정리).
+ * 아카이브는 임시 파일에 쓴 뒤 다시 읽어 행 수를 확인하고, 그 다음에만 원본과 커서, 시간 인덱스를 지운다.
+ */
+public final class SensorArchiver {
+    public static final String EXTENSION = ".tsz";
+    private static final String TAG = "SensorArchiver";
+    private static final Pattern DAY_FILE = Pattern.compile("(\\d{8})_(AP|BTS|GPS|IMU)\\.(csv|bin)");
+    private static final ArchiveColumnType[] NUMERIC_TYPES = {
+            ArchiveColumnType.LONG, ArchiveColumnType.FLOAT, ArchiveColumnType.DOUBLE
+    };
+    private static final int STRING_ONLY = 1 << ArchiveColumnType.STRING.ordinal();
+    private static final int ALL_TYPES = (1 << ArchiveColumnType.values().length) - 1;
+
+    private SensorArchiver() {
+    }
+
+    /** 날짜 / 센서의 아카이브 파일 */
+    public static File archiveFile(File directory, String date, String sensorType) {
+        return new File(directory, date + "_" + sensorType + EXTENSION);
+    }
+
+    /**
+     * today 이전 날짜의 센서 파일을 모두 아카이브
+     * @return 아카이브한 파일 수
+     */
+    public static int archiveClosedDays(File directory, String today) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return 0;
+        }
+        Arrays.sort(files);
+        int archived = 0;
+        for (File file : files) {
+            Matcher matcher = DAY_FILE.matcher(file.getName());
+            if (!matcher.matches() || matcher.group(1).compareTo(today) >= 0) {
+                continue;
+            }
+            File target = archiveFile(directory, matcher.group(1), matcher.group(2));
+            if (target.exists()) {
+                Log.w(TAG, "⚠ 아카이브가 이미 있어 건너뜀: " + target.getName());
+                continue;
+            }
+            try {
+                long sourceBytes = file.length();
+                ConsumptionCursor cursor = ConsumptionCursor.load(file);
+                long start = cursor.offset();
+                long lastTimestamp = cursor.lastTimestamp();
+                if (!cursor.isValidFor(sourceBytes)) {
+                    Log.w(TAG, "⚠ 커서가 파일 밖을 가리켜 전체를 아카이브: " + file.getName());
+                    start = 0;
+                    lastTimestamp = Long.MIN_VALUE;
+                }
+                long rows = "bin".equals(matcher.group(3))
+                        ? archiveSegments(file, target, start, lastTimestamp)
+                        : archiveCsv(file, target, start);
+                if (!file.delete()) {
+                    Log.w(TAG, "⚠ 원본 삭제 실패: " + file.getName());
+                }
+                ConsumptionCursor.delete(file);
+                TimeIndex.delete(file);
+                Log.d(TAG, "✅ 아카이브 완료: " + file.getName() + " → " + target.getName()
+                        + " (" + rows + "행, " + sourceBytes + " → " + target.length() + " bytes)");
+                archived++;
+            } catch (IOException | RuntimeException e) {
+                // ⚠ 원본은 그대로 두고 다음 파일 계속 (다음 날짜 변경 때 다시 시도)
+                Log.e(TAG, "아카이브 실패: " + file.getName(), e);
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * CSV 파일 아카이브 (열 형식은 전체 값을 훑어 모든 값의 문자열이 그대로 복원되는 첫 형식으로 결정).
+     * 열 개수가 헤더와 다른 줄은 로더와 마찬가지로 버린다.
+     * @param start 이 바이트 앞의 행은 처리된 것으로 보고 제외 (0 이면 전체)
+     * @return 기록한 행 수
+     */
+    public static long archiveCsv(File csv, File target, long start) throws IOException {
+        String[] header;
+        ArchiveColumnType[] types;
+        long dataStart;
+        try (CsvCursor reader = new CsvCursor(csv)) {
+            header = reader.readHeader();
+            if (header == null) {
+                throw new IOException("⚠ CSV 헤더가 없음: " + csv.getName());
+            }
+            dataStart = Math.max(reader.position(), start);
+            reader.seek(dataStart);
+            // 열마다 지금까지의 모든 값을 받아들이는 형식 집합 (비트 = ordinal)
+            // ⚠ 형식 순서는 단조가 아님: "5" 는 LONG 만, "1.5" 는 FLOAT/DOUBLE 만 받으므로 한 형식씩 넓히면 안 됨
+            int[] viable = new int[header.length];
+            Arrays.fill(viable, ALL_TYPES);
+            while (reader.next()) {
+                if (reader.fieldCount() != header.length) {
+                    continue;
+                }
+                for (int c = 0; c < header.length; c++) {
+                    if (viable[c] == STRING_ONLY) {
+                        continue;
+                    }
+                    String field = reader.getString(c);
+                    for (ArchiveColumnType type : NUMERIC_TYPES) {
+                        if ((viable[c] & (1 << type.ordinal())) != 0 && !type.accepts(field)) {
+                            viable[c] &= ~(1 << type.ordinal());
+                        }
+                    }
+                }
+            }
+            types = new ArchiveColumnType[header.length];
+            for (int c = 0; c < header.length; c++) {
+                // ✅ 모든 값을 받아들이는 첫 형식 (LONG → FLOAT → DOUBLE → STRING)
+                types[c] = ArchiveColumnType.values()[Integer.numberOfTrailingZeros(viable[c])];
+            }
+        }
+
+        File temp = tempFile(target);
+        long rows;
+        try (CsvCursor reader = new CsvCursor(csv);
+             SensorArchiveWriter writer = new SensorArchiveWriter(new FileOutputStream(temp), header, types)) {
+            reader.seek(dataStart);
+            while (reader.next()) {
+                if (reader.fieldCount() != header.length) {
+                    continue;
+                }
+                for (int c = 0; c < header.length; c++) {
+                    writer.setText(c, reader.getString(c));
+                }
+                writer.endRow();
+            }
+            rows = writer.rows();
+        }
+        commit(temp, target, rows);
+        return rows;
+    }
+
+    /**
+     * IMU 세그먼트 파일 아카이브 (timestamp 는 LONG, 채널은 FLOAT)
+     * @param start 이 바이트의 세그먼트부터 (0 이면 전체)
+     * @param lastTimestamp 첫 세그먼트에서 이 값 이하인 행은 처리된 것으로 보고 제외
+     * @return 기록한 행 수
+     */
+    public static long archiveSegments(File segments, File target, long start, long lastTimestamp) throws IOException {
+        IMUSegmentReader reader = IMUSegmentReader.open(segments, start);
+        String[] channels = reader.channels();
+        String[] header = new String[channels.length + 1];
+        ArchiveColumnType[] types = new ArchiveColumnType[header.length];
+        header[0] = "timestamp";
+        types[0] = ArchiveColumnType.LONG;
+        for (int c = 0; c < channels.length; c++) {
+            header[c + 1] = channels[c];
+            types[c + 1] = ArchiveColumnType.FLOAT;
+        }
+
+        File temp = tempFile(target);
+        long rows;
+        try (SensorArchiveWriter writer = new SensorArchiveWriter(new FileOutputStream(temp), header, types)) {
+            FloatBuffer[] views = new FloatBuffer[channels.length];
+            for (int s = 0; s < reader.segmentCount(); s++) {
+                IMUSegmentReader.Segment segment = reader.segment(s);
+                LongBuffer timestamps = segment.timestamps();
+                for (int c = 0; c < channels.length; c++) {
+                    views[c] = segment.channel(c);
+                }
+                for (int r = 0; r < segment.rows(); r++) {
+                    if (s == 0 && timestamps.get(r) <= lastTimestamp) {
+                        continue;
+                    }
+                    writer.setLong(0, timestamps.get(r));
+                    for (int c = 0; c < channels.length; c++) {
+                        writer.setFloat(c + 1, views[c].get(r));
+                    }
+                    writer.endRow();
+                }
+            }
+            rows = writer.rows();
+        }
+        commit(temp, target, rows);
+        return rows;
+    }
+
+    /** 아카이브를 CSV 로 풀어 쓰기 (헤더 포함) */
+    public static void exportCsv(SensorArchiveReader reader, Writer out) throws IOException {
+        String[] columns = reader.columns();
+        out.append(String.join(",", columns)).append('\n');
+        StringBuilder line = new StringBuilder(columns.length * 12);
+        while (reader.next()) {
+            line.setLength(0);
+            for (int c = 0; c < columns.length; c++) {
+                if (c > 0) line.append(',');
+                line.append(reader.text(c));
+            }
+            out.append(line).append('\n');
+        }
+    }
+
+    private static File tempFile(File target) throws IOException {
+        File temp = new File(target.getParentFile(), target.getName() + ".tmp");
+        if (temp.exists() && !temp.delete()) {
+            throw new IOException("⚠ 임시 파일 삭제 실패: " + temp.getName());
+        }
+        return temp;
+    }
+
+    /** 임시 아카이브를 끝까지 읽어 행 수를 확인한 뒤 target 으로 교체 */
+    private static void commit(File temp, File target, long rows) throws IOException {
+        long decoded = 0;
+        try (SensorArchiveReader reader = SensorArchiveReader.open(temp)) {
+            while (reader.next()) {
+                decoded++;
+            }
+        } catch (IOException | RuntimeException e) {
+            temp.delete();
+            throw e;
+        }
+        if (decoded != rows) {
+            temp.delete();
+            throw new IOException("⚠ 아카이브 검증 실패: " + decoded + " != " + rows);
+        }
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("⚠ 아카이브 파일 교체 실패: " + target.getName());
+        }
+    }
+}
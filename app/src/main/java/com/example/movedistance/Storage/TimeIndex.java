@@ -0,0 +1,136 @@
+package com.example.movedistance.Storage;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+/**
+ * 날짜별 센서 CSV 의 희소 시간 인덱스 (YYYYMMDD_AP/BTS/GPS.csv 옆의 .idx 파일).
+ * <p>
+ * 항목은 (타임스탬프, 바이트 위치) long 두 개이며, 기록 시간이 {@link #INTERVAL_MS} 이상 지날 때마다
+ * 그 행의 시작 위치를 하나 추가한다. 센서 파일은 시간 순서로 추가만 되므로 항목도 정렬되어 있고,
+ * {@link #seekOffset} 은 이진 탐색으로 원하는 시각 직전 항목의 위치를 돌려준다.
+ * 따라서 특정 시각의 1분을 읽을 때 앞부분을 훑지 않고 최대 INTERVAL_MS 분량만 더 읽으면 된다.
+ */
+public final class TimeIndex {
+    /** 인덱스 항목 간격 (1초) */
+    public static final long INTERVAL_MS = 1000L;
+    private static final String SUFFIX = ".idx";
+    private static final int ENTRY_BYTES = 16;
+
+    private TimeIndex() {
+    }
+
+    /** 인덱스 파일 (날짜 파일 이름 + .idx) */
+    public static File sidecar(File dayFile) {
+        return new File(dayFile.getParentFile(), dayFile.getName() + SUFFIX);
+    }
+
+    public static void delete(File dayFile) {
+        File file = sidecar(dayFile);
+        if (file.exists()) {
+            file.delete();
+        }
+    }
+
+    /**
+     * timestamp 이상인 첫 행보다 앞에 있는 가장 가까운 인덱스 위치
+     * @return 바이트 위치, 인덱스가 없거나 맞지 않으면 0 (처음부터 읽기)
+     */
+    public static long seekOffset(File dayFile, long timestamp) {
+        File file = sidecar(dayFile);
+        if (!file.exists()) {
+            return 0L;
+        }
+        try (RandomAccessFile index = new RandomAccessFile(file, "r")) {
+            long count = index.length() / ENTRY_BYTES;
+            // 마지막 항목 중 timestamp 보다 작은 것 (같은 타임스탬프 행이 항목 앞에 있을 수 있으므로 미만)
+            long low = 0;
+            long high = count - 1;
+            long found = -1;
+            while (low <= high) {
+                long mid = (low + high) >>> 1;
+                index.seek(mid * ENTRY_BYTES);
+                if (index.readLong() < timestamp) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            if (found < 0) {
+                return 0L;
+            }
+            index.seek(found * ENTRY_BYTES + 8);
+            long offset = index.readLong();
+            // ⚠ 날짜 파일보다 뒤를 가리키면 파일이 교체된 것이므로 인덱스를 쓰지 않음
+            return offset <= dayFile.length() ? offset : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * 센서 파일에 행을 추가하는 쪽이 유지하는 인덱스 기록기 (기존 .idx 가 있으면 이어서 기록).
+     * 인덱스 파일은 처음 항목을 추가할 때 열어 {@link #close()} 까지 유지한다 (항목마다 다시 열지 않음).
+     */
+    public static final class Writer implements Closeable {
+        private final File file;
+        private final byte[] entry = new byte[ENTRY_BYTES];
+        private FileOutputStream out;
+        private long lastTimestamp = Long.MIN_VALUE;
+        private long lastOffset = -1L;
+
+        public Writer(File dayFile) throws IOException {
+            this.file = sidecar(dayFile);
+            if (!file.exists()) {
+                return;
+            }
+            try (RandomAccessFile index = new RandomAccessFile(file, "rw")) {
+                long count = index.length() / ENTRY_BYTES;
+                // ✅ 중간에 끊긴 마지막 항목은 잘라냄
+                index.setLength(count * ENTRY_BYTES);
+                if (count > 0) {
+                    index.seek((count - 1) * ENTRY_BYTES);
+                    lastTimestamp = index.readLong();
+                    lastOffset = index.readLong();
+                }
+            }
+        }
+
+        /**
+         * offset 에서 시작하는 행을 기록했음을 알림. 마지막 항목에서 INTERVAL_MS 이상 지났을 때만 항목 추가
+         */
+        public void add(long timestamp, long offset) throws IOException {
+            if (offset < lastOffset) {
+                // ⚠ 날짜 파일이 새로 만들어짐: 인덱스도 처음부터
+                close();
+                file.delete();
+                lastTimestamp = Long.MIN_VALUE;
+                lastOffset = -1L;
+            }
+            if (lastOffset >= 0 && timestamp < lastTimestamp + INTERVAL_MS) {
+                return;
+            }
+            if (out == null) {
+                out = new FileOutputStream(file, true);
+            }
+            // 항목 하나를 한 번에 기록 (끊기면 다음 Writer 가 잘라냄)
+            ByteBuffer.wrap(entry).putLong(timestamp).putLong(offset);
+            out.write(entry);
+            lastTimestamp = timestamp;
+            lastOffset = offset;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.movedistance.IMU;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link IMUAutocorrelation} 테스트: 기존 이중 루프(O(n²)) 자기상관과 lag 값, 최대값, 최대 위치(_idx.max.corr) 비교.
+ */
+public class IMUAutocorrelationTest {
+    /** 홀수, 짝수, 2의 거듭제곱과 그 주변 길이 */
+    private static final int[] LENGTHS = {1, 2, 3, 4, 7, 31, 32, 33, 63, 64, 65, 99, 100, 101, 127, 128, 129, 255, 256, 257};
+
+    @Test
+    public void lags_matchQuadraticLoop() {
+        Random random = new Random(5);
+        IMUAutocorrelation autocorrelation = new IMUAutocorrelation();
+        for (int n : LENGTHS) {
+            for (int t = 0; t < 40; t++) {
+                // 앞뒤에 다른 값을 두어 offset 처리도 확인
+                double[] data = new double[n + 6];
+                for (int i = 0; i < data.length; i++) {
+                    data[i] = t % 2 == 0 ? random.nextGaussian() : 9.81 + random.nextGaussian() * 0.1;
+                }
+                double[] row = slice(data, 3, n);
+                double[] expected = quadraticLoop(row);
+                double energy = expected[0] * n;
+
+                autocorrelation.compute(data, 3, n);
+                assertEquals(n, autocorrelation.length());
+                for (int lag = 0; lag < n; lag++) {
+                    // lag 합(나누기 전) 기준 오차
+                    double error = Math.abs(expected[lag] - autocorrelation.lags()[lag]) * (n - lag);
+                    assertTrue("n " + n + " lag " + lag + " error " + error, error <= 1e-13 * energy);
+                }
+                assertArgMax("n " + n, expected, autocorrelation);
+            }
+        }
+    }
+
+    @Test
+    public void zeroRows_maxAndIndexAreZero() {
+        IMUAutocorrelation autocorrelation = new IMUAutocorrelation();
+        for (int n : LENGTHS) {
+            autocorrelation.compute(new double[n], 0, n);
+            for (int lag = 0; lag < n; lag++) {
+                assertEquals(0.0, autocorrelation.lags()[lag], 0.0);
+            }
+            assertEquals(0.0, autocorrelation.max(), 0.0);
+            assertEquals(0, autocorrelation.argMax());
+        }
+        autocorrelation.compute(new double[0], 0, 0);
+        assertEquals(0.0, autocorrelation.max(), 0.0);
+        assertEquals(0, autocorrelation.argMax());
+    }
+
+    @Test
+    public void ties_resolveToSmallestLag() {
+        IMUAutocorrelation autocorrelation = new IMUAutocorrelation();
+        for (int n : LENGTHS) {
+            // 상수 행: 모든 lag 가 같은 값 → 이중 루프의 첫 번째 최대 위치 0
+            for (double value : new double[]{1.0, 3.0, -9.81, 1e-3}) {
+                double[] row = new double[n];
+                Arrays.fill(row, value);
+                double[] expected = quadraticLoop(row);
+                autocorrelation.compute(row, 0, n);
+                assertEquals("n " + n + " value " + value, 0, autocorrelation.argMax());
+                assertEquals(expected[0], autocorrelation.max(), 1e-12 * expected[0]);
+            }
+            // 주기 3 펄스: lag 0, 3, 6, ... 에서 값이 거의 같음
+            double[] pulses = new double[n];
+            for (int i = 0; i < n; i += 3) {
+                pulses[i] = 1.0;
+            }
+            autocorrelation.compute(pulses, 0, n);
+            assertArgMax("pulses n " + n, quadraticLoop(pulses), autocorrelation);
+        }
+    }
+
+    @Test
+    public void argMax_isLagIndexOfMaximum() {
+        IMUAutocorrelation autocorrelation = new IMUAutocorrelation();
+        for (int n : LENGTHS) {
+            if (n < 3) {
+                continue;
+            }
+            // 양 끝만 1: r[n-1] = 1 이 r[0] = 2/n 보다 큼
+            double[] row = new double[n];
+            row[0] = 1.0;
+            row[n - 1] = 1.0;
+            autocorrelation.compute(row, 0, n);
+            assertEquals("n " + n, n - 1, autocorrelation.argMax());
+            assertEquals(1.0, autocorrelation.max(), 1e-12);
+        }
+    }
+
+    /**
+     * 최대 위치 규칙: 찾은 lag 는 기존 루프 값으로도 최대값과 허용 오차 이내이고,
+     * 그보다 작은 lag 중에는 최대값과 (반올림 수준으로) 같은 것이 없어야 한다.
+     */
+    private static void assertArgMax(String message, double[] expected, IMUAutocorrelation autocorrelation) {
+        int n = expected.length;
+        double energy = expected[0] * n;
+        double max = Double.NEGATIVE_INFINITY;
+        int first = 0;
+        for (int lag = 0; lag < n; lag++) {
+            if (expected[lag] > max) {
+                max = expected[lag];
+                first = lag;
+            }
+        }
+        int argMax = autocorrelation.argMax();
+        double band = IMUAutocorrelation.TIE_TOLERANCE * energy;
+        assertTrue(message + " argMax " + argMax + " first " + first,
+                expected[argMax] >= max - band / (n - argMax) - band / (n - first));
+        for (int lag = 0; lag < argMax; lag++) {
+            assertTrue(message + " lag " + lag + " ties before " + argMax,
+                    expected[lag] < max - 1e-15 * energy / (n - lag));
+        }
+        assertEquals(message, max, autocorrelation.max(), 1e-13 * energy);
+    }
+
+    /** 기존 IMUFeatureExtractor.computeAutocorrelation */
+    private static double[] quadraticLoop(double[] x) {
+        int n = x.length;
+        double[] result = new double[n];
+        for (int lag = 0; lag < n; lag++) {
+            double sum = 0;
+            for (int i = 0; i < n - lag; i++) {
+                sum += x[i] * x[i + lag];
+            }
+            result[lag] = sum / (n - lag);
+        }
+        return result;
+    }
+
+    private static double[] slice(double[] data, int offset, int length) {
+        double[] row = new double[length];
+        System.arraycopy(data, offset, row, 0, length);
+        return row;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.movedistance.IMU;
+
+import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.transform.DftNormalization;
+import org.apache.commons.math3.transform.FastFourierTransformer;
+import org.apache.commons.math3.transform.TransformType;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link IMUFFT} 테스트: commons-math FastFourierTransformer (STANDARD) 와 같은 변환인지 확인.
+ */
+public class IMUFFTTest {
+    private static final FastFourierTransformer TRANSFORMER = new FastFourierTransformer(DftNormalization.STANDARD);
+
+    @Test
+    public void forwardAndInverse_matchCommonsMath() {
+        Random random = new Random(11);
+        for (int n = 1; n <= 1024; n *= 2) {
+            double[] re = new double[n];
+            double[] im = new double[n];
+            Complex[] input = new Complex[n];
+            for (int i = 0; i < n; i++) {
+                re[i] = random.nextGaussian();
+                im[i] = random.nextGaussian();
+                input[i] = new Complex(re[i], im[i]);
+            }
+            double scale = Math.sqrt(n);
+
+            IMUFFT fft = IMUFFT.forSize(n);
+            fft.forward(re, im);
+            Complex[] expected = TRANSFORMER.transform(input, TransformType.FORWARD);
+            for (int k = 0; k < n; k++) {
+                assertEquals("n " + n + " re " + k, expected[k].getReal(), re[k], 1e-12 * scale);
+                assertEquals("n " + n + " im " + k, expected[k].getImaginary(), im[k], 1e-12 * scale);
+            }
+
+            fft.inverse(re, im);
+            for (int i = 0; i < n; i++) {
+                assertEquals("n " + n + " round trip " + i, input[i].getReal(), re[i], 1e-12);
+                assertEquals("n " + n + " round trip " + i, input[i].getImaginary(), im[i], 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void realPowerSpectrum_matchesCommonsMath() {
+        Random random = new Random(12);
+        for (int n = 1; n <= 1024; n *= 2) {
+            double[] x = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = 9.81 + random.nextGaussian();
+            }
+            double[] expected = powerSpectrum(x);
+            double peak = max(expected);
+            int bins = n / 2 + 1;
+            double[] out = new double[bins];
+            IMUFFT.forSize(n).realPowerSpectrum(x, new double[n], new double[n], out, bins);
+            for (int k = 0; k < bins; k++) {
+                assertEquals("n " + n + " bin " + k, expected[k], out[k], 1e-13 * peak);
+            }
+        }
+    }
+
+    @Test
+    public void realPowerSpectrumPair_matchesCommonsMath() {
+        Random random = new Random(15);
+        for (int n = 1; n <= 1024; n *= 2) {
+            double[] a = new double[n];
+            double[] b = new double[n];
+            for (int i = 0; i < n; i++) {
+                a[i] = 9.81 + random.nextGaussian();
+                b[i] = random.nextGaussian();
+            }
+            double[] expectedA = powerSpectrum(a);
+            double[] expectedB = powerSpectrum(b);
+            // 두 신호가 한 변환을 나눠 쓰므로 오차는 두 스펙트럼 중 큰 쪽 기준
+            double peak = Math.max(max(expectedA), max(expectedB));
+            int bins = n / 2 + 1;
+            double[] outA = new double[bins];
+            double[] outB = new double[bins];
+            IMUFFT.forSize(n).realPowerSpectrumPair(a, b, new double[n], new double[n], outA, outB, bins);
+            for (int k = 0; k < bins; k++) {
+                assertEquals("n " + n + " a bin " + k, expectedA[k], outA[k], 1e-13 * peak);
+                assertEquals("n " + n + " b bin " + k, expectedB[k], outB[k], 1e-13 * peak);
+            }
+        }
+    }
+
+    @Test
+    public void forSize_rejectsNonPowerOfTwo() {
+        for (int n : new int[]{0, -4, 3, 100, 255}) {
+            try {
+                IMUFFT.forSize(n);
+                fail("2의 거듭제곱이 아닌 길이를 받아들임: " + n);
+            } catch (IllegalArgumentException expected) {
+                // ✅
+            }
+        }
+        assertEquals(128, IMUFFT.nextPowerOfTwo(100));
+        assertEquals(128, IMUFFT.nextPowerOfTwo(128));
+        assertEquals(1, IMUFFT.nextPowerOfTwo(1));
+    }
+
+    /** commons-math 로 구한 |X_k|² */
+    private static double[] powerSpectrum(double[] x) {
+        Complex[] spectrum = TRANSFORMER.transform(x, TransformType.FORWARD);
+        double[] power = new double[spectrum.length];
+        for (int k = 0; k < spectrum.length; k++) {
+            double re = spectrum[k].getReal();
+            double im = spectrum[k].getImaginary();
+            power[k] = re * re + im * im;
+        }
+        return power;
+    }
+
+    private static double max(double[] values) {
+        double max = 0;
+        for (double value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+}
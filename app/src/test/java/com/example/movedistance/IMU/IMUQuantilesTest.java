@@ -0,0 +1,89 @@
+package com.example.movedistance.IMU;
+
+import org.apache.commons.math3.stat.StatUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link IMUQuantiles} 테스트: 기존 StatUtils.percentile 기반 백분위수, IQR, MAD 와 같은 값인지 확인.
+ */
+public class IMUQuantilesTest {
+    private static final int[] LENGTHS = {1, 2, 3, 4, 5, 8, 31, 99, 100, 101, 128};
+    private static final double[] PERCENTILES = {1e-9, 0.5, 1, 10, 25, 33.3, 50, 66.6, 75, 90, 99, 99.9, 100};
+
+    @Test
+    public void randomRows_matchStatUtils() {
+        Random random = new Random(17);
+        IMUQuantiles quantiles = new IMUQuantiles();
+        for (int n : LENGTHS) {
+            for (int t = 0; t < 50; t++) {
+                double[] data = new double[n + 4];
+                for (int i = 0; i < data.length; i++) {
+                    switch (t % 3) {
+                        case 0:
+                            data[i] = random.nextGaussian();
+                            break;
+                        case 1:
+                            // 동률이 많은 값
+                            data[i] = random.nextInt(4) - 1.5;
+                            break;
+                        default:
+                            data[i] = 9.81 + random.nextGaussian() * 0.05;
+                            break;
+                    }
+                }
+                assertMatches("n " + n + " t " + t, quantiles, data, 2, n);
+            }
+        }
+    }
+
+    @Test
+    public void specialValues_matchStatUtils() {
+        Random random = new Random(19);
+        double[] specials = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0.0, -0.0};
+        IMUQuantiles quantiles = new IMUQuantiles();
+        for (int n : LENGTHS) {
+            for (int t = 0; t < 50; t++) {
+                double[] data = new double[n];
+                for (int i = 0; i < n; i++) {
+                    data[i] = random.nextInt(4) == 0 ? specials[random.nextInt(specials.length)] : random.nextGaussian();
+                }
+                assertMatches("n " + n + " t " + t, quantiles, data, 0, n);
+            }
+        }
+
+        // 모두 NaN, 모두 같은 값, 빈 행
+        double[] allNaN = new double[7];
+        Arrays.fill(allNaN, Double.NaN);
+        assertMatches("all NaN", quantiles, allNaN, 0, allNaN.length);
+        double[] constant = new double[9];
+        Arrays.fill(constant, 9.81);
+        assertMatches("constant", quantiles, constant, 0, constant.length);
+        quantiles.load(new double[0], 0, 0);
+        assertEquals(0, quantiles.size());
+        assertEquals(Double.NaN, quantiles.median(), 0.0);
+        assertEquals(Double.NaN, quantiles.medianAbsoluteDeviation(), 0.0);
+    }
+
+    private static void assertMatches(String message, IMUQuantiles quantiles, double[] data, int offset, int length) {
+        double[] row = Arrays.copyOfRange(data, offset, offset + length);
+        quantiles.load(data, offset, length);
+        for (double p : PERCENTILES) {
+            assertEquals(message + " p " + p, StatUtils.percentile(row, p), quantiles.percentile(p), 0.0);
+        }
+        assertEquals(message + " iqr", StatUtils.percentile(row, 75) - StatUtils.percentile(row, 25),
+                quantiles.interquartileRange(), 0.0);
+        assertEquals(message + " mad", baselineMedianAbsoluteDeviation(row), quantiles.medianAbsoluteDeviation(), 0.0);
+    }
+
+    /** 기존 IMUFeatureExtractor.medianAbsoluteDeviation */
+    private static double baselineMedianAbsoluteDeviation(double[] data) {
+        double median = StatUtils.percentile(data, 50);
+        double[] deviations = Arrays.stream(data).map(d -> Math.abs(d - median)).toArray();
+        return StatUtils.percentile(deviations, 50);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.movedistance.IMU;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link IMUResampler} 테스트: 초마다 정확히 100 개인 입력은 모든 전략이 기존 extendIMUDataByTimestamp 결과
+ * (초를 타임스탬프 오름차순으로 놓았을 때)와 같아야 하고, 100 개 미만인 초만 전략에 따라 달라진다.
+ */
+public class IMUResamplerTest {
+    private static final int SIZE = IMUWindowBuffer.WINDOW_SIZE;
+    private static final long BASE = 1_760_000_000_000L;
+
+    @Test
+    public void fullSeconds_allStrategiesMatchOldPath() {
+        Random random = new Random(41);
+        int seconds = 7;
+        long[] timestamps = new long[seconds * SIZE];
+        double[] source = new double[timestamps.length];
+        for (int s = 0; s < seconds; s++) {
+            for (int r = 0; r < SIZE; r++) {
+                timestamps[s * SIZE + r] = BASE + s * 1000L;
+                source[s * SIZE + r] = random.nextGaussian();
+            }
+        }
+        assertAllStrategiesMatchOldPath(timestamps, source);
+    }
+
+    @Test
+    public void fullSeconds_outOfOrderAndInterleaved_matchOldPathInTimestampOrder() {
+        Random random = new Random(43);
+        int seconds = 5;
+        // 초마다 100 개씩, 수집 순서는 초끼리 섞여 있음 (같은 초 안의 상대 순서가 기존 그룹 순서)
+        List<Integer> owners = new ArrayList<>();
+        for (int s = 0; s < seconds; s++) {
+            for (int r = 0; r < SIZE; r++) {
+                owners.add(s);
+            }
+        }
+        Collections.shuffle(owners, random);
+        long[] timestamps = new long[owners.size()];
+        double[] source = new double[owners.size()];
+        for (int i = 0; i < timestamps.length; i++) {
+            // 초 번호와 타임스탬프 순서를 뒤집어 입력이 내림차순이 되도록
+            timestamps[i] = BASE + (seconds - owners.get(i)) * 1000L;
+            source[i] = i;
+        }
+        assertAllStrategiesMatchOldPath(timestamps, source);
+    }
+
+    @Test
+    public void shortSecond_sampleAndHoldChangesInputs() {
+        // ⚠ 100 개 미만인 초는 기본 전략(SAMPLE_AND_HOLD)이 기존 무작위 복제와 다른 값을 만든다
+        int k = 37;
+        long[] timestamps = new long[k];
+        double[] source = new double[k];
+        for (int r = 0; r < k; r++) {
+            timestamps[r] = BASE;
+            source[r] = r;
+        }
+        double[] hold = apply(IMUResampler.sampleAndHold(), timestamps, source);
+        for (int j = 0; j < SIZE; j++) {
+            assertEquals("slot " + j, (double) (j * k / SIZE), hold[j], 0.0);
+        }
+
+        double[] linear = apply(IMUResampler.linear(), timestamps, source);
+        assertEquals(0.0, linear[0], 0.0);
+        assertEquals(k - 1, linear[SIZE - 1], 0.0);
+        for (int j = 1; j < SIZE; j++) {
+            assertTrue(linear[j] >= linear[j - 1]);
+        }
+
+        // DUPLICATE: 앞 k 개는 수집 순서 그대로, 나머지는 같은 초의 샘플 복제, 같은 시드면 같은 결과
+        double[] duplicate = apply(IMUResampler.duplicate(7L), timestamps, source);
+        for (int j = 0; j < k; j++) {
+            assertEquals(j, duplicate[j], 0.0);
+        }
+        for (int j = k; j < SIZE; j++) {
+            assertTrue(duplicate[j] >= 0 && duplicate[j] < k && duplicate[j] == Math.rint(duplicate[j]));
+        }
+        assertArrayEquals(duplicate, apply(IMUResampler.duplicate(7L), timestamps, source), 0.0);
+    }
+
+    private static void assertAllStrategiesMatchOldPath(long[] timestamps, double[] source) {
+        Map<Long, List<Double>> groups = oldGroups(timestamps, source);
+        long[] expectedSeconds = new long[groups.size()];
+        double[] expected = new double[groups.size() * SIZE];
+        int window = 0;
+        for (Map.Entry<Long, List<Double>> group : groups.entrySet()) {
+            assertEquals(SIZE, group.getValue().size());
+            expectedSeconds[window] = group.getKey();
+            for (int r = 0; r < SIZE; r++) {
+                expected[window * SIZE + r] = group.getValue().get(r);
+            }
+            window++;
+        }
+
+        for (IMUResampler resampler : Arrays.asList(IMUResampler.sampleAndHold(), IMUResampler.linear(),
+                IMUResampler.duplicate(1L), IMUResampler.duplicate(99L))) {
+            IMUResampler.Plan plan = resampler.plan(timestamps, timestamps.length);
+            String name = resampler.getStrategy().name();
+            assertArrayEquals(name, expectedSeconds, plan.timestamps());
+            double[] target = new double[plan.windows() * SIZE];
+            plan.apply(source, target);
+            for (int i = 0; i < target.length; i++) {
+                assertEquals(name + " slot " + i, Double.doubleToLongBits(expected[i]),
+                        Double.doubleToLongBits(target[i]));
+            }
+        }
+    }
+
+    /** 기존 extendIMUDataByTimestamp 의 그룹 (초 → 수집 순서 샘플), 초는 오름차순 */
+    private static Map<Long, List<Double>> oldGroups(long[] timestamps, double[] source) {
+        Map<Long, List<Double>> groups = new TreeMap<>();
+        for (int i = 0; i < timestamps.length; i++) {
+            groups.computeIfAbsent(timestamps[i], k -> new ArrayList<>()).add(source[i]);
+        }
+        return groups;
+    }
+
+    private static double[] apply(IMUResampler resampler, long[] timestamps, double[] source) {
+        IMUResampler.Plan plan = resampler.plan(timestamps, timestamps.length);
+        double[] target = new double[plan.windows() * SIZE];
+        plan.apply(source, target);
+        return target;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.movedistance.IMU;
+
+import org.apache.commons.math3.stat.StatUtils;
+import org.apache.commons.math3.stat.descriptive.moment.StandardDeviation;
+import org.apache.commons.math3.stat.descriptive.rank.Max;
+import org.apache.commons.math3.stat.descriptive.rank.Min;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link IMUStatKernel} 테스트: 기존 commons-math(StatUtils.mean, StandardDeviation, Max, Min)와 signum 비교 구현 대비.
+ * min/max/zcr/fzc 는 같은 값, mean/std 는 max|x| 대비 {@link IMUStatKernel#TOLERANCE} 이내.
+ */
+public class IMUStatKernelTest {
+    private static final int[] LENGTHS = {1, 2, 3, 4, 7, 31, 32, 33, 99, 100, 101, 128, 1000};
+
+    @Test
+    public void randomRows_matchCommonsMath() {
+        Random random = new Random(7);
+        double[] out = new double[IMUStatKernel.SIZE];
+        for (int n : LENGTHS) {
+            for (int t = 0; t < 60; t++) {
+                double[] data = new double[n + 3];
+                for (int i = 0; i < data.length; i++) {
+                    switch (t % 5) {
+                        case 0:
+                            data[i] = random.nextGaussian();
+                            break;
+                        case 1:
+                            // 중력처럼 큰 평균 + 작은 잡음 (상쇄 오차가 나기 쉬운 경우)
+                            data[i] = 9.81 + random.nextGaussian() * 1e-3;
+                            break;
+                        case 2:
+                            data[i] = 1e6 + random.nextGaussian();
+                            break;
+                        case 3:
+                            // 0 과 부호가 자주 바뀌는 정수 값 (zcr/fzc)
+                            data[i] = random.nextInt(3) - 1;
+                            break;
+                        default:
+                            data[i] = random.nextGaussian() * Math.pow(10, random.nextInt(12) - 6);
+                            break;
+                    }
+                }
+                double[] row = Arrays.copyOfRange(data, 1, 1 + n);
+                IMUStatKernel.compute(data, 1, n, out);
+                assertMatches("n " + n + " t " + t, row, out);
+            }
+        }
+    }
+
+    @Test
+    public void specialRows_matchCommonsMath() {
+        double[] out = new double[IMUStatKernel.SIZE];
+        double[][] rows = {
+                {0.0, 0.0, 0.0},
+                {-0.0, 0.0, -0.0, 0.0},
+                {5.0},
+                {9.81, 9.81, 9.81, 9.81, 9.81},
+                {Double.NaN, 1.0, -1.0},
+                {1.0, Double.NaN, -1.0, 2.0},
+                {Double.NaN, Double.NaN},
+                {Double.MIN_VALUE, -Double.MIN_VALUE, 0.0},
+        };
+        for (double[] row : rows) {
+            IMUStatKernel.compute(row, 0, row.length, out);
+            assertMatches(Arrays.toString(row), row, out);
+        }
+
+        IMUStatKernel.compute(new double[0], 0, 0, out);
+        assertMatches("empty", new double[0], out);
+    }
+
+    private static void assertMatches(String message, double[] row, double[] out) {
+        double scale = 0;
+        for (double value : row) {
+            if (!Double.isNaN(value)) {
+                scale = Math.max(scale, Math.abs(value));
+            }
+        }
+        double tolerance = IMUStatKernel.TOLERANCE * scale;
+        assertEquals(message + " mean", StatUtils.mean(row), out[IMUStatKernel.MEAN], tolerance);
+        assertEquals(message + " std", new StandardDeviation().evaluate(row), out[IMUStatKernel.STD], tolerance);
+        assertEquals(message + " max", new Max().evaluate(row), out[IMUStatKernel.MAX], 0.0);
+        assertEquals(message + " min", new Min().evaluate(row), out[IMUStatKernel.MIN], 0.0);
+        assertEquals(message + " zcr", zeroCrossingRate(row), out[IMUStatKernel.ZCR], 0.0);
+        assertEquals(message + " fzc", firstZeroCrossing(row), out[IMUStatKernel.FZC], 0.0);
+    }
+
+    /** 기존 IMUFeatureExtractor.zeroCrossingRate */
+    private static double zeroCrossingRate(double[] data) {
+        int count = 0;
+        for (int i = 1; i < data.length; i++) {
+            if (Math.signum(data[i]) != Math.signum(data[i - 1])) {
+                count++;
+            }
+        }
+        return (double) count / data.length;
+    }
+
+    /** 기존 IMUFeatureExtractor.firstZeroCrossing */
+    private static int firstZeroCrossing(double[] data) {
+        for (int i = 1; i < data.length; i++) {
+            if (Math.signum(data[i]) != Math.signum(data[i - 1])) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
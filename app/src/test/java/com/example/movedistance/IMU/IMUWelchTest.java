@@ -0,0 +1,142 @@
+package com.example.movedistance.IMU;
+
+import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.transform.DftNormalization;
+import org.apache.commons.math3.transform.FastFourierTransformer;
+import org.apache.commons.math3.transform.TransformType;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link IMUWelch} 테스트: 기존 FastFourierTransformer 기반 computeWelchPSD 와 같은 PSD 인지 확인.
+ */
+public class IMUWelchTest {
+    /** 홀수, 짝수, 2의 거듭제곱 nperseg */
+    private static final int[] SEGMENTS = {2, 3, 7, 32, 33, 63, 64, 99, 100, 101, 128};
+
+    @Test
+    public void compute_matchesFastFourierTransformerPath() {
+        Random random = new Random(13);
+        IMUWelch welch = new IMUWelch();
+        for (int nperseg : SEGMENTS) {
+            // 세그먼트 하나 (앱에서 쓰는 경우) 와 50% 오버랩 세그먼트 여러 개
+            for (int length : new int[]{nperseg, nperseg + nperseg / 2, 3 * nperseg + 1}) {
+                for (int t = 0; t < 10; t++) {
+                    double[] data = signal(random, length + 5, t);
+                    double[] expected = baselineWelchPSD(Arrays.copyOfRange(data, 5, 5 + length), 100, nperseg);
+                    double[] psd = new double[IMUWelch.psdLength(nperseg) + 3];
+                    Arrays.fill(psd, Double.NaN);
+                    welch.compute(data, 5, length, 100, nperseg, psd);
+                    assertPsd("nperseg " + nperseg + " length " + length, expected, psd);
+                    // psdLength 뒤는 건드리지 않음
+                    for (int k = expected.length; k < psd.length; k++) {
+                        assertEquals(Double.NaN, psd[k], 0.0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void computePair_matchesFastFourierTransformerPath() {
+        Random random = new Random(14);
+        IMUWelch welch = new IMUWelch();
+        for (int nperseg : SEGMENTS) {
+            for (int length : new int[]{nperseg, 3 * nperseg + 1}) {
+                for (int t = 0; t < 12; t++) {
+                    double[] a = signal(random, length + 2, t);
+                    double[] b = signal(random, length + 7, t / 3);
+                    // 축마다 크기가 크게 다른 경우 (중력 축 옆의 작은 축), 한쪽이 0 인 경우
+                    double scale = t == 11 ? 0.0 : t % 4 == 3 ? 1e-4 : t % 4 == 2 ? 1e-8 : 1.0;
+                    for (int i = 0; i < b.length; i++) {
+                        b[i] *= scale;
+                    }
+                    double[] psdA = new double[IMUWelch.psdLength(nperseg)];
+                    double[] psdB = new double[IMUWelch.psdLength(nperseg)];
+                    welch.computePair(a, 2, b, 7, length, 100, nperseg, psdA, psdB);
+                    String message = "nperseg " + nperseg + " length " + length + " t " + t;
+                    assertPsd(message + " a", baselineWelchPSD(Arrays.copyOfRange(a, 2, 2 + length), 100, nperseg), psdA);
+                    assertPsd(message + " b", baselineWelchPSD(Arrays.copyOfRange(b, 7, 7 + length), 100, nperseg), psdB);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void zeroRow_isAllZero() {
+        IMUWelch welch = new IMUWelch();
+        for (int nperseg : SEGMENTS) {
+            double[] psd = new double[IMUWelch.psdLength(nperseg)];
+            welch.compute(new double[nperseg], 0, nperseg, 100, nperseg, psd);
+            for (double value : psd) {
+                assertEquals(0.0, value, 0.0);
+            }
+        }
+    }
+
+    static void assertPsd(String message, double[] expected, double[] psd) {
+        double peak = 0;
+        for (double value : expected) {
+            peak = Math.max(peak, Math.abs(value));
+        }
+        for (int k = 0; k < expected.length; k++) {
+            assertEquals(message + " bin " + k, expected[k], psd[k], 1e-13 * peak);
+        }
+    }
+
+    /** 센서처럼 보이는 신호 (t 에 따라 잡음, 중력 + 진동, 계단) */
+    static double[] signal(Random random, int length, int t) {
+        double[] data = new double[length];
+        for (int i = 0; i < length; i++) {
+            switch (t % 3) {
+                case 0:
+                    data[i] = random.nextGaussian();
+                    break;
+                case 1:
+                    data[i] = 9.81 + Math.sin(i * 0.37) + random.nextGaussian() * 0.05;
+                    break;
+                default:
+                    data[i] = i < length / 2 ? 1.0 : -2.0;
+                    break;
+            }
+        }
+        return data;
+    }
+
+    /** 기존 IMUFeatureExtractor.computeWelchPSD (FastFourierTransformer, Complex[]) */
+    static double[] baselineWelchPSD(double[] data, int fs, int nperseg) {
+        int n = data.length;
+        int step = nperseg / 2;
+        int numSegments = (n - nperseg) / step + 1;
+
+        int paddedLength = IMUFFT.nextPowerOfTwo(nperseg);
+        double[] psd = new double[paddedLength / 2];
+
+        for (int i = 0; i < numSegments; i++) {
+            int start = i * step;
+            double[] segment = Arrays.copyOfRange(data, start, start + nperseg);
+            for (int j = 0; j < segment.length; j++) {
+                segment[j] *= 0.5 * (1 - Math.cos(2 * Math.PI * j / (segment.length - 1)));
+            }
+            double[] paddedSegment = new double[paddedLength];
+            System.arraycopy(segment, 0, paddedSegment, 0, segment.length);
+
+            FastFourierTransformer fft = new FastFourierTransformer(DftNormalization.STANDARD);
+            Complex[] fftResult = fft.transform(paddedSegment, TransformType.FORWARD);
+            for (int j = 0; j < psd.length; j++) {
+                double real = fftResult[j].getReal();
+                double imag = fftResult[j].getImaginary();
+                psd[j] += (real * real + imag * imag) / numSegments;
+            }
+        }
+
+        for (int i = 0; i < psd.length; i++) {
+            psd[i] *= 2.0 / (fs * nperseg);
+        }
+        return psd;
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.movedistance.Storage;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link CsvCursor} 테스트: 숫자 변환이 Float.parseFloat / Double.parseDouble / Long.parseLong 과
+ * 비트 단위로 같은지, 그리고 줄 단위 처리(\r\n, 기록 중인 마지막 줄, 64KB 보다 긴 행).
+ */
+public class CsvCursorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void getFloatAndGetDouble_matchJdkParsers() throws IOException {
+        Random random = new Random(23);
+        List<String> values = new ArrayList<>();
+        String[] fixed = {
+                "0", "-0", "0.0", "-0.0", "+1", "1.", ".5", "-.5", "00012.5000", "1e5", "1E-5", "-2.5e+3", "1e0",
+                "3.4028235E38", "3.4028236E38", "1.17549435E-38", "1.4E-45", "7.0E-46", "1e-46", "1e39",
+                "4.9E-324", "1.7976931348623157E308", "1e309", "1e-400", "16777217", "16777219", "9007199254740993",
+                "0.1", "0.2", "0.3", "9.81", "-67", "37.566535", "126.977969", "123456789012345678",
+                "1234567890123456789", "0.000000000000000000001", "1.00000000000000000000", "1e22", "1e23",
+                "1e-22", "1e-23", "999999999999999999e-22", "NaN", "-Infinity", "1.5f", "2d", " 1", "1 ",
+                "1e", "1e+", "--1", ".", "", "-", "1.2.3", "0x10", "1e99999",
+        };
+        values.addAll(Arrays.asList(fixed));
+        for (int i = 0; i < 20000; i++) {
+            float f = Float.intBitsToFloat(random.nextInt());
+            double d = Double.longBitsToDouble(random.nextLong());
+            values.add(Float.toString(f));
+            values.add(Double.toString(d));
+            values.add(Double.toString(f));
+            // 센서 값처럼 짧은 소수
+            values.add(String.format(Locale.ROOT, "%." + random.nextInt(9) + "f", random.nextGaussian() * 100));
+            // 긴 가수와 지수 표기
+            values.add(randomDigits(random, 1 + random.nextInt(25)) + "." + randomDigits(random, random.nextInt(25))
+                    + (random.nextBoolean() ? "" : "e" + (random.nextInt(90) - 45)));
+            // float 두 값의 정확한 중간과 그 근처 (이중 반올림 확인)
+            float base = Float.intBitsToFloat(random.nextInt(0x7F000000));
+            BigDecimal middle = new BigDecimal(base).add(new BigDecimal(Math.nextUp(base))).divide(BigDecimal.valueOf(2));
+            values.add(middle.toString());
+            values.add(middle.round(new MathContext(9 + random.nextInt(9))).toString());
+        }
+
+        File csv = write(values);
+        try (CsvCursor reader = new CsvCursor(csv)) {
+            for (String value : values) {
+                assertTrue(reader.next());
+                assertEquals(value, reader.getString(0));
+                assertFloatParity(value, reader);
+                assertDoubleParity(value, reader);
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void getLong_matchesLongParseLong() throws IOException {
+        Random random = new Random(29);
+        List<String> values = new ArrayList<>(Arrays.asList(
+                "0", "-0", "+0", "+7", "-7", "9223372036854775807", "-9223372036854775808", "9223372036854775808",
+                "-9223372036854775809", "000000000000000000000000042", "999999999999999999", "1000000000000000000",
+                "", "-", "+", "1.0", "1e3", " 1", "12a", "1700000000000"));
+        for (int i = 0; i < 20000; i++) {
+            values.add(Long.toString(random.nextLong() >> random.nextInt(64)));
+            values.add(randomDigits(random, 1 + random.nextInt(21)));
+        }
+        File csv = write(values);
+        try (CsvCursor reader = new CsvCursor(csv)) {
+            for (String value : values) {
+                assertTrue(reader.next());
+                Long expected;
+                try {
+                    expected = Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    expected = null;
+                }
+                try {
+                    long actual = reader.getLong(0);
+                    assertEquals(value, expected, Long.valueOf(actual));
+                } catch (NumberFormatException e) {
+                    assertEquals("getLong 예외: " + value, null, expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void getTimestamp_truncatesDecimalsExactly() throws IOException {
+        Random random = new Random(31);
+        List<String> values = new ArrayList<>(Arrays.asList(
+                "1700000000000", "1700000000000.0", "1700000000123.999", "1.7E12", "1.700000000123e12",
+                "-1.5", "-.5", "0.5", "+12.75", "0001700000000000.25", "00000000000000000000000001.5",
+                "17000000000001234567.5", "1.", ".9"));
+        for (int i = 0; i < 20000; i++) {
+            long millis = 1_600_000_000_000L + (long) (random.nextDouble() * 200_000_000_000L);
+            values.add(Long.toString(millis));
+            values.add(millis + "." + randomDigits(random, 1 + random.nextInt(6)));
+        }
+        File csv = write(values);
+        try (CsvCursor reader = new CsvCursor(csv)) {
+            for (String value : values) {
+                assertTrue(reader.next());
+                // 정수부가 long 범위인 일반 소수는 정확히 절삭, 지수 표기나 범위 밖은 double 변환 후 절삭 (포화)
+                BigDecimal exact = new BigDecimal(value);
+                long expected = value.contains("e") || value.contains("E") || exact.toBigInteger().bitLength() > 63
+                        ? (long) Double.parseDouble(value)
+                        : exact.longValue();
+                assertEquals(value, expected, reader.getTimestamp(0));
+            }
+        }
+        for (String invalid : new String[]{".", "1.2.3", "abc", "", "1.5x"}) {
+            try (CsvCursor reader = new CsvCursor(write(Arrays.asList(invalid)))) {
+                assertTrue(reader.next());
+                reader.getTimestamp(0);
+                fail("형식 오류를 받아들임: " + invalid);
+            } catch (NumberFormatException expected) {
+                // ✅
+            }
+        }
+    }
+
+    @Test
+    public void crlfEndingsAndEmptyFields() throws IOException {
+        File csv = writeBytes("timestamp,x,ssid\r\n1,2.5,\r\n2,,a b\r\n\r\n3,4,c\n");
+        try (CsvCursor reader = new CsvCursor(csv)) {
+            assertArrayEquals(new String[]{"timestamp", "x", "ssid"}, reader.readHeader());
+            assertEquals(2, reader.column("ssid"));
+
+            assertTrue(reader.next());
+            assertEquals(3, reader.fieldCount());
+            assertEquals(2.5f, reader.getFloat(1), 0.0f);
+            assertTrue(reader.isEmpty(2));
+
+            assertTrue(reader.next());
+            assertTrue(reader.isEmpty(1));
+            assertEquals("a b", reader.getString(2));
+
+            assertTrue(reader.next());
+            assertEquals(1, reader.fieldCount());
+            assertTrue(reader.isEmpty(0));
+
+            assertTrue(reader.next());
+            assertEquals("3,4,c", reader.rowText());
+            assertEquals(csv.length(), reader.position());
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void partialLastLine_isReturnedOnceCompleted() throws IOException {
+        File csv = writeBytes("timestamp,x\n1,2\n3,4");
+        try (CsvCursor reader = new CsvCursor(csv)) {
+            reader.readHeader();
+            assertTrue(reader.next());
+            assertEquals(1L, reader.getLong(0));
+            long partial = reader.position();
+            assertFalse(reader.next());
+            assertEquals(partial, reader.position());
+
+            // 기록 중이던 줄이 끝나면 이어서 읽음
+            try (FileOutputStream out = new FileOutputStream(csv, true)) {
+                out.write("5\n6,7\n".getBytes(StandardCharsets.UTF_8));
+            }
+            assertTrue(reader.next());
+            assertEquals(partial, reader.rowOffset());
+            assertEquals("3,45", reader.rowText());
+            assertTrue(reader.next());
+            assertEquals(7L, reader.getLong(1));
+            assertFalse(reader.next());
+
+            reader.seek(partial);
+            assertTrue(reader.next());
+            assertEquals(45L, reader.getLong(1));
+        }
+    }
+
+    @Test
+    public void rowsLongerThanBuffer_growTheBuffer() throws IOException {
+        Random random = new Random(37);
+        StringBuilder text = new StringBuilder("timestamp,blob,x\n");
+        String[] blobs = new String[4];
+        for (int r = 0; r < blobs.length; r++) {
+            blobs[r] = randomDigits(random, 70_000 + r * 40_000);
+            text.append(r).append(',').append(blobs[r]).append(",1.25\n");
+        }
+        File csv = writeBytes(text.toString());
+        try (CsvCursor reader = new CsvCursor(csv)) {
+            reader.readHeader();
+            for (int r = 0; r < blobs.length; r++) {
+                assertTrue(reader.next());
+                assertEquals(r, reader.getLong(0));
+                assertEquals(blobs[r], reader.getString(1));
+                assertEquals(1.25, reader.getDouble(2), 0.0);
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    private static void assertFloatParity(String value, CsvCursor reader) {
+        Float expected;
+        try {
+            expected = Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            expected = null;
+        }
+        try {
+            float actual = reader.getFloat(0);
+            if (expected == null) {
+                fail("getFloat 이 형식 오류를 받아들임: " + value);
+            }
+            assertEquals(value, Float.floatToIntBits(expected), Float.floatToIntBits(actual));
+        } catch (NumberFormatException e) {
+            assertEquals("getFloat 예외: " + value, null, expected);
+        }
+    }
+
+    private static void assertDoubleParity(String value, CsvCursor reader) {
+        Double expected;
+        try {
+            expected = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            expected = null;
+        }
+        try {
+            double actual = reader.getDouble(0);
+            if (expected == null) {
+                fail("getDouble 이 형식 오류를 받아들임: " + value);
+            }
+            assertEquals(value, Double.doubleToLongBits(expected), Double.doubleToLongBits(actual));
+        } catch (NumberFormatException e) {
+            assertEquals("getDouble 예외: " + value, null, expected);
+        }
+    }
+
+    private static String randomDigits(Random random, int count) {
+        char[] digits = new char[count];
+        for (int i = 0; i < count; i++) {
+            digits[i] = (char) ('0' + random.nextInt(10));
+        }
+        return new String(digits);
+    }
+
+    /** 한 줄에 값 하나씩 기록한 CSV (헤더 없음) */
+    private File write(List<String> values) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (String value : values) {
+            text.append(value).append('\n');
+        }
+        return writeBytes(text.toString());
+    }
+
+    private File writeBytes(String text) throws IOException {
+        File file = folder.newFile();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.movedistance.Storage;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * IMU 세그먼트 파일 기록 / 읽기 테스트 ({@link IMUSegmentWriter}, {@link IMUSegmentReader}).
+ */
+public class IMUSegmentFileTest {
+    private static final String[] CHANNELS = {"accel.x", "accel.y", "gyro.z"};
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void appendCloseReopenAppend_keepsAllSegments() throws IOException {
+        File file = new File(folder.getRoot(), "20261018_IMU.bin");
+        try (IMUSegmentWriter writer = new IMUSegmentWriter(file, CHANNELS)) {
+            for (int s = 0; s < 3; s++) {
+                appendSecond(writer, s);
+            }
+            assertEquals(file.length(), writer.size());
+        }
+        try (IMUSegmentWriter writer = new IMUSegmentWriter(file, CHANNELS)) {
+            assertEquals(file.length(), writer.size());
+            for (int s = 3; s < 5; s++) {
+                appendSecond(writer, s);
+            }
+            assertEquals(file.length(), writer.size());
+        }
+
+        IMUSegmentReader reader = IMUSegmentReader.open(file);
+        assertArrayEquals(CHANNELS, reader.channels());
+        assertEquals(5, reader.segmentCount());
+        int rows = 0;
+        for (int s = 0; s < 5; s++) {
+            rows += rowsOf(s);
+        }
+        assertEquals(rows, reader.rowCount());
+        for (int s = 0; s < 5; s++) {
+            assertSecond(reader.segment(s), s);
+        }
+        assertEquals(file.length(), reader.validBytes());
+    }
+
+    @Test
+    public void tornTail_isTruncatedToValidBytesOnReopen() throws IOException {
+        File file = new File(folder.getRoot(), "20261018_IMU.bin");
+        long twoSegments;
+        long threeSegments;
+        try (IMUSegmentWriter writer = new IMUSegmentWriter(file, CHANNELS)) {
+            appendSecond(writer, 0);
+            appendSecond(writer, 1);
+            twoSegments = writer.size();
+            appendSecond(writer, 2);
+            threeSegments = writer.size();
+        }
+        byte[] original = read(file);
+
+        // 세그먼트 헤더 안, 타임스탬프 중간, 채널 중간, 마지막 패딩 직전에서 잘린 경우
+        long[] cuts = {twoSegments + 3, twoSegments + 8 + 5, twoSegments + 8 + rowsOf(2) * 8L + 2, threeSegments - 1};
+        for (long cut : cuts) {
+            write(file, original, cut);
+            IMUSegmentReader torn = IMUSegmentReader.open(file);
+            assertEquals("cut " + cut, 2, torn.segmentCount());
+            assertEquals("cut " + cut, twoSegments, torn.validBytes());
+
+            try (IMUSegmentWriter writer = new IMUSegmentWriter(file, CHANNELS)) {
+                assertEquals("cut " + cut, twoSegments, writer.size());
+                assertEquals("cut " + cut, twoSegments, file.length());
+                appendSecond(writer, 2);
+            }
+            IMUSegmentReader reader = IMUSegmentReader.open(file);
+            assertEquals("cut " + cut, 3, reader.segmentCount());
+            for (int s = 0; s < 3; s++) {
+                assertSecond(reader.segment(s), s);
+            }
+            assertEquals(threeSegments, file.length());
+        }
+    }
+
+    @Test
+    public void reopenWithDifferentChannels_isRejected() throws IOException {
+        File file = new File(folder.getRoot(), "20261018_IMU.bin");
+        try (IMUSegmentWriter writer = new IMUSegmentWriter(file, CHANNELS)) {
+            appendSecond(writer, 0);
+        }
+        byte[] before = read(file);
+        try {
+            new IMUSegmentWriter(file, new String[]{"accel.x", "accel.y"}).close();
+            fail("채널 구성이 다른 파일에 이어 씀");
+        } catch (IOException expected) {
+            // ✅ 파일은 그대로
+        }
+        assertArrayEquals(before, read(file));
+    }
+
+    @Test
+    public void openFromStart_indexesFromThatSegment() throws IOException {
+        File file = new File(folder.getRoot(), "20261018_IMU.bin");
+        try (IMUSegmentWriter writer = new IMUSegmentWriter(file, CHANNELS)) {
+            for (int s = 0; s < 4; s++) {
+                appendSecond(writer, s);
+            }
+        }
+        IMUSegmentReader all = IMUSegmentReader.open(file);
+        long headerEnd = all.segment(0).offset();
+
+        // 헤더 안(또는 0), 헤더 끝, 파일 밖이면 첫 세그먼트부터
+        for (long start : new long[]{0, 1, headerEnd - 1, headerEnd, file.length() + 1}) {
+            IMUSegmentReader reader = IMUSegmentReader.open(file, start);
+            assertEquals("start " + start, 4, reader.segmentCount());
+            assertSecond(reader.segment(0), 0);
+        }
+
+        for (int from = 1; from < 4; from++) {
+            long start = all.segment(from - 1).endOffset();
+            assertEquals(all.segment(from).offset(), start);
+            IMUSegmentReader reader = IMUSegmentReader.open(file, start);
+            assertEquals(4 - from, reader.segmentCount());
+            assertEquals(0, reader.segment(0).firstRow());
+            assertEquals(start, reader.segment(0).offset());
+            for (int s = from; s < 4; s++) {
+                assertSecond(reader.segment(s - from), s);
+            }
+        }
+
+        // 파일 끝이면 색인할 세그먼트 없음
+        IMUSegmentReader atEnd = IMUSegmentReader.open(file, file.length());
+        assertEquals(0, atEnd.segmentCount());
+        assertEquals(0, atEnd.rowCount());
+    }
+
+    /** 초 s 의 행 수 (세그먼트마다 다르게, 홀수 행으로 패딩 확인) */
+    private static int rowsOf(int s) {
+        return 97 + s * 2;
+    }
+
+    private static void appendSecond(IMUSegmentWriter writer, int s) throws IOException {
+        int rows = rowsOf(s);
+        long[] timestamps = new long[rows + 5];
+        float[][] values = new float[CHANNELS.length][rows + 5];
+        for (int r = 0; r < rows; r++) {
+            timestamps[r] = 1_760_000_000_000L + s * 1000L + r * 10L;
+            for (int c = 0; c < CHANNELS.length; c++) {
+                values[c][r] = s * 1000 + r + c * 0.25f;
+            }
+        }
+        writer.append(timestamps, values, rows);
+    }
+
+    private static void assertSecond(IMUSegmentReader.Segment segment, int s) {
+        int rows = rowsOf(s);
+        assertEquals(rows, segment.rows());
+        LongBuffer timestamps = segment.timestamps();
+        for (int r = 0; r < rows; r++) {
+            assertEquals(1_760_000_000_000L + s * 1000L + r * 10L, timestamps.get(r));
+        }
+        for (int c = 0; c < CHANNELS.length; c++) {
+            FloatBuffer channel = segment.channel(c);
+            for (int r = 0; r < rows; r++) {
+                assertEquals(s * 1000 + r + c * 0.25f, channel.get(r), 0.0f);
+            }
+        }
+    }
+
+    private static byte[] read(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            byte[] bytes = new byte[(int) raf.length()];
+            raf.readFully(bytes);
+            return bytes;
+        }
+    }
+
+    private static void write(File file, byte[] bytes, long length) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(0);
+            raf.write(bytes, 0, (int) length);
+        }
+    }
+}
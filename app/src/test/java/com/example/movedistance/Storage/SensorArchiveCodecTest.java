@@ -0,0 +1,278 @@
+package com.example.movedistance.Storage;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 센서 아카이브 비트 코덱 왕복 테스트 ({@link ArchiveColumnCodec}, {@link SensorArchiveWriter}, {@link SensorArchiveReader}).
+ */
+public class SensorArchiveCodecTest {
+
+    @Test
+    public void longDeltaOfDelta_bucketEdges() throws IOException {
+        // delta-of-delta 가 매 행 같으면 행마다 구간 비트만큼 늘어남 ('0' / '10'+7 / '110'+9 / '1110'+12 / '1111'+64)
+        long[][] cases = {
+                {0, 1},
+                {-64, 9}, {63, 9}, {-65, 12}, {64, 12},
+                {-256, 12}, {255, 12}, {-257, 16}, {256, 16},
+                {-2048, 16}, {2047, 16}, {-2049, 68}, {2048, 68},
+                {Long.MAX_VALUE, 68}, {Long.MIN_VALUE, 68},
+        };
+        int rows = 1000;
+        for (long[] c : cases) {
+            long dod = c[0];
+            long[] values = new long[rows + 1];
+            long delta = 0;
+            for (int i = 1; i <= rows; i++) {
+                delta += dod;
+                values[i] = values[i - 1] + delta;
+            }
+            ArchiveColumnCodec encoder = new ArchiveColumnCodec(ArchiveColumnType.LONG);
+            BitOutput out = new BitOutput();
+            for (long value : values) {
+                encoder.encode(out, value);
+            }
+            out.flush();
+            assertEquals("dod " + dod, (64 + rows * c[1] + 7) / 8, out.length());
+
+            ArchiveColumnCodec decoder = new ArchiveColumnCodec(ArchiveColumnType.LONG);
+            BitInput in = new BitInput();
+            in.reset(out.buffer(), out.length());
+            for (int i = 0; i <= rows; i++) {
+                assertEquals("dod " + dod + " row " + i, values[i], decoder.decode(in));
+            }
+        }
+    }
+
+    @Test
+    public void longColumn_randomDeltas() throws IOException {
+        Random random = new Random(1);
+        long[] values = new long[10000];
+        long previous = 1_700_000_000_000L;
+        for (int i = 0; i < values.length; i++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    previous += 10;
+                    break;
+                case 1:
+                    previous += random.nextInt(5000) - 2500;
+                    break;
+                case 2:
+                    previous = random.nextLong();
+                    break;
+                default:
+                    break;
+            }
+            values[i] = previous;
+        }
+        long[][] decoded = roundTrip(new ArchiveColumnType[]{ArchiveColumnType.LONG}, new long[][]{values});
+        assertArrayEquals(values, decoded[0]);
+    }
+
+    @Test
+    public void floatAndDouble_specialValuesAndRandomBits() throws IOException {
+        Random random = new Random(2);
+        int rows = 9000;
+        long[] floats = new long[rows];
+        long[] doubles = new long[rows];
+        int[] specialFloats = {
+                Float.floatToRawIntBits(Float.NaN), 0x7FC00001, 0xFFC00000, 0x7F800001,
+                Float.floatToRawIntBits(-0.0f), 0, Float.floatToRawIntBits(Float.POSITIVE_INFINITY),
+                Float.floatToRawIntBits(Float.NEGATIVE_INFINITY), 1, Float.floatToRawIntBits(Float.MAX_VALUE)
+        };
+        long[] specialDoubles = {
+                Double.doubleToRawLongBits(Double.NaN), 0x7FF8000000000001L, 0xFFF8000000000000L, 0x7FF0000000000001L,
+                Double.doubleToRawLongBits(-0.0), 0L, Double.doubleToRawLongBits(Double.POSITIVE_INFINITY),
+                Double.doubleToRawLongBits(Double.NEGATIVE_INFINITY), 1L, Double.doubleToRawLongBits(Double.MAX_VALUE)
+        };
+        float sensor = 9.81f;
+        for (int r = 0; r < rows; r++) {
+            switch (random.nextInt(5)) {
+                case 0:
+                    floats[r] = specialFloats[random.nextInt(specialFloats.length)] & 0xFFFFFFFFL;
+                    doubles[r] = specialDoubles[random.nextInt(specialDoubles.length)];
+                    break;
+                case 1:
+                    floats[r] = random.nextInt() & 0xFFFFFFFFL;
+                    doubles[r] = random.nextLong();
+                    break;
+                case 2:
+                    // 이전 값 반복 (XOR 0)
+                    floats[r] = r > 0 ? floats[r - 1] : 0;
+                    doubles[r] = r > 0 ? doubles[r - 1] : 0;
+                    break;
+                default:
+                    // 센서처럼 조금씩 변하는 값 (유효 비트 구간 재사용)
+                    sensor += (float) random.nextGaussian() * 0.01f;
+                    floats[r] = Float.floatToRawIntBits(sensor) & 0xFFFFFFFFL;
+                    doubles[r] = Double.doubleToRawLongBits(sensor * 1.000001);
+                    break;
+            }
+        }
+        long[][] decoded = roundTrip(new ArchiveColumnType[]{ArchiveColumnType.FLOAT, ArchiveColumnType.DOUBLE},
+                new long[][]{floats, doubles});
+        assertArrayEquals(floats, decoded[0]);
+        assertArrayEquals(doubles, decoded[1]);
+    }
+
+    @Test
+    public void stringDictionary_crossesPowerOfTwoSizes() throws IOException {
+        Random random = new Random(3);
+        int rows = SensorArchiveWriter.BLOCK_ROWS * 2 + 17;
+        String[] values = new String[rows];
+        int distinct = 0;
+        for (int r = 0; r < rows; r++) {
+            int block = r % SensorArchiveWriter.BLOCK_ROWS;
+            if (block == 0) {
+                distinct = 0;
+            }
+            if (block < 1100) {
+                // 블록 앞부분: 사전을 1 → 1100 개로 키움 (2, 4, ..., 1024 경계를 지남), 사이사이 기존 번호와 반복
+                if (r % 3 == 0 && distinct > 0) {
+                    values[r] = "ap-" + random.nextInt(distinct);
+                } else if (r % 3 == 1 && r > 0) {
+                    values[r] = values[r - 1];
+                } else {
+                    values[r] = "ap-" + distinct++;
+                }
+            } else {
+                values[r] = random.nextInt(8) == 0 ? "한글-" + random.nextInt(3) : "ap-" + random.nextInt(distinct);
+            }
+        }
+        values[5] = "";
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SensorArchiveWriter writer = new SensorArchiveWriter(bytes, new String[]{"ssid"},
+                new ArchiveColumnType[]{ArchiveColumnType.STRING})) {
+            for (String value : values) {
+                writer.setString(0, value);
+                writer.endRow();
+            }
+        }
+        try (SensorArchiveReader reader = SensorArchiveReader.open(new ByteArrayInputStream(bytes.toByteArray()))) {
+            for (int r = 0; r < rows; r++) {
+                assertTrue(reader.next());
+                assertEquals("row " + r, values[r], reader.getString(0));
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void blockBoundary_rowCountsAroundBlockSize() throws IOException {
+        int block = SensorArchiveWriter.BLOCK_ROWS;
+        for (int rows : new int[]{0, 1, block - 1, block, block + 1, block * 2, block * 2 + 1}) {
+            long[] timestamps = new long[rows];
+            long[] channel = new long[rows];
+            for (int r = 0; r < rows; r++) {
+                timestamps[r] = 1_700_000_000_000L + r * 10L + (r % 7);
+                channel[r] = Float.floatToRawIntBits((float) Math.sin(r * 0.01)) & 0xFFFFFFFFL;
+            }
+            long[][] decoded = roundTrip(new ArchiveColumnType[]{ArchiveColumnType.LONG, ArchiveColumnType.FLOAT},
+                    new long[][]{timestamps, channel});
+            assertArrayEquals("rows " + rows, timestamps, decoded[0]);
+            assertArrayEquals("rows " + rows, channel, decoded[1]);
+        }
+    }
+
+    @Test
+    public void truncatedArchive_throwsEOFException() throws IOException {
+        int rows = SensorArchiveWriter.BLOCK_ROWS + 100;
+        long[] values = new long[rows];
+        for (int r = 0; r < rows; r++) {
+            values[r] = r * 10L;
+        }
+        byte[] archive = encode(new ArchiveColumnType[]{ArchiveColumnType.LONG}, new long[][]{values});
+        for (int cut = 1; cut < archive.length; cut += Math.max(1, cut / 4)) {
+            byte[] truncated = Arrays.copyOf(archive, archive.length - cut);
+            try (SensorArchiveReader reader = SensorArchiveReader.open(new ByteArrayInputStream(truncated))) {
+                while (reader.next()) {
+                    // 끝까지 읽기
+                }
+                fail("잘린 아카이브를 끝까지 읽음: " + cut + " bytes 제거");
+            } catch (EOFException expected) {
+                // ✅ 헤더, 블록 길이, 블록 본문, 끝 표시 어디서 잘려도 EOF
+            }
+        }
+    }
+
+    @Test
+    public void textValues_roundTripThroughColumnTypes() throws IOException {
+        String[] header = {"timestamp", "rssi", "lat", "ssid"};
+        ArchiveColumnType[] types = {ArchiveColumnType.LONG, ArchiveColumnType.FLOAT, ArchiveColumnType.DOUBLE,
+                ArchiveColumnType.STRING};
+        String[][] rows = {
+                {"1700000000000", "-67.0", "37.566535", "eduroam"},
+                {"1700000001000", "-1.0E-5", "1.0E20", ""},
+                {"1700000002000", "NaN", "-0.0", "null"},
+        };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SensorArchiveWriter writer = new SensorArchiveWriter(bytes, header, types)) {
+            for (String[] row : rows) {
+                for (int c = 0; c < row.length; c++) {
+                    writer.setText(c, row[c]);
+                }
+                writer.endRow();
+            }
+        }
+        try (SensorArchiveReader reader = SensorArchiveReader.open(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertArrayEquals(header, reader.columns());
+            assertArrayEquals(types, reader.types());
+            for (String[] row : rows) {
+                assertTrue(reader.next());
+                for (int c = 0; c < row.length; c++) {
+                    assertEquals(row[c], reader.text(c));
+                }
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    /** 숫자 열 값(원본 비트)을 기록한 아카이브 */
+    private static byte[] encode(ArchiveColumnType[] types, long[][] columns) throws IOException {
+        String[] names = new String[types.length];
+        for (int c = 0; c < names.length; c++) {
+            names[c] = "c" + c;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SensorArchiveWriter writer = new SensorArchiveWriter(bytes, names, types)) {
+            for (int r = 0; r < columns[0].length; r++) {
+                for (int c = 0; c < types.length; c++) {
+                    writer.setLong(c, columns[c][r]);
+                }
+                writer.endRow();
+            }
+            assertEquals(columns[0].length, writer.rows());
+        }
+        return bytes.toByteArray();
+    }
+
+    /** 기록 후 다시 읽은 원본 비트 (열 × 행) */
+    private static long[][] roundTrip(ArchiveColumnType[] types, long[][] columns) throws IOException {
+        byte[] archive = encode(types, columns);
+        int rows = columns[0].length;
+        long[][] decoded = new long[types.length][rows];
+        try (SensorArchiveReader reader = SensorArchiveReader.open(new ByteArrayInputStream(archive))) {
+            for (int r = 0; r < rows; r++) {
+                assertTrue("row " + r, reader.next());
+                for (int c = 0; c < types.length; c++) {
+                    decoded[c][r] = reader.getLong(c);
+                }
+            }
+            assertFalse(reader.next());
+        }
+        return decoded;
+    }
+}
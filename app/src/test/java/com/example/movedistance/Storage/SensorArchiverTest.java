@@ -0,0 +1,64 @@
+package com.example.movedistance.Storage;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * CSV 아카이브 변환 테스트 ({@link SensorArchiver#archiveCsv}).
+ */
+public class SensorArchiverTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void archiveCsv_mixedIntegerAndDecimalColumn() throws IOException {
+        // "5" 는 LONG 만, "1.5" 는 FLOAT/DOUBLE 만 받으므로 두 값이 섞인 열은 STRING
+        String csv = "timestamp,level,lat,ssid\n"
+                + "1700000000000,5,37.5,a\n"
+                + "1700000001000,1.5,37.566535123,b\n"
+                + "1700000002000,-3,1.0E-7,a\n";
+        File source = write("20261001_AP.csv", csv);
+        File target = new File(folder.getRoot(), "20261001_AP.tsz");
+
+        assertEquals(3, SensorArchiver.archiveCsv(source, target, 0));
+        try (SensorArchiveReader reader = SensorArchiveReader.open(target)) {
+            assertArrayEquals(new ArchiveColumnType[]{ArchiveColumnType.LONG, ArchiveColumnType.STRING,
+                    ArchiveColumnType.DOUBLE, ArchiveColumnType.STRING}, reader.types());
+            StringWriter out = new StringWriter();
+            SensorArchiver.exportCsv(reader, out);
+            assertEquals(csv, out.toString());
+        }
+    }
+
+    @Test
+    public void archiveCsv_skipsConsumedRowsAndMalformedLines() throws IOException {
+        String header = "timestamp,rssi\n";
+        String consumed = "1700000000000,-60\n";
+        File source = write("20261001_BTS.csv", header + consumed + "1700000001000,-61\nbroken\n1700000002000,-62.5\n");
+        File target = new File(folder.getRoot(), "20261001_BTS.tsz");
+
+        assertEquals(2, SensorArchiver.archiveCsv(source, target, header.length() + consumed.length()));
+        try (SensorArchiveReader reader = SensorArchiveReader.open(target)) {
+            StringWriter out = new StringWriter();
+            SensorArchiver.exportCsv(reader, out);
+            assertEquals("timestamp,rssi\n1700000001000,-61\n1700000002000,-62.5\n", out.toString());
+        }
+    }
+
+    private File write(String name, String text) throws IOException {
+        File file = folder.newFile(name);
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(text);
+        }
+        return file;
+    }
+}
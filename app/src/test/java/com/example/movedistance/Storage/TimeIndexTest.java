@@ -0,0 +1,72 @@
+package com.example.movedistance.Storage;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 시간 인덱스 기록 / 탐색 테스트 ({@link TimeIndex}).
+ */
+public class TimeIndexTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void seekOffset_returnsLastEntryBeforeTimestamp() throws IOException {
+        File day = dayFile(10_000);
+        try (TimeIndex.Writer writer = new TimeIndex.Writer(day)) {
+            // 0.5초 간격 행 → 1초 간격 항목만 남음
+            for (int r = 0; r < 20; r++) {
+                writer.add(1000L + r * 500L, r * 100L);
+            }
+            // ✅ 닫기 전에도 기록된 항목은 바로 읽힘
+            assertEquals(400L, TimeIndex.seekOffset(day, 3000L + 1));
+        }
+        assertEquals(10 * 16, TimeIndex.sidecar(day).length());
+        assertEquals(0L, TimeIndex.seekOffset(day, 1000L));
+        assertEquals(0L, TimeIndex.seekOffset(day, 1001L));
+        assertEquals(0L, TimeIndex.seekOffset(day, 2000L));
+        assertEquals(200L, TimeIndex.seekOffset(day, 2001L));
+        assertEquals(1800L, TimeIndex.seekOffset(day, Long.MAX_VALUE));
+        assertEquals(0L, TimeIndex.seekOffset(dayFile(100), Long.MAX_VALUE));
+    }
+
+    @Test
+    public void writer_resumesAfterTornEntryAndResetsForNewDayFile() throws IOException {
+        File day = dayFile(10_000);
+        try (TimeIndex.Writer writer = new TimeIndex.Writer(day)) {
+            writer.add(1000L, 0L);
+            writer.add(2000L, 100L);
+        }
+        try (FileOutputStream out = new FileOutputStream(TimeIndex.sidecar(day), true)) {
+            out.write(new byte[7]);
+        }
+        try (TimeIndex.Writer writer = new TimeIndex.Writer(day)) {
+            assertEquals(2 * 16, TimeIndex.sidecar(day).length());
+            // 마지막 항목에서 1초가 지나지 않았으므로 추가하지 않음
+            writer.add(2500L, 150L);
+            writer.add(3000L, 200L);
+            assertEquals(3 * 16, TimeIndex.sidecar(day).length());
+
+            // 날짜 파일이 새로 만들어져 위치가 줄어들면 인덱스도 처음부터
+            writer.add(3100L, 20L);
+            assertEquals(16, TimeIndex.sidecar(day).length());
+            assertEquals(20L, TimeIndex.seekOffset(day, 3101L));
+        }
+    }
+
+    private File dayFile(long length) throws IOException {
+        File file = folder.newFile();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(length);
+        }
+        return file;
+    }
+}
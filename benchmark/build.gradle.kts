@@ -0,0 +1,35 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+sourceSets {
+    main {
+        java {
+            // 앱 모듈의 IMU 패키지와 CSV 파서는 Android 의존성이 없는 순수 Java 이므로 소스를 그대로 컴파일
+            srcDir("../app/src/main/java")
+            include("com/example/movedistance/IMU/**")
+            include("com/example/movedistance/Storage/CsvCursor.java")
+        }
+    }
+}
+
+dependencies {
+    //math
+    implementation("org.apache.commons:commons-math3:3.6.1")
+}
+
+jmh {
+    // 할당률(gc.alloc.rate.norm) 을 함께 측정
+    profilers.add("gc")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // 예) ./gradlew :benchmark:jmh -Pjmh.includes=IMUFeatureBenchmark.statFeatures
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.add(it) }
+}
@@ -0,0 +1,143 @@
+package com.example.movedistance.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 벤치마크용 합성 IMU 데이터 (1분 = 60 윈도우 × 100 샘플).
+ * 시드가 고정되어 있어 실행마다 같은 입력을 만든다.
+ */
+final class IMUBenchmarkData {
+    static final int WINDOWS = 60;
+    static final int SAMPLES = 100;
+    static final long START_TIMESTAMP = 1_700_000_000_000L;
+
+    private static final String[] VECTOR_SENSORS = {"accel", "gyro", "mag", "gravity", "linear_accel"};
+    /** 이전 버전 SensorDataService 가 기록하던 IMU CSV 열 (timestamp 제외) */
+    static final String[] CSV_CHANNELS = {
+            "accel.x", "accel.y", "accel.z", "gyro.x", "gyro.y", "gyro.z", "mag.x", "mag.y", "mag.z",
+            "rot.w", "rot.x", "rot.y", "rot.z", "pressure",
+            "gravity.x", "gravity.y", "gravity.z", "linear_accel.x", "linear_accel.y", "linear_accel.z"
+    };
+
+    private IMUBenchmarkData() {
+    }
+
+    /** 보행 주기 성분 + 잡음으로 구성된 [WINDOWS][SAMPLES] 신호 */
+    static double[][] signal(long seed, double offset) {
+        Random random = new Random(seed);
+        double[][] data = new double[WINDOWS][SAMPLES];
+        for (int i = 0; i < WINDOWS; i++) {
+            for (int j = 0; j < SAMPLES; j++) {
+                data[i][j] = offset + Math.sin(2 * Math.PI * 2.0 * j / SAMPLES) + 0.3 * random.nextGaussian();
+            }
+        }
+        return data;
+    }
+
+    /** 같은 크기의 [WINDOWS][SAMPLES] 신호들을 [WINDOWS][SAMPLES][channels] 큐브로 묶음 */
+    static double[][][] cube(double[][]... channels) {
+        double[][][] cube = new double[WINDOWS][SAMPLES][channels.length];
+        for (int i = 0; i < WINDOWS; i++) {
+            for (int j = 0; j < SAMPLES; j++) {
+                for (int c = 0; c < channels.length; c++) {
+                    cube[i][j][c] = channels[c][i][j];
+                }
+            }
+        }
+        return cube;
+    }
+
+    /** 단위 쿼터니언 (w, x, y, z) [WINDOWS][SAMPLES][4] */
+    static double[][][] rotation(long seed) {
+        Random random = new Random(seed);
+        double[][][] rotation = new double[WINDOWS][SAMPLES][4];
+        for (int i = 0; i < WINDOWS; i++) {
+            for (int j = 0; j < SAMPLES; j++) {
+                double w = random.nextGaussian();
+                double x = random.nextGaussian();
+                double y = random.nextGaussian();
+                double z = random.nextGaussian();
+                double norm = Math.sqrt(w * w + x * x + y * y + z * z);
+                rotation[i][j][0] = w / norm;
+                rotation[i][j][1] = x / norm;
+                rotation[i][j][2] = y / norm;
+                rotation[i][j][3] = z / norm;
+            }
+        }
+        return rotation;
+    }
+
+    /** 중력 벡터 [WINDOWS][SAMPLES][3] (대부분 z 축) */
+    static double[][][] gravity(long seed) {
+        Random random = new Random(seed);
+        double[][][] gravity = new double[WINDOWS][SAMPLES][3];
+        for (int i = 0; i < WINDOWS; i++) {
+            for (int j = 0; j < SAMPLES; j++) {
+                gravity[i][j][0] = 0.5 * random.nextGaussian();
+                gravity[i][j][1] = 0.5 * random.nextGaussian();
+                gravity[i][j][2] = 9.8 + 0.1 * random.nextGaussian();
+            }
+        }
+        return gravity;
+    }
+
+    /** SensorDataProcessor 가 CSV 에서 읽어 오는 것과 같은 형태의 1분치 IMU 행 (초당 100행) */
+    static List<Map<String, Object>> imuRows(long seed) {
+        Random random = new Random(seed);
+        List<Map<String, Object>> rows = new ArrayList<>(WINDOWS * SAMPLES);
+        for (int second = 0; second < WINDOWS; second++) {
+            for (int sample = 0; sample < SAMPLES; sample++) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("timestamp", START_TIMESTAMP + second * 1000L);
+                for (String sensor : VECTOR_SENSORS) {
+                    double offset = "gravity".equals(sensor) ? 9.8 : 0.0;
+                    row.put(sensor + ".x", (float) random.nextGaussian());
+                    row.put(sensor + ".y", (float) random.nextGaussian());
+                    row.put(sensor + ".z", (float) (offset + random.nextGaussian()));
+                }
+                double w = random.nextGaussian();
+                double x = random.nextGaussian();
+                double y = random.nextGaussian();
+                double z = random.nextGaussian();
+                double norm = Math.sqrt(w * w + x * x + y * y + z * z);
+                row.put("rot.w", (float) (w / norm));
+                row.put("rot.x", (float) (x / norm));
+                row.put("rot.y", (float) (y / norm));
+                row.put("rot.z", (float) (z / norm));
+                row.put("pressure.x", (float) (1013.0 + 0.1 * random.nextGaussian()));
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * hours 시간 분량 IMU CSV 임시 파일 (초당 SAMPLES 행, 1초 묶음마다 같은 타임스탬프, 값은 Float.toString)
+     */
+    static File imuCsv(int hours, long seed) throws IOException {
+        File csv = File.createTempFile("imu-day", ".csv");
+        Random random = new Random(seed);
+        long rows = hours * 3600L * SAMPLES;
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(csv), 1 << 16)) {
+            writer.append("timestamp,").append(String.join(",", CSV_CHANNELS)).append('\n');
+            StringBuilder line = new StringBuilder(256);
+            for (long r = 0; r < rows; r++) {
+                line.setLength(0);
+                line.append(START_TIMESTAMP + r / SAMPLES * 1000L);
+                for (int c = 0; c < CSV_CHANNELS.length; c++) {
+                    line.append(',').append((float) random.nextGaussian());
+                }
+                writer.append(line).append('\n');
+            }
+        }
+        return csv;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.movedistance.benchmark;
+
+import com.example.movedistance.IMU.IMUFeatureBlock;
+import com.example.movedistance.IMU.IMUFeatureExtractor;
+import com.example.movedistance.IMU.IMUFeatureProfile;
+import com.example.movedistance.IMU.IMUFeatureSchema;
+import com.example.movedistance.IMU.IMUFrame;
+import com.example.movedistance.IMU.IMUProcessor;
+import com.example.movedistance.IMU.IMUUtils;
+import com.example.movedistance.IMU.IMUWindowBuffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IMU 특징 추출 핫패스 벤치마크 (입력: 1분치 합성 데이터).
+ * <pre>
+ *   ./gradlew :benchmark:jmh
+ * </pre>
+ * gc 프로파일러가 켜져 있어 gc.alloc.rate.norm (호출당 할당 바이트) 도 함께 출력된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IMUFeatureBenchmark {
+    private double[][] x;
+    private double[][] y;
+    private double[][] z;
+    private double[][] magnitude;
+    private IMUWindowBuffer axes;
+    private double[][][] rotation;
+    private double[][][] gravity;
+    private List<Map<String, Object>> imuRows;
+    private IMUFrame imuFrame;
+    private IMUFeatureBlock featureBlock;
+    private IMUFeatureBlock lightFeatureBlock;
+
+    @Setup
+    public void setUp() {
+        x = IMUBenchmarkData.signal(1, 0.0);
+        y = IMUBenchmarkData.signal(2, 0.0);
+        z = IMUBenchmarkData.signal(3, 9.8);
+        magnitude = IMUFeatureExtractor.magnitude(x, y, z);
+        axes = IMUWindowBuffer.fromCube(IMUBenchmarkData.cube(magnitude, x, y, z));
+        rotation = IMUBenchmarkData.rotation(4);
+        gravity = IMUBenchmarkData.gravity(5);
+        imuRows = IMUBenchmarkData.imuRows(6);
+        imuFrame = IMUFrame.fromRows(imuRows);
+        featureBlock = IMUFeatureBlock.allocate(60, IMUFeatureSchema.DEFAULT);
+        lightFeatureBlock = IMUFeatureBlock.allocate(60, IMUFeatureProfile.LIGHT.schema());
+    }
+
+    @Benchmark
+    public double[][] magnitude() {
+        return IMUFeatureExtractor.magnitude(x, y, z);
+    }
+
+    @Benchmark
+    public Map<String, double[][]> statFeatures() {
+        return IMUFeatureExtractor.calculateStatFeatures(magnitude, "accelM");
+    }
+
+    @Benchmark
+    public Map<String, double[][]> spectralFeatures() {
+        return IMUFeatureExtractor.calculateSpectralFeatures(magnitude, "accelM");
+    }
+
+    /** M/X/Y/Z 4채널 버퍼에서 통계+주파수 특징을 한 번에 계산 (processingImu 와 같은 경로) */
+    @Benchmark
+    public Map<String, double[][]> windowBufferFeatures() {
+        return IMUFeatureExtractor.calculateFeatures(axes, new String[]{"accelM", "accelX", "accelY", "accelZ"},
+                true, true);
+    }
+
+    @Benchmark
+    public double[][][] rotateAxis() {
+        return IMUUtils.rotateAxis(x, y, z, rotation);
+    }
+
+    @Benchmark
+    public double[][] calculateAngle() {
+        return IMUUtils.calculateAngle(x, y, z, gravity);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Map<String, Object>> preImu() {
+        return IMUProcessor.preImu(imuRows);
+    }
+
+    /** 모델 입력 블록에 바로 기록 (Map / List 변환 없음) */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int preImuBlock() {
+        return IMUProcessor.preImu(imuFrame, featureBlock);
+    }
+
+    /** LIGHT 프로파일 (주파수 특징 / 축별 처리 없음) */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int preImuLight() {
+        return IMUProcessor.preImu(imuFrame, lightFeatureBlock, IMUFeatureProfile.LIGHT);
+    }
+}
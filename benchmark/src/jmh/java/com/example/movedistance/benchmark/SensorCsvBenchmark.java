@@ -0,0 +1,105 @@
+package com.example.movedistance.benchmark;
+
+import com.example.movedistance.Storage.CsvCursor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 센서 CSV 파싱 벤치마크 (입력: 하루치 IMU CSV = 24시간 × 초당 100행, 약 2GB).
+ * <pre>
+ *   ./gradlew :benchmark:jmh -Pjmh.includes=SensorCsvBenchmark
+ * </pre>
+ * splitToMaps 는 기존 경로(readLine + split + 행별 HashMap), cursor 는 {@link CsvCursor} 경로이다.
+ * 두 경로 모두 모든 열을 숫자로 변환하고 결과를 Blackhole 에 넘긴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SensorCsvBenchmark {
+    /** 기록 시간 (24 = 하루) */
+    @Param({"24"})
+    public int hours;
+
+    private File csv;
+
+    @Setup
+    public void setUp() throws IOException {
+        csv = IMUBenchmarkData.imuCsv(hours, 7);
+    }
+
+    @TearDown
+    public void tearDown() {
+        csv.delete();
+    }
+
+    /** 기존 loadCSVDataForDate 경로 (행마다 줄 문자열, split 배열, HashMap, 박싱) */
+    @Benchmark
+    public long splitToMaps(Blackhole blackhole) throws IOException {
+        long rows = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(csv)))) {
+            String[] headers = reader.readLine().split(",");
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] values = line.split(",");
+                if (values.length != headers.length) {
+                    continue;
+                }
+                Map<String, Object> data = new HashMap<>();
+                for (int i = 0; i < headers.length; i++) {
+                    String value = values[i];
+                    if (headers[i].equals("timestamp")) {
+                        data.put(headers[i], value.contains(".") ? (long) Float.parseFloat(value) : Long.parseLong(value));
+                    } else if (value.isEmpty()) {
+                        data.put(headers[i], 0.0f);
+                    } else {
+                        data.put(headers[i], Float.parseFloat(value));
+                    }
+                }
+                blackhole.consume(data);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /** CsvCursor 경로 (열 인덱스는 헤더에서 한 번, 값은 버퍼에서 바로 변환) */
+    @Benchmark
+    public long cursor(Blackhole blackhole) throws IOException {
+        long rows = 0;
+        try (CsvCursor reader = new CsvCursor(csv)) {
+            String[] headers = reader.readHeader();
+            int timestampColumn = reader.column("timestamp");
+            while (reader.next()) {
+                if (reader.fieldCount() != headers.length) {
+                    continue;
+                }
+                blackhole.consume(reader.getTimestamp(timestampColumn));
+                for (int i = 0; i < headers.length; i++) {
+                    if (i != timestampColumn) {
+                        blackhole.consume(reader.isEmpty(i) ? 0.0f : reader.getFloat(i));
+                    }
+                }
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
@@ -22,4 +22,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "MoveDistance"
 include(":app")
+include(":benchmark")
  
\ No newline at end of file